@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so every result contains
+ * the allocation rate ({@code gc.alloc.rate.norm} is bytes per operation).
+ * All command line options of JMH are accepted, e.g. a benchmark regex to run
+ * only a subset or {@code -p catalogSize=10000} to select parameters.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+        // main class
+    }
+
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
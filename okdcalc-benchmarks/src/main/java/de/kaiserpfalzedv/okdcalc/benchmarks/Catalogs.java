@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingEvent;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import de.kaiserpfalzedv.okdcalc.facts._LoggingEvent;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.MiB;
+
+/**
+ * Generates the reproducible data the benchmarks work on. The catalogs look
+ * like the instance type lists of the big cloud providers: a handful of CPU
+ * sizes combined with different memory to CPU ratios and a price (score).
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class Catalogs {
+    /**
+     * Every run should work on the same data.
+     */
+    private static final long SEED = 20200214L;
+
+    private static final int[] LOGICAL_CPUS = {2, 4, 8, 16, 32, 48, 64, 96, 128};
+    private static final int[] GIB_PER_LOGICAL_CPU = {1, 2, 4, 8};
+
+    /**
+     * A typical micro service.
+     */
+    public static final Pod DEFAULT_POD = Pod.builder()
+            .milliCores(100L)
+            .memory(256 * MiB)
+            .build();
+
+    private Catalogs() {
+        // utility class
+    }
+
+    /**
+     * Generates a catalog of node types. Some of the generated types are too
+     * small for the {@link #DEFAULT_POD} or would need too many nodes, so the
+     * rejection path is part of every measurement.
+     *
+     * @param size number of node types to generate.
+     * @return the node types.
+     */
+    public static List<_NodeDefinition> nodeTypes(final int size) {
+        Random random = new Random(SEED);
+        ArrayList<_NodeDefinition> result = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            int logical = LOGICAL_CPUS[random.nextInt(LOGICAL_CPUS.length)];
+            int gibPerCpu = GIB_PER_LOGICAL_CPU[random.nextInt(GIB_PER_LOGICAL_CPU.length)];
+
+            result.add(
+                    NodeDefinition.builder()
+                            .cpu(CPU.builder()
+                                         .sockets(Math.max(1, logical / 32))
+                                         .cores(Math.max(1, logical / 2))
+                                         .logical(logical)
+                                         .build()
+                            )
+                            .memory(logical * gibPerCpu * GiB)
+                            .disk((64 + random.nextInt(4032)) * GiB)
+                            .diskBandwidth((1 + random.nextInt(6)) * GiB)
+                            .maxNumberOfLoggingDisks(8)
+                            // the index makes every node type unique
+                            .score(logical * gibPerCpu * 100L + i)
+                            .build()
+            );
+        }
+
+        return result;
+    }
+
+    /**
+     * Generates the logging event types of an inventory of namespaces.
+     *
+     * @param size number of event types to generate.
+     * @return the logging event types.
+     */
+    public static List<_LoggingEvent> loggingEvents(final int size) {
+        Random random = new Random(SEED);
+        ArrayList<_LoggingEvent> result = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            result.add(
+                    LoggingEvent.builder()
+                            .eventSize(64 + random.nextInt(1024))
+                            .defaultNumberOfEventsPerHour((1 + random.nextInt(10)) * 3600)
+                            .retentionDays(1 + random.nextInt(28))
+                            .numberOfContainers(1 + random.nextInt(20))
+                            // the index makes every event type unique
+                            .numberOfNamespaces(1 + i)
+                            .build()
+            );
+        }
+
+        return result;
+    }
+
+    /**
+     * Generates a full logging sizing request.
+     *
+     * @param infraNodeTypes number of infra node types to score.
+     * @param eventTypes     number of logging event types.
+     * @return the logging sizing request.
+     */
+    public static LoggingSizingRequest loggingRequest(final int infraNodeTypes, final int eventTypes) {
+        return LoggingSizingRequest.builder()
+                .addAllPossibleInfraNodeTypes(nodeTypes(infraNodeTypes))
+                .addAllLoggingEventTypes(loggingEvents(eventTypes))
+                .numberOfAvailabilityZones(3)
+                .numberOfComputeNodes(30)
+                .parallelKibanaUsers(50)
+                .numberOfReplica(1)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import de.kaiserpfalzedv.okdcalc.calculator.ClusterSizingOrder;
+import de.kaiserpfalzedv.okdcalc.calculator.NodeCatalog;
+import de.kaiserpfalzedv.okdcalc.calculator.NodeTypeCalculator;
+import de.kaiserpfalzedv.okdcalc.facts.NodeCountCurve;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a sweep over a range of pods with scoring the catalog once for
+ * every number of pods of the range (100, 200, ..., 50,000), as clients
+ * drawing node count curves did before.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClusterSizingSweepBenchmark {
+    private static final int MIN_PODS = 100;
+    private static final int MAX_PODS = 50000;
+    private static final int STEP = 100;
+
+    /**
+     * Number of node types in the catalog.
+     */
+    @Param({"10", "400"})
+    public int catalogSize;
+
+    private NodeTypeCalculator calculator;
+    private NodeCatalog catalog;
+
+
+    @Setup
+    public void setUp() {
+        calculator = new NodeTypeCalculator();
+        catalog = NodeCatalog.of(Catalogs.nodeTypes(catalogSize));
+    }
+
+    @Benchmark
+    public List<NodeCountCurve> sweep() {
+        return calculator.sweepNodetypes(MIN_PODS, MAX_PODS, Catalogs.DEFAULT_POD, catalog);
+    }
+
+    @Benchmark
+    public void scoreEveryNumberOfPods(final Blackhole blackhole) {
+        for (int pods = MIN_PODS; pods <= MAX_PODS; pods += STEP) {
+            blackhole.consume(calculator.scoreNodetypes(pods, Catalogs.DEFAULT_POD, catalog, 0, ClusterSizingOrder.SCORE));
+        }
+    }
+}
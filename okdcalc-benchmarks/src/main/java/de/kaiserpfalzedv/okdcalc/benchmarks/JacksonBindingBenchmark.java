@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import de.kaiserpfalzedv.okdcalc.calculator.NodeTypeCalculator;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON binding of a cluster sizing request and its results
+ * with the facts accessed by reflection and by the accessors generated by
+ * Afterburner.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonBindingBenchmark {
+    /**
+     * Register the {@link AfterburnerModule}?
+     */
+    @Param({"false", "true"})
+    public boolean afterburner;
+
+    /**
+     * Number of node types sent with the request.
+     */
+    @Param({"10", "400"})
+    public int catalogSize;
+
+    private ObjectMapper mapper;
+    private ClusterSizingRequest request;
+    private Set<ClusterSizingResult> results;
+    private byte[] json;
+
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper().registerModule(new Jdk8Module());
+        if (afterburner) {
+            mapper.registerModule(new AfterburnerModule());
+        }
+
+        request = ClusterSizingRequest.builder()
+                .totalNumberOfPods(1000)
+                .defaultPod(Catalogs.DEFAULT_POD)
+                .addAllNodeDefinitions(Catalogs.nodeTypes(catalogSize))
+                .build();
+        results = new NodeTypeCalculator().scoreNodetypes(1000, Catalogs.DEFAULT_POD, request.getNodeDefinitions());
+        json = writeRequest();
+    }
+
+    @Benchmark
+    public byte[] writeRequest() throws IOException {
+        return mapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public ClusterSizingRequest readRequest() throws IOException {
+        return mapper.readValue(json, ClusterSizingRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeResults() throws IOException {
+        return mapper.writeValueAsBytes(results);
+    }
+}
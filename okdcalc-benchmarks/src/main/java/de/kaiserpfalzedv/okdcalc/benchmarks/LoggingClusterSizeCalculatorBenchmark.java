@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import de.kaiserpfalzedv.okdcalc.calculator.LoggingClusterSizeCalculator;
+import de.kaiserpfalzedv.okdcalc.calculator.LoggingEventAggregate;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scoring of all infra node types of a logging sizing request.
+ * {@link #scoreAggregatedNodetypes()} starts with the logging event types
+ * already folded and shows the cost of the infra node types alone.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingClusterSizeCalculatorBenchmark {
+    /**
+     * Number of infra node types to score.
+     */
+    @Param({"10", "300", "5000"})
+    public int infraNodeTypes;
+
+    /**
+     * Number of logging event types in the request.
+     */
+    @Param({"10", "50000"})
+    public int eventTypes;
+
+    /**
+     * Number of infra node types to switch to parallel scoring
+     * ({@link Integer#MAX_VALUE} is sequential scoring only).
+     */
+    @Param({"512", "2147483647"})
+    public int parallelThreshold;
+
+    private LoggingClusterSizeCalculator calculator;
+    private LoggingSizingRequest request;
+    private LoggingEventAggregate events;
+
+
+    @Setup
+    public void setUp() {
+        calculator = new LoggingClusterSizeCalculator();
+        calculator.setParallelThreshold(parallelThreshold);
+        request = Catalogs.loggingRequest(infraNodeTypes, eventTypes);
+        events = LoggingEventAggregate.of(request.getLoggingEventTypes());
+    }
+
+    @Benchmark
+    public Set<LoggingSizingResult> scoreNodetypes() {
+        return calculator.scoreNodetypes(request);
+    }
+
+    @Benchmark
+    public Set<LoggingSizingResult> scoreAggregatedNodetypes() {
+        return calculator.scoreNodetypes(request, events);
+    }
+
+    @Benchmark
+    public List<LoggingSizingResult> bestNodetypes() {
+        return calculator.scoreNodetypes(request, events, 10);
+    }
+}
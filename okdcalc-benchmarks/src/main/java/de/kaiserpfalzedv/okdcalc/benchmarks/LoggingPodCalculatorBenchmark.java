@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import de.kaiserpfalzedv.okdcalc.calculator.LoggingPodCalculator;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the logging cluster sizing for a single infra node type.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingPodCalculatorBenchmark {
+    /**
+     * Number of logging event types in the request.
+     */
+    @Param({"10", "1000", "50000"})
+    public int eventTypes;
+
+    private LoggingPodCalculator calculator;
+    private LoggingSizingRequest request;
+    private _NodeDefinition infraNode;
+
+
+    @Setup
+    public void setUp() {
+        calculator = new LoggingPodCalculator();
+        request = Catalogs.loggingRequest(1, eventTypes);
+        infraNode = request.getPossibleInfraNodeTypes().iterator().next();
+    }
+
+    @Benchmark
+    public LoggingSizingResult calculateLoggingSolution() {
+        return calculator.calculateLoggingSolution(infraNode, request);
+    }
+}
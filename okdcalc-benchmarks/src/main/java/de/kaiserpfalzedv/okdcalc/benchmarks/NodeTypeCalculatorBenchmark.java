@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import de.kaiserpfalzedv.okdcalc.calculator.ClusterSizingOrder;
+import de.kaiserpfalzedv.okdcalc.calculator.NodeCatalog;
+import de.kaiserpfalzedv.okdcalc.calculator.NodeTypeCalculator;
+import de.kaiserpfalzedv.okdcalc.calculator.NumbersOfPodsAndNodesCalculator;
+import de.kaiserpfalzedv.okdcalc.calculator.PodsPerNodeCache;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scoring of a whole node catalog. The hit rate of the
+ * {@link PodsPerNodeCache} is printed after every run.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NodeTypeCalculatorBenchmark {
+    /**
+     * Number of node types in the catalog.
+     */
+    @Param({"10", "400", "10000"})
+    public int catalogSize;
+
+    /**
+     * Number of pods to place in the cluster.
+     */
+    @Param({"1000", "50000"})
+    public int totalNumberOfPods;
+
+    /**
+     * Catalog size to switch to parallel scoring ({@link Integer#MAX_VALUE} is
+     * sequential scoring only).
+     */
+    @Param({"512", "2147483647"})
+    public int parallelThreshold;
+
+    /**
+     * Capacity of the pods per node cache, 0 disables it.
+     */
+    @Param({"0", "100000"})
+    public int cacheCapacity;
+
+    private PodsPerNodeCache cache;
+    private NodeTypeCalculator calculator;
+    private List<_NodeDefinition> catalog;
+    private NodeCatalog nodeCatalog;
+
+
+    @Setup
+    public void setUp() {
+        cache = new PodsPerNodeCache(cacheCapacity);
+        calculator = new NodeTypeCalculator(new NumbersOfPodsAndNodesCalculator(cache));
+        calculator.setParallelThreshold(parallelThreshold);
+        catalog = Catalogs.nodeTypes(catalogSize);
+        nodeCatalog = NodeCatalog.of(catalog);
+    }
+
+    @TearDown
+    public void printHitRate() {
+        System.out.printf("%nPods per node cache: capacity=%d, hits=%d, misses=%d, hit rate=%.4f%n",
+                          cacheCapacity, cache.getHits(), cache.getMisses(), cache.getHitRate());
+    }
+
+    @Benchmark
+    public Set<ClusterSizingResult> scoreNodetypes() {
+        return calculator.scoreNodetypes(totalNumberOfPods, Catalogs.DEFAULT_POD, catalog);
+    }
+
+    @Benchmark
+    public List<ClusterSizingResult> bestNodetypes() {
+        return calculator.scoreNodetypes(totalNumberOfPods, Catalogs.DEFAULT_POD, catalog, 10, ClusterSizingOrder.SCORE);
+    }
+
+    /**
+     * The same ranking as {@link #bestNodetypes()} swept on the columnar catalog.
+     */
+    @Benchmark
+    public List<ClusterSizingResult> bestNodetypesOfCatalog() {
+        return calculator.scoreNodetypes(totalNumberOfPods, Catalogs.DEFAULT_POD, nodeCatalog, 10, ClusterSizingOrder.SCORE);
+    }
+
+    /**
+     * Scores the catalog for every 500th number of pods up to 50,000, as
+     * planners drawing node count curves do.
+     */
+    @Benchmark
+    public void scoreEveryNumberOfPods(final Blackhole blackhole) {
+        for (int pods = 500; pods <= 50000; pods += 500) {
+            blackhole.consume(calculator.scoreNodetypes(pods, Catalogs.DEFAULT_POD, catalog, 10, ClusterSizingOrder.SCORE));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import de.kaiserpfalzedv.okdcalc.calculator.NoSolutionException;
+import de.kaiserpfalzedv.okdcalc.calculator.NumbersOfPodsAndNodesCalculator;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.MiB;
+
+/**
+ * Measures the single evaluation of one pod on one node type. This is the
+ * innermost call of every catalog sweep.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NumbersOfPodsAndNodesCalculatorBenchmark {
+    /**
+     * The memory of the pod in MiB. Tiny pods on big nodes are the worst case.
+     */
+    @Param({"16", "256", "4096"})
+    public int podMemory;
+
+    private NumbersOfPodsAndNodesCalculator calculator;
+    private Pod pod;
+    private NodeDefinition node;
+
+
+    @Setup
+    public void setUp() {
+        calculator = new NumbersOfPodsAndNodesCalculator();
+
+        pod = Pod.builder()
+                .milliCores(100L)
+                .memory(podMemory * MiB)
+                .build();
+
+        node = NodeDefinition.builder()
+                .cpu(CPU.builder()
+                             .sockets(2)
+                             .cores(32)
+                             .logical(64)
+                             .build()
+                )
+                .memory(512 * GiB)
+                .disk(2048 * GiB)
+                .diskBandwidth(GiB)
+                .podsPerCore(10)
+                .build();
+    }
+
+    @Benchmark
+    public ClusterSizingResult calculateNumberOfPodsPerNodeAndNumberOfNodes() throws NoSolutionException {
+        return calculator.calculateNumberOfPodsPerNodeAndNumberOfNodes(2000, pod, node);
+    }
+}
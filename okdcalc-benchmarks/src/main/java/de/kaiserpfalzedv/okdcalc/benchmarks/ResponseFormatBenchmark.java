@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kaiserpfalzedv.okdcalc.calculator.ClusterSizingNormalizer;
+import de.kaiserpfalzedv.okdcalc.calculator.ClusterSizingOrder;
+import de.kaiserpfalzedv.okdcalc.calculator.NodeCatalog;
+import de.kaiserpfalzedv.okdcalc.calculator.NodeTypeCalculator;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serialization of a cluster sizing report as it is embedded
+ * and normalized. The normalized serialization includes the normalization.
+ * The payload sizes of both formats are printed during the setup.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+    /**
+     * Number of node types in the catalog.
+     */
+    @Param({"10", "400", "10000"})
+    public int catalogSize;
+
+    private ObjectMapper mapper;
+    private ClusterSizingReport report;
+
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        mapper = new ObjectMapper().findAndRegisterModules();
+        report = new NodeTypeCalculator().reportNodetypes(
+                1000,
+                Catalogs.DEFAULT_POD,
+                NodeCatalog.of(Catalogs.nodeTypes(catalogSize)),
+                0,
+                ClusterSizingOrder.SCORE
+        );
+
+        System.out.printf("%nPayload: catalogSize=%d, embedded=%d bytes, normalized=%d bytes%n",
+                          catalogSize, embedded().length, normalized().length);
+    }
+
+    @Benchmark
+    public byte[] embedded() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(report);
+    }
+
+    @Benchmark
+    public byte[] normalized() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(ClusterSizingNormalizer.normalize(report));
+    }
+}
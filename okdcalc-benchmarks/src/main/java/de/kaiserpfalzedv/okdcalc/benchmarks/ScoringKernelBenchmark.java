@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import de.kaiserpfalzedv.okdcalc.calculator.NodeCatalog;
+import de.kaiserpfalzedv.okdcalc.calculator.ScoringKernel;
+import de.kaiserpfalzedv.okdcalc.calculator.ScoringKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scoring kernels on a whole node catalog. The vector kernel is
+ * only available on JDK 17 and needs the JVM started with
+ * {@code --add-modules jdk.incubator.vector}; the forked JVMs inherit the
+ * option.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoringKernelBenchmark {
+    /**
+     * The name of the kernel.
+     */
+    @Param({"scalar", "vector"})
+    public String kernelName;
+
+    /**
+     * Number of node types in the catalog.
+     */
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    private ScoringKernel kernel;
+    private NodeCatalog catalog;
+
+    private int[] podsPerNode;
+    private int[] nodes;
+    private long[] scores;
+
+
+    @Setup
+    public void setUp() {
+        kernel = ScoringKernels.byName(kernelName);
+        if (!kernel.getName().equals(kernelName)) {
+            throw new IllegalStateException("Scoring kernel '" + kernelName + "' is not available.");
+        }
+
+        catalog = NodeCatalog.of(Catalogs.nodeTypes(catalogSize));
+
+        podsPerNode = new int[catalogSize];
+        nodes = new int[catalogSize];
+        scores = new long[catalogSize];
+    }
+
+    @Benchmark
+    public long[] score() {
+        kernel.score(Catalogs.DEFAULT_POD, 50000, catalog, 0, catalogSize, podsPerNode, nodes, scores);
+
+        return scores;
+    }
+}
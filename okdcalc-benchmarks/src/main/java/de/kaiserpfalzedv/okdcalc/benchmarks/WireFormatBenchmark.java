@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import de.kaiserpfalzedv.okdcalc.calculator.NodeTypeCalculator;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing and reading a catalog sized cluster sizing request and
+ * writing its results in the wire formats of the web service. The payload
+ * sizes are printed during the setup.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+    /**
+     * The wire format.
+     */
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    /**
+     * Number of node types sent with the request.
+     */
+    @Param({"400", "10000"})
+    public int catalogSize;
+
+    private ObjectMapper mapper;
+    private ClusterSizingRequest request;
+    private Set<ClusterSizingResult> results;
+    private byte[] encodedRequest;
+
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper(factory(format)).findAndRegisterModules();
+        request = ClusterSizingRequest.builder()
+                .totalNumberOfPods(1000)
+                .defaultPod(Catalogs.DEFAULT_POD)
+                .addAllNodeDefinitions(Catalogs.nodeTypes(catalogSize))
+                .build();
+        results = new NodeTypeCalculator().scoreNodetypes(1000, Catalogs.DEFAULT_POD, request.getNodeDefinitions());
+        encodedRequest = encodeRequest();
+
+        System.out.printf("%nPayload: format=%s, catalogSize=%d, request=%d bytes, response=%d bytes%n",
+                          format, catalogSize, encodedRequest.length, encodeResponse().length);
+    }
+
+    private static JsonFactory factory(final String format) {
+        switch (format) {
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() throws IOException {
+        return mapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public ClusterSizingRequest decodeRequest() throws IOException {
+        return mapper.readValue(encodedRequest, ClusterSizingRequest.class);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return mapper.writeValueAsBytes(results);
+    }
+}
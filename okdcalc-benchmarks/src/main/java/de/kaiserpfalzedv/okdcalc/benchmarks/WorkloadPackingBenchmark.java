@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.benchmarks;
+
+import de.kaiserpfalzedv.okdcalc.calculator.NodeTypeCalculator;
+import de.kaiserpfalzedv.okdcalc.facts.PodProfile;
+import de.kaiserpfalzedv.okdcalc.facts.WorkloadSizingReport;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.MiB;
+
+/**
+ * Packs a workload of sidecars, services and JVMs onto every node type of a
+ * catalog. The time should not grow with the number of pods.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkloadPackingBenchmark {
+    /**
+     * Number of node types in the catalog.
+     */
+    @Param({"10", "400", "5000"})
+    public int catalogSize;
+
+    /**
+     * Number of pods of the workload.
+     */
+    @Param({"10000", "1000000"})
+    public int totalNumberOfPods;
+
+    private NodeTypeCalculator calculator;
+    private List<_NodeDefinition> nodeTypes;
+    private List<PodProfile> workload;
+
+
+    @Setup
+    public void setUp() {
+        calculator = new NodeTypeCalculator();
+        nodeTypes = Catalogs.nodeTypes(catalogSize);
+
+        workload = List.of(
+                profile(100L, 128 * MiB, totalNumberOfPods / 2),
+                profile(500L, GiB, totalNumberOfPods * 3 / 10),
+                profile(1000L, 2 * GiB, totalNumberOfPods / 10),
+                profile(4000L, 16 * GiB, totalNumberOfPods / 10)
+        );
+    }
+
+    @Benchmark
+    public WorkloadSizingReport packWorkload() {
+        return calculator.reportWorkload(workload, nodeTypes, 10);
+    }
+
+    private static PodProfile profile(final long milliCores, final long memory, final int count) {
+        return PodProfile.builder()
+                .pod(Catalogs.DEFAULT_POD.withMilliCores(milliCores).withMemory(memory))
+                .count(count)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The attributes of cluster sizing results a client is interested in. The
+ * projection of a result contains only these attributes, the results
+ * themselves stay untouched.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class ClusterSizingFields {
+    private static final Map<String, Function<_ClusterSizingResult, Object>> ATTRIBUTES = new LinkedHashMap<>();
+
+    static {
+        ATTRIBUTES.put("nodeSizing", _ClusterSizingResult::getNodeSizing);
+        ATTRIBUTES.put("defaultPod", _ClusterSizingResult::getDefaultPod);
+        ATTRIBUTES.put("nodes", _ClusterSizingResult::getNodes);
+        ATTRIBUTES.put("podsPerNode", _ClusterSizingResult::getPodsPerNode);
+        ATTRIBUTES.put("score", _ClusterSizingResult::getScore);
+        ATTRIBUTES.put("kubeletMemory", _ClusterSizingResult::getKubeletMemory);
+        ATTRIBUTES.put("kubeletCPU", _ClusterSizingResult::getKubeletCPU);
+        ATTRIBUTES.put("systemMemory", _ClusterSizingResult::getSystemMemory);
+        ATTRIBUTES.put("systemCPU", _ClusterSizingResult::getSystemCPU);
+        ATTRIBUTES.put("loggingEventsPerNode", _ClusterSizingResult::getLoggingEventsPerNode);
+        ATTRIBUTES.put("freeMemory", _ClusterSizingResult::getFreeMemory);
+        ATTRIBUTES.put("freeCPU", _ClusterSizingResult::getFreeCPU);
+        ATTRIBUTES.put("wastedMemory", _ClusterSizingResult::getWastedMemory);
+        ATTRIBUTES.put("wastedCPU", _ClusterSizingResult::getWastedCPU);
+        ATTRIBUTES.put("wastedLogEvents", _ClusterSizingResult::getWastedLogEvents);
+    }
+
+    private final List<String> properties;
+
+    private ClusterSizingFields(final List<String> properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Parses a comma separated list of attributes. The attribute names are
+     * parsed leniently like {@link ClusterSizingOrder#fromString(String)}:
+     * {@code wastedMemory}, {@code wasted-memory} and {@code WASTED_MEMORY}
+     * are all the same attribute.
+     *
+     * @param fields the attributes, e.g. {@code nodes,podsPerNode,score}.
+     * @return the attributes in the order of the results.
+     * @throws IllegalArgumentException if a result has no attribute with this name.
+     */
+    public static ClusterSizingFields fromString(final String fields) {
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            requested.add(property(field.trim()));
+        }
+
+        ArrayList<String> properties = new ArrayList<>(ATTRIBUTES.keySet());
+        properties.retainAll(requested);
+        return new ClusterSizingFields(properties);
+    }
+
+    private static String property(final String field) {
+        String normalized = field.replaceAll("[-_ ]", "");
+
+        for (String property : ATTRIBUTES.keySet()) {
+            if (property.equalsIgnoreCase(normalized)) {
+                return property;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown attribute of cluster sizing results: " + field);
+    }
+
+    /**
+     * @return the names of the attributes in the order of the results.
+     */
+    public List<String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @param result the cluster sizing.
+     * @return the selected attributes of the result by their name.
+     */
+    public Map<String, Object> project(final _ClusterSizingResult result) {
+        LinkedHashMap<String, Object> projection = new LinkedHashMap<>();
+        properties.forEach(p -> projection.put(p, ATTRIBUTES.get(p).apply(result)));
+        return projection;
+    }
+
+    /**
+     * @param results the cluster sizings.
+     * @return the selected attributes of every result in the order of the results.
+     */
+    public List<Map<String, Object>> project(final Collection<? extends _ClusterSizingResult> results) {
+        ArrayList<Map<String, Object>> projections = new ArrayList<>(results.size());
+        results.forEach(r -> projections.add(project(r)));
+        return projections;
+    }
+
+    @Override
+    public String toString() {
+        return "fields" + properties;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.RejectionReason;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+
+/**
+ * Receives the outcome of every scored node type. A node type is either
+ * scored or rejected, never both.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@FunctionalInterface
+public interface ClusterSizingListener {
+    /**
+     * @param result the sizing of a node type with a solution.
+     */
+    void scored(ClusterSizingResult result);
+
+    /**
+     * Rejected node types are ignored by default.
+     *
+     * @param nodeDefinition the node type without a solution.
+     * @param reason         why the node type has no solution.
+     */
+    default void rejected(_NodeDefinition nodeDefinition, RejectionReason reason) {
+        // ignore rejected node types.
+    }
+}
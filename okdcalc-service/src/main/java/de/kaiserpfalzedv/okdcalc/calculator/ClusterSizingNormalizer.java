@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.NormalizedClusterSizingReport;
+import de.kaiserpfalzedv.okdcalc.facts.NormalizedClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.NormalizedRejectedNodeType;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import de.kaiserpfalzedv.okdcalc.facts._ClusterSizingReport;
+import de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts._RejectedNodeType;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Converts cluster sizings into the {@link NormalizedClusterSizingReport}.
+ * Every result embeds its node type and pod, and all results of a sizing
+ * share the same pod. The normalized report lists every node type and pod
+ * once and the results reference them by id.
+ *
+ * Node types keep their catalog id. Node types without id (or with an id
+ * already taken by another node type) and pods get a generated id
+ * ({@code #1}, {@code #2}, ...) in the order they are first referenced.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class ClusterSizingNormalizer {
+    private final Index<NodeDefinition> nodeTypes = new Index<>();
+    private final Index<Pod> pods = new Index<>();
+    private final NormalizedClusterSizingReport.Builder report = NormalizedClusterSizingReport.builder();
+
+    private ClusterSizingNormalizer() {}
+
+    /**
+     * @param results the cluster sizings.
+     * @return the normalized sizings in the order of the results.
+     */
+    public static NormalizedClusterSizingReport normalize(final Collection<? extends _ClusterSizingResult> results) {
+        ClusterSizingNormalizer normalizer = new ClusterSizingNormalizer();
+        results.forEach(normalizer::addResult);
+
+        return normalizer.build();
+    }
+
+    /**
+     * @param report the cluster sizing report.
+     * @return the normalized results and rejections in the order of the report.
+     */
+    public static NormalizedClusterSizingReport normalize(final _ClusterSizingReport report) {
+        ClusterSizingNormalizer normalizer = new ClusterSizingNormalizer();
+        report.getResults().forEach(normalizer::addResult);
+        report.getRejected().forEach(normalizer::addRejected);
+
+        return normalizer.build();
+    }
+
+    private void addResult(final _ClusterSizingResult result) {
+        report.addResults(NormalizedClusterSizingResult.builder()
+                .nodeType(nodeTypes.id(NodeDefinition.copyOf(result.getNodeSizing()), result.getNodeSizing().getId()))
+                .pod(pods.id(Pod.copyOf(result.getDefaultPod()), Optional.empty()))
+                .nodes(result.getNodes())
+                .podsPerNode(result.getPodsPerNode())
+                .score(result.getScore())
+                .kubeletMemory(result.getKubeletMemory())
+                .kubeletCPU(result.getKubeletCPU())
+                .systemMemory(result.getSystemMemory())
+                .systemCPU(result.getSystemCPU())
+                .loggingEventsPerNode(result.getLoggingEventsPerNode())
+                .freeMemory(result.getFreeMemory())
+                .freeCPU(result.getFreeCPU())
+                .wastedMemory(result.getWastedMemory())
+                .wastedCPU(result.getWastedCPU())
+                .wastedLogEvents(result.getWastedLogEvents())
+                .build()
+        );
+    }
+
+    private void addRejected(final _RejectedNodeType rejected) {
+        report.addRejected(NormalizedRejectedNodeType.builder()
+                .nodeType(nodeTypes.id(NodeDefinition.copyOf(rejected.getNodeSizing()), rejected.getNodeSizing().getId()))
+                .reason(rejected.getReason())
+                .build()
+        );
+    }
+
+    private NormalizedClusterSizingReport build() {
+        return report
+                .putAllNodeTypes(nodeTypes.values)
+                .putAllPods(pods.values)
+                .build();
+    }
+
+    /**
+     * The ids of equal values.
+     */
+    private static final class Index<T> {
+        private final HashMap<T, String> ids = new HashMap<>();
+        private final LinkedHashMap<String, T> values = new LinkedHashMap<>();
+
+        String id(final T value, final Optional<String> preferred) {
+            return ids.computeIfAbsent(value, v -> {
+                String id = preferred.filter(p -> !values.containsKey(p)).orElseGet(this::generateId);
+                values.put(id, v);
+                return id;
+            });
+        }
+
+        private String generateId() {
+            int next = values.size();
+            String id;
+            do {
+                id = "#" + ++next;
+            } while (values.containsKey(id));
+            return id;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+
+import java.util.Comparator;
+
+/**
+ * The possible orders of cluster sizing results. Every order puts the best
+ * value first, the smallest one or, for {@link #CAPACITY}, the most pods.
+ * Ties are broken by the score, the node count, the waste and finally the
+ * node type itself, so the order of the results does not depend on the
+ * order the node types have been scored in.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public enum ClusterSizingOrder {
+    SCORE(Comparator.comparingLong(ClusterSizingResult::getScore)),
+    WASTED_MEMORY(Comparator.comparingLong(ClusterSizingResult::getWastedMemory)),
+    WASTED_CPU(Comparator.comparingLong(ClusterSizingResult::getWastedCPU)),
+    NODES(Comparator.comparingInt(ClusterSizingResult::getNodes)),
+    CAPACITY(Comparator.comparingLong(ClusterSizingOrder::capacity).reversed());
+
+    private final Comparator<ClusterSizingResult> comparator;
+
+    ClusterSizingOrder(final Comparator<ClusterSizingResult> order) {
+        this.comparator = order.thenComparing(TieBreaker.ORDER);
+    }
+
+    /**
+     * @param result the sizing.
+     * @return the pods of the fully packed cluster.
+     */
+    static long capacity(final ClusterSizingResult result) {
+        return (long) result.getNodes() * result.getPodsPerNode();
+    }
+
+    /**
+     * @return the comparator putting the best result first.
+     */
+    public Comparator<ClusterSizingResult> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Parses the order leniently: {@code wastedMemory}, {@code wasted-memory}
+     * and {@code WASTED_MEMORY} are all the same order.
+     *
+     * @param order the name of the order.
+     * @return the order.
+     * @throws IllegalArgumentException if there is no order with this name.
+     */
+    public static ClusterSizingOrder fromString(final String order) {
+        String normalized = order.replaceAll("[-_ ]", "");
+
+        for (ClusterSizingOrder o : values()) {
+            if (o.name().replace("_", "").equalsIgnoreCase(normalized)) {
+                return o;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown order of cluster sizing results: " + order);
+    }
+
+    /**
+     * Enum constants can't use static fields of their enum in the constructor.
+     */
+    private static final class TieBreaker {
+        private static final Comparator<ClusterSizingResult> ORDER = Comparator
+                .comparingLong(ClusterSizingResult::getScore)
+                .thenComparingInt(ClusterSizingResult::getNodes)
+                .thenComparingLong(ClusterSizingResult::getWastedMemory)
+                .thenComparingLong(ClusterSizingResult::getWastedCPU)
+                .thenComparingLong(r -> r.getNodeSizing().getMemory())
+                .thenComparingLong(r -> r.getNodeSizing().getMillicores())
+                .thenComparingLong(r -> r.getNodeSizing().getScore())
+                .thenComparingLong(r -> r.getNodeSizing().getDisk())
+                .thenComparingLong(r -> r.getNodeSizing().getDiskBandwidth())
+                .thenComparingInt(r -> r.getNodeSizing().getLoggingEventsPerSecondLimit());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Scores a list of candidates on a fork/join pool. Every leaf task works on
+ * its own accumulator, the accumulators are merged when joining the tasks.
+ * So there is no shared state between the threads and the merged result
+ * keeps the order of the candidates (as long as the merger appends the right
+ * accumulator to the left one).
+ *
+ * @param <T> type of the candidates.
+ * @param <A> type of the accumulator.
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+final class ForkJoinScoring<T, A> extends RecursiveTask<A> {
+    /**
+     * Every fork/join worker should get some chunks to balance the load.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final List<T> candidates;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+
+    private final Supplier<A> accumulator;
+    private final BiConsumer<A, T> scorer;
+    private final BinaryOperator<A> merger;
+
+    private ForkJoinScoring(
+            final List<T> candidates,
+            final int from,
+            final int to,
+            final int chunkSize,
+            final Supplier<A> accumulator,
+            final BiConsumer<A, T> scorer,
+            final BinaryOperator<A> merger
+    ) {
+        this.candidates = candidates;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+        this.accumulator = accumulator;
+        this.scorer = scorer;
+        this.merger = merger;
+    }
+
+    /**
+     * Scores all candidates on the given pool.
+     *
+     * @param pool         the pool to run the scoring on.
+     * @param candidates   the candidates (should be a random access list).
+     * @param minChunkSize the smallest number of candidates worth a task of its own.
+     * @param accumulator  creates a new empty accumulator.
+     * @param scorer       scores a single candidate into the accumulator.
+     * @param merger       appends the second accumulator to the first one.
+     * @param <T>          type of the candidates.
+     * @param <A>          type of the accumulator.
+     * @return the merged accumulator of all candidates.
+     */
+    static <T, A> A score(
+            final ForkJoinPool pool,
+            final List<T> candidates,
+            final int minChunkSize,
+            final Supplier<A> accumulator,
+            final BiConsumer<A, T> scorer,
+            final BinaryOperator<A> merger
+    ) {
+        int chunkSize = Math.max(
+                Math.max(minChunkSize, 1),
+                candidates.size() / (pool.getParallelism() * CHUNKS_PER_WORKER)
+        );
+
+        return pool.invoke(new ForkJoinScoring<>(candidates, 0, candidates.size(), chunkSize, accumulator, scorer, merger));
+    }
+
+    @Override
+    protected A compute() {
+        if (to - from <= chunkSize) {
+            A result = accumulator.get();
+
+            for (int i = from; i < to; i++) {
+                scorer.accept(result, candidates.get(i));
+            }
+
+            return result;
+        }
+
+        int middle = (from + to) >>> 1;
+        ForkJoinScoring<T, A> left = new ForkJoinScoring<>(candidates, from, middle, chunkSize, accumulator, scorer, merger);
+        ForkJoinScoring<T, A> right = new ForkJoinScoring<>(candidates, middle, to, chunkSize, accumulator, scorer, merger);
+
+        left.fork();
+        A rightResult = right.compute();
+
+        return merger.apply(left.join(), rightResult);
+    }
+}
@@ -25,10 +25,19 @@ import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
+ * Scores the infra node types for a logging cluster. Requests with at least
+ * {@link #getParallelThreshold()} infra node types are scored in parallel on
+ * a fork/join pool, smaller ones sequentially on the calling thread. Both
+ * paths deliver the same result.
+ *
  * @author rlichti
  * @version 1.0.0 2020-02-16
  * @since 1.0.0 2020-02-16
@@ -37,9 +46,40 @@ import java.util.Set;
 public class LoggingClusterSizeCalculator {
     private static final Logger LOG = LoggerFactory.getLogger(LoggingClusterSizeCalculator.class);
 
+    /**
+     * Requests with fewer infra node types are not worth the overhead of
+     * parallel scoring.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 512;
+
+    /**
+     * The smallest number of infra node types scored by a single fork/join task.
+     */
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    /**
+     * Puts the best (lowest) score first. Ties are broken by the size of the
+     * logging cluster and finally the infra node type itself, so the order of
+     * the results does not depend on the order the node types have been
+     * scored in.
+     */
+    public static final Comparator<LoggingSizingResult> SCORE_ORDER = Comparator
+            .comparingLong(LoggingSizingResult::getScore)
+            .thenComparingInt(LoggingSizingResult::getNodes)
+            .thenComparingInt(LoggingSizingResult::getNumberOfLoggingPods)
+            .thenComparingLong(r -> r.getInfraNodeType().getMemory())
+            .thenComparingLong(r -> r.getInfraNodeType().getMillicores())
+            .thenComparingLong(r -> r.getInfraNodeType().getScore())
+            .thenComparingLong(r -> r.getInfraNodeType().getDisk())
+            .thenComparingLong(r -> r.getInfraNodeType().getDiskBandwidth())
+            .thenComparingInt(r -> r.getInfraNodeType().getLoggingEventsPerSecondLimit());
+
     @Inject
     LoggingPodCalculator calculator;
 
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
     public LoggingClusterSizeCalculator() {
         calculator = new LoggingPodCalculator();
     }
@@ -48,15 +88,136 @@ public class LoggingClusterSizeCalculator {
         this.calculator = calculator;
     }
 
+    public LoggingClusterSizeCalculator(
+            final LoggingPodCalculator calculator,
+            final ForkJoinPool pool,
+            final int parallelThreshold
+    ) {
+        this.calculator = calculator;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Folds the logging event types of the request once and scores every
+     * infra node type against these totals.
+     *
+     * @param request the request with the logging event types and the infra node types.
+     * @return the sizing of every infra node type.
+     */
     public Set<LoggingSizingResult> scoreNodetypes(
             final _LoggingSizingRequest request
     ) {
-        HashSet<LoggingSizingResult> result = new HashSet<>(request.getPossibleInfraNodeTypes().size());
+        return scoreNodetypes(request, LoggingEventAggregate.of(request.getLoggingEventTypes()));
+    }
+
+    /**
+     * Scores the infra node types for logging event types already folded into
+     * an aggregate, e.g. while streaming a request. The logging event types
+     * of the request are ignored.
+     *
+     * @param request the request with the infra node types.
+     * @param events  the logging event types.
+     * @return the sizing of every infra node type.
+     */
+    public Set<LoggingSizingResult> scoreNodetypes(
+            final _LoggingSizingRequest request,
+            final LoggingEventAggregate events
+    ) {
+        if (request.getPossibleInfraNodeTypes().size() < parallelThreshold) {
+            HashSet<LoggingSizingResult> result = new HashSet<>(request.getPossibleInfraNodeTypes().size());
+
+            for (_NodeDefinition d : request.getPossibleInfraNodeTypes()) {
+                result.add(calculator.calculateLoggingSolution(d, request, events));
+            }
 
-        for (_NodeDefinition d : request.getPossibleInfraNodeTypes()) {
-            result.add(calculator.calculateLoggingSolution(d, request));
+            return result;
         }
 
-        return result;
+        List<LoggingSizingResult> result = ForkJoinScoring.score(
+                pool,
+                new ArrayList<>(request.getPossibleInfraNodeTypes()),
+                MIN_CHUNK_SIZE,
+                ArrayList::new,
+                (scored, d) -> scored.add(calculator.calculateLoggingSolution(d, request, events)),
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                }
+        );
+
+        return new HashSet<>(result);
+    }
+
+    /**
+     * Scores the infra node types and returns only the best ones.
+     *
+     * @param request the request with the logging event types and the infra node types.
+     * @param limit   the number of results to return. A limit of 0 or less returns all results.
+     * @return the best results, the best one first (see {@link #SCORE_ORDER}).
+     */
+    public List<LoggingSizingResult> scoreNodetypes(
+            final _LoggingSizingRequest request,
+            final int limit
+    ) {
+        return scoreNodetypes(request, LoggingEventAggregate.of(request.getLoggingEventTypes()), limit);
+    }
+
+    /**
+     * Scores the infra node types for logging event types already folded into
+     * an aggregate and returns only the best ones. The logging event types of
+     * the request are ignored.
+     *
+     * @param request the request with the infra node types.
+     * @param events  the logging event types.
+     * @param limit   the number of results to return. A limit of 0 or less returns all results.
+     * @return the best results, the best one first (see {@link #SCORE_ORDER}).
+     */
+    public List<LoggingSizingResult> scoreNodetypes(
+            final _LoggingSizingRequest request,
+            final LoggingEventAggregate events,
+            final int limit
+    ) {
+        if (request.getPossibleInfraNodeTypes().size() < parallelThreshold) {
+            RankedResults<LoggingSizingResult> result = new RankedResults<>(limit, SCORE_ORDER);
+
+            for (_NodeDefinition d : request.getPossibleInfraNodeTypes()) {
+                result.add(calculator.calculateLoggingSolution(d, request, events));
+            }
+
+            return result.toList();
+        }
+
+        return ForkJoinScoring.score(
+                pool,
+                new ArrayList<>(request.getPossibleInfraNodeTypes()),
+                MIN_CHUNK_SIZE,
+                () -> new RankedResults<LoggingSizingResult>(limit, SCORE_ORDER),
+                (scored, d) -> scored.add(calculator.calculateLoggingSolution(d, request, events)),
+                RankedResults::merge
+        ).toList();
+    }
+
+    /**
+     * @return the minimum number of infra node types to score them in parallel.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * @param parallelThreshold the minimum number of infra node types to score
+     *                          them in parallel. {@link Integer#MAX_VALUE}
+     *                          disables the parallel scoring.
+     */
+    public void setParallelThreshold(final int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * @param pool the fork/join pool to score many infra node types on.
+     */
+    public void setPool(final ForkJoinPool pool) {
+        this.pool = pool;
     }
 }
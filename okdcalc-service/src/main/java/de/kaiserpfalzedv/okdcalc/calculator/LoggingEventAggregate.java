@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts._LoggingEvent;
+
+import java.util.Collection;
+
+/**
+ * The sums over the logging event types of a request the logging sizing
+ * depends on. Events are folded in one by one, so a request with tens of
+ * thousands of event types can be sized without keeping them.
+ *
+ * Every added event counts. A {@link de.kaiserpfalzedv.okdcalc.facts.LoggingSizingRequest}
+ * keeps its events in a set, so equal event types given twice count once
+ * there.
+ *
+ * The sums use the same integer arithmetic as the sizing of single events
+ * always did, so both give the same results. Instances are not thread safe.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class LoggingEventAggregate {
+    /**
+     * 3600 seconds per hour * 24 hours per day.
+     */
+    private static final int SECONDS_PER_DAY = 86400;
+
+    private long numberOfEventTypes;
+    private long diskBandwidth;
+    private long retainedBytes;
+    private int activePrimaryShards;
+
+    /**
+     * @param events the logging event types.
+     * @return the aggregate of all event types.
+     */
+    public static LoggingEventAggregate of(final Collection<? extends _LoggingEvent> events) {
+        LoggingEventAggregate result = new LoggingEventAggregate();
+        events.forEach(result::add);
+        return result;
+    }
+
+    /**
+     * @param event the logging event type to fold in.
+     * @return this aggregate.
+     */
+    public LoggingEventAggregate add(final _LoggingEvent event) {
+        long bandwidth = event.getEventSize() * event.getDefaultNumberOfEventsPerHour() / 3600 * event.getNumberOfContainers();
+
+        numberOfEventTypes++;
+        diskBandwidth += bandwidth;
+        retainedBytes += event.getRetentionDays() * SECONDS_PER_DAY * bandwidth;
+        activePrimaryShards += event.getNumberOfNamespaces() * event.getRetentionDays();
+
+        return this;
+    }
+
+    /**
+     * @return the number of event types folded in.
+     */
+    public long getNumberOfEventTypes() {
+        return numberOfEventTypes;
+    }
+
+    /**
+     * @return the disk bandwidth all event types need in bytes/s.
+     */
+    public long getDiskBandwidth() {
+        return diskBandwidth;
+    }
+
+    /**
+     * @param numberOfReplica the replica kept in addition to the primary shards.
+     * @return the disk size needed to keep all events for their retention time.
+     */
+    public long getTotalDiskSize(final int numberOfReplica) {
+        return retainedBytes * (numberOfReplica + 1);
+    }
+
+    /**
+     * @return the number of active primary shards.
+     */
+    public int getActivePrimaryShards() {
+        return activePrimaryShards;
+    }
+
+}
@@ -18,15 +18,12 @@
 package de.kaiserpfalzedv.okdcalc.calculator;
 
 import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingResult;
-import de.kaiserpfalzedv.okdcalc.facts._LoggingEvent;
 import de.kaiserpfalzedv.okdcalc.facts._LoggingSizingRequest;
 import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.Dependent;
-import java.util.Set;
-
 import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
 import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.MiB;
 
@@ -56,11 +53,6 @@ public class LoggingPodCalculator {
      */
     private static final int MAX_ACTIVE_SHARDS = 5000;
 
-    /**
-     * 3600 seconds per hour * 24 hours per day.
-     */
-    private static final int SECONDS_PER_DAY = 86400;
-
     /**
      * Memory used by a single ES data pod. We don't do any calculation for less
      * than 62 GiB.
@@ -72,9 +64,28 @@ public class LoggingPodCalculator {
             final _NodeDefinition infraNodeType,
             final _LoggingSizingRequest sizingRequest
     ) {
-        long bw = calculateDiskBW(sizingRequest.getLoggingEventTypes());
+        return calculateLoggingSolution(infraNodeType, sizingRequest, LoggingEventAggregate.of(sizingRequest.getLoggingEventTypes()));
+    }
+
+    /**
+     * Sizes the logging cluster for event types already folded into an
+     * aggregate. The logging event types of the request are ignored.
+     *
+     * @param infraNodeType the node type to size the logging cluster with.
+     * @param sizingRequest the request.
+     * @param events        the logging event types to size the cluster for.
+     * @return the sizing of the logging cluster.
+     */
+    public LoggingSizingResult calculateLoggingSolution(
+            final _NodeDefinition infraNodeType,
+            final _LoggingSizingRequest sizingRequest,
+            final LoggingEventAggregate events
+    ) {
+        long bw = events.getDiskBandwidth();
+        LOG.trace("logging disk bw: {} b", bw);
         int disksForBW = (int) Math.ceil((double) bw / infraNodeType.getDiskBandwidth()) * (sizingRequest.getNumberOfReplica() + 1);
-        long totalDiskSize = calculateTotalDiskSize(sizingRequest.getLoggingEventTypes(), sizingRequest.getNumberOfReplica());
+        long totalDiskSize = events.getTotalDiskSize(sizingRequest.getNumberOfReplica());
+        LOG.trace("total disk size: {} GiB", totalDiskSize / GiB);
         int totalDiskCount = (int) Math.max(Math.max(Math.ceil((double) totalDiskSize / infraNodeType.getDisk()), disksForBW), sizingRequest.getNumberOfAvailabilityZones());
         int ESpodPerInfraNode = Math.min(calculateEsPodPerInfraNode(infraNodeType), totalDiskCount / sizingRequest.getNumberOfAvailabilityZones());
         int loggingNodePerAZ = calculateLoggingNodesPerAvailabilityZone(totalDiskCount, ESpodPerInfraNode, infraNodeType, sizingRequest);
@@ -86,7 +97,10 @@ public class LoggingPodCalculator {
         int podCount = sizingRequest.getNumberOfAvailabilityZones() * loggingNodePerAZ * ESpodPerInfraNode;
         long podCpu = infraNodeType.getMillicores() - RESERVED_MILLICORES_PER_LOGGING_NODE;
         long podMemory = infraNodeType.getMemory() - RESERVED_MEMORY_PER_LOGGING_NODE;
-        int activePrimaryShards = calculateActivePrimaryShards(sizingRequest.getLoggingEventTypes());
+        int activePrimaryShards = events.getActivePrimaryShards();
+        if (activePrimaryShards > MAX_ACTIVE_SHARDS) {
+            LOG.warn("Too much active primary shards: {}", activePrimaryShards);
+        }
 
         return LoggingSizingResult.builder()
                 .infraNodeType(infraNodeType)
@@ -99,33 +113,6 @@ public class LoggingPodCalculator {
                 .build();
     }
 
-    private long calculateDiskBW(final Set<_LoggingEvent> eventTypes) {
-        long result = 0L;
-
-        for (_LoggingEvent e : eventTypes) {
-            result += calculateSingleBW(e);
-        }
-
-        LOG.trace("logging disk bw: {} b", result);
-        return result;
-    }
-
-    private long calculateSingleBW(_LoggingEvent e) {
-        return e.getEventSize() * e.getDefaultNumberOfEventsPerHour() / 3600 * e.getNumberOfContainers();
-    }
-
-    private long calculateTotalDiskSize(final Set<_LoggingEvent> eventTypes, int replicaCount) {
-        long result = 0L;
-
-        for (_LoggingEvent e : eventTypes) {
-            LOG.trace("event: retention={}, replica={}, bw={}", e.getRetentionDays(), replicaCount, calculateSingleBW(e));
-            result += e.getRetentionDays() * SECONDS_PER_DAY * calculateSingleBW(e) * (replicaCount + 1);
-        }
-
-        LOG.trace("total disk size: {} GiB", result / GiB);
-        return result;
-    }
-
     private int calculateLoggingNodesPerAvailabilityZone(
             final int totalDiskCount,
             final int esPodsPerNode,
@@ -155,18 +142,4 @@ public class LoggingPodCalculator {
     private int calculateEsPodPerInfraNode(_NodeDefinition nodeDefinition) {
         return (int) Math.max(Math.floor(nodeDefinition.getMemory() / BYTES_PER_ES_POD), 1);
     }
-
-    private int calculateActivePrimaryShards(Set<_LoggingEvent> eventTypes) {
-        int result = 0;
-
-        for (_LoggingEvent e : eventTypes) {
-            result += e.getNumberOfNamespaces() * e.getRetentionDays();
-        }
-
-        if (result > MAX_ACTIVE_SHARDS) {
-            LOG.warn("Too much active primary shards: {}", result);
-        }
-
-        return result;
-    }
 }
@@ -18,6 +18,9 @@
 package de.kaiserpfalzedv.okdcalc.calculator;
 
 import de.kaiserpfalzedv.okdcalc.BaseOkdCalcException;
+import de.kaiserpfalzedv.okdcalc.facts.RejectionReason;
+
+import java.util.Optional;
 
 /**
  * The NoSolutionException is thrown if the given base data does not compute to
@@ -28,6 +31,8 @@ import de.kaiserpfalzedv.okdcalc.BaseOkdCalcException;
  * @since 1.0.0 2020-02-16
  */
 public class NoSolutionException extends BaseOkdCalcException {
+    private RejectionReason reason;
+
     public NoSolutionException() {
         super("There is no sizing calculation for this sizing requirements");
     }
@@ -43,4 +48,17 @@ public class NoSolutionException extends BaseOkdCalcException {
     public NoSolutionException(final String message, final Throwable cause) {
         super(message, cause);
     }
+
+    public NoSolutionException(final RejectionReason reason) {
+        super(reason.getDescription());
+
+        this.reason = reason;
+    }
+
+    /**
+     * @return Why has the node type been rejected (if known)?
+     */
+    public Optional<RejectionReason> getReason() {
+        return Optional.ofNullable(reason);
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+
+import java.util.Collection;
+
+/**
+ * A node catalog in columnar layout. The values the scoring needs are read
+ * once from the node definitions into primitive arrays, so a sweep over the
+ * catalog neither calls getters nor resolves derived attributes again.
+ *
+ * The catalog is immutable after creation and may be shared between threads
+ * and requests. The columns are handed to the {@link ScoringKernel}s as they
+ * are, the kernels only read them.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class NodeCatalog {
+    private final _NodeDefinition[] nodeDefinitions;
+
+    final long[] memory;
+    final long[] millicores;
+    final int[] maxPods;
+    final int[] loggingEventsLimit;
+    final long[] score;
+    final long[] disk;
+    final long[] diskBandwidth;
+
+    private NodeCatalog(final _NodeDefinition[] nodeDefinitions) {
+        this.nodeDefinitions = nodeDefinitions;
+
+        int size = nodeDefinitions.length;
+        memory = new long[size];
+        millicores = new long[size];
+        maxPods = new int[size];
+        loggingEventsLimit = new int[size];
+        score = new long[size];
+        disk = new long[size];
+        diskBandwidth = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            _NodeDefinition d = nodeDefinitions[i];
+
+            memory[i] = d.getMemory();
+            millicores[i] = d.getMillicores();
+            maxPods[i] = d.getMaxPods();
+            loggingEventsLimit[i] = d.getLoggingEventsPerSecondLimit();
+            score[i] = d.getScore();
+            disk[i] = d.getDisk();
+            diskBandwidth[i] = d.getDiskBandwidth();
+        }
+    }
+
+    /**
+     * @param nodeDefinitions the node types of the catalog.
+     * @return the catalog in columnar layout.
+     */
+    public static NodeCatalog of(final Collection<? extends _NodeDefinition> nodeDefinitions) {
+        return new NodeCatalog(nodeDefinitions.toArray(new _NodeDefinition[0]));
+    }
+
+    /**
+     * @return the number of node types in this catalog.
+     */
+    public int size() {
+        return nodeDefinitions.length;
+    }
+
+    /**
+     * @param index the index of the node type.
+     * @return the node type.
+     */
+    public _NodeDefinition get(final int index) {
+        return nodeDefinitions[index];
+    }
+
+    /**
+     * @return the memory of the node types in bytes. The column is shared and must not be modified.
+     */
+    public long[] getMemoryColumn() {
+        return memory;
+    }
+
+    /**
+     * @return the millicores of the node types. The column is shared and must not be modified.
+     */
+    public long[] getMillicoresColumn() {
+        return millicores;
+    }
+
+    /**
+     * @return the maximum pods of the node types. The column is shared and must not be modified.
+     */
+    public int[] getMaxPodsColumn() {
+        return maxPods;
+    }
+
+    /**
+     * @return the logging events per second fluentd can handle on the node types. The column is shared and must not be modified.
+     */
+    public int[] getLoggingEventsLimitColumn() {
+        return loggingEventsLimit;
+    }
+
+    /**
+     * @return the scores of the node types. The column is shared and must not be modified.
+     */
+    public long[] getScoreColumn() {
+        return score;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts._Pod;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.RESERVED_BYTES_PER_POD;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.RESERVED_MILLICORE_PER_POD;
+
+/**
+ * Scores a pod on every node type of a {@link NodeCatalog}. The sweep works
+ * on the primitive columns of the catalog only: the {@link ScoringKernel}
+ * fills the pods per node, the number of nodes and the score into arrays, the
+ * ranking uses a binary heap of indices. No object is created per node type.
+ *
+ * The pods per node do not depend on the number of pods. A sweep of a pod
+ * and catalog kept in the {@link PodsPerNodeCache} reuses their column and
+ * calculates only the number of nodes and the score.
+ *
+ * The order of the ranking is exactly the order of
+ * {@link ClusterSizingOrder#comparator()}, so the winners are the same as
+ * when scoring the node definitions directly.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+final class NodeCatalogSweep {
+    final NodeCatalog catalog;
+
+    private final long podMemory;
+    private final long podMilliCores;
+
+    /**
+     * The pods per node or a rejection code of {@link NumbersOfPodsAndNodesCalculator}.
+     * The column may be shared with the {@link PodsPerNodeCache} and must not be modified.
+     */
+    final int[] podsPerNode;
+
+    /**
+     * The number of nodes or a rejection code of {@link NumbersOfPodsAndNodesCalculator}.
+     */
+    final int[] nodes;
+
+    /**
+     * The score of the cluster or 0 for rejected node types.
+     */
+    private final long[] scores;
+
+    private int feasible;
+
+    NodeCatalogSweep(
+            final ScoringKernel kernel,
+            final PodsPerNodeCache cache,
+            final NodeCatalog catalog,
+            final int totalNumberOfPods,
+            final _Pod defaultPod
+    ) {
+        this.catalog = catalog;
+        this.podMemory = defaultPod.getMemory();
+        this.podMilliCores = defaultPod.getMilliCores();
+
+        int size = catalog.size();
+
+        nodes = new int[size];
+        scores = new long[size];
+
+        int[] known = cache.getPodsPerNode(defaultPod, catalog);
+        if (known != null) {
+            podsPerNode = known;
+
+            for (int i = 0; i < size; i++) {
+                nodes[i] = podsPerNode[i] >= 0
+                        ? NumbersOfPodsAndNodesCalculator.numberOfNodes(podsPerNode[i], totalNumberOfPods)
+                        : podsPerNode[i];
+                scores[i] = nodes[i] >= 0 ? nodes[i] * catalog.score[i] : 0L;
+            }
+        } else {
+            podsPerNode = new int[size];
+
+            kernel.score(defaultPod, totalNumberOfPods, catalog, 0, size, podsPerNode, nodes, scores);
+            cache.putPodsPerNode(defaultPod, catalog, podsPerNode);
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (nodes[i] >= 0) {
+                feasible++;
+            }
+        }
+    }
+
+    boolean isRejected(final int index) {
+        return nodes[index] < 0;
+    }
+
+    long score(final int index) {
+        return scores[index];
+    }
+
+    long wastedMemory(final int index) {
+        return catalog.memory[index] - podsPerNode[index] * (RESERVED_BYTES_PER_POD + podMemory);
+    }
+
+    long wastedCpu(final int index) {
+        return catalog.millicores[index] - podsPerNode[index] * (RESERVED_MILLICORE_PER_POD + podMilliCores);
+    }
+
+    /**
+     * Ranks the feasible node types.
+     *
+     * @param limit the number of node types to return. A limit of 0 or less returns all feasible node types.
+     * @param order the order of the ranking.
+     * @return the indices of the best node types, the best one first.
+     */
+    int[] best(final int limit, final ClusterSizingOrder order) {
+        int capacity = limit > 0 ? Math.min(limit, feasible) : feasible;
+        int[] heap = new int[capacity];
+        int size = 0;
+
+        for (int i = 0; i < nodes.length && capacity > 0; i++) {
+            if (isRejected(i)) {
+                continue;
+            }
+
+            if (size < capacity) {
+                heap[size] = i;
+                siftUp(heap, size, order);
+                size++;
+            } else if (compare(i, heap[0], order) < 0) {
+                heap[0] = i;
+                siftDown(heap, size, order);
+            }
+        }
+
+        // heap sort: the worst kept node type is moved to the end.
+        for (int last = size - 1; last > 0; last--) {
+            int worst = heap[0];
+            heap[0] = heap[last];
+            heap[last] = worst;
+            siftDown(heap, last, order);
+        }
+
+        return heap;
+    }
+
+    /**
+     * The same order as {@link ClusterSizingOrder#comparator()} including the tie breaker.
+     */
+    int compare(final int a, final int b, final ClusterSizingOrder order) {
+        int result;
+
+        switch (order) {
+            case WASTED_MEMORY:
+                result = Long.compare(wastedMemory(a), wastedMemory(b));
+                break;
+            case WASTED_CPU:
+                result = Long.compare(wastedCpu(a), wastedCpu(b));
+                break;
+            case NODES:
+                result = Integer.compare(nodes[a], nodes[b]);
+                break;
+            case CAPACITY:
+                result = Long.compare((long) nodes[b] * podsPerNode[b], (long) nodes[a] * podsPerNode[a]);
+                break;
+            default:
+                result = Long.compare(score(a), score(b));
+        }
+
+        if (result == 0) result = Long.compare(score(a), score(b));
+        if (result == 0) result = Integer.compare(nodes[a], nodes[b]);
+        if (result == 0) result = Long.compare(wastedMemory(a), wastedMemory(b));
+        if (result == 0) result = Long.compare(wastedCpu(a), wastedCpu(b));
+        if (result == 0) result = Long.compare(catalog.memory[a], catalog.memory[b]);
+        if (result == 0) result = Long.compare(catalog.millicores[a], catalog.millicores[b]);
+        if (result == 0) result = Long.compare(catalog.score[a], catalog.score[b]);
+        if (result == 0) result = Long.compare(catalog.disk[a], catalog.disk[b]);
+        if (result == 0) result = Long.compare(catalog.diskBandwidth[a], catalog.diskBandwidth[b]);
+        if (result == 0) result = Integer.compare(catalog.loggingEventsLimit[a], catalog.loggingEventsLimit[b]);
+
+        return result;
+    }
+
+    /**
+     * Max heap: the worst node type is on top.
+     */
+    private void siftUp(final int[] heap, final int position, final ClusterSizingOrder order) {
+        int child = position;
+        int value = heap[child];
+
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (compare(value, heap[parent], order) <= 0) {
+                break;
+            }
+
+            heap[child] = heap[parent];
+            child = parent;
+        }
+
+        heap[child] = value;
+    }
+
+    private void siftDown(final int[] heap, final int size, final ClusterSizingOrder order) {
+        int parent = 0;
+        int value = heap[0];
+
+        while (true) {
+            int child = 2 * parent + 1;
+            if (child >= size) {
+                break;
+            }
+
+            if (child + 1 < size && compare(heap[child + 1], heap[child], order) > 0) {
+                child++;
+            }
+
+            if (compare(value, heap[child], order) >= 0) {
+                break;
+            }
+
+            heap[parent] = heap[child];
+            parent = child;
+        }
+
+        heap[parent] = value;
+    }
+}
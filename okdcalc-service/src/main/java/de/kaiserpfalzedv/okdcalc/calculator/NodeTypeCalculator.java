@@ -17,19 +17,46 @@
 
 package de.kaiserpfalzedv.okdcalc.calculator;
 
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingReport;
 import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.NodeCountCurve;
+import de.kaiserpfalzedv.okdcalc.facts.RejectedNodeType;
+import de.kaiserpfalzedv.okdcalc.facts.WorkloadSizingReport;
 import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
 import de.kaiserpfalzedv.okdcalc.facts._Pod;
+import de.kaiserpfalzedv.okdcalc.facts._PodProfile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import static de.kaiserpfalzedv.okdcalc.calculator.NumbersOfPodsAndNodesCalculator.MAX_NODES_PER_CLUSTER;
+import static de.kaiserpfalzedv.okdcalc.calculator.NumbersOfPodsAndNodesCalculator.rejectionReason;
 
 /**
+ * Scores node types for a given workload. Catalogs with at least
+ * {@link #getParallelThreshold()} node types are scored in parallel on a
+ * fork/join pool, smaller ones sequentially on the calling thread. Both paths
+ * deliver the same result.
+ *
+ * Node types without a solution are rejected without creating an exception.
+ * Only the {@link ClusterSizingReport} lists them with the reason.
+ *
+ * A {@link NodeCatalog} is scored on its primitive columns without creating
+ * objects for node types that are not returned.
+ *
+ * All paths look up the pods per node in the {@link PodsPerNodeCache} of the
+ * calculator, so scoring the same pods and node types again only calculates
+ * the number of nodes.
+ *
  * @author rlichti
  * @version 1.0.0 2020-02-16
  * @since 1.0.0 2020-02-16
@@ -38,9 +65,23 @@ import java.util.Set;
 public class NodeTypeCalculator {
     private static final Logger LOG = LoggerFactory.getLogger(NodeTypeCalculator.class);
 
+    /**
+     * Catalogs smaller than this are not worth the overhead of parallel scoring.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 512;
+
+    /**
+     * The smallest number of node types scored by a single fork/join task.
+     */
+    private static final int MIN_CHUNK_SIZE = 64;
+
     @Inject
     NumbersOfPodsAndNodesCalculator calculator;
 
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private ScoringKernel kernel = ScoringKernels.fromSystemProperties();
+
     public NodeTypeCalculator() {
         calculator = new NumbersOfPodsAndNodesCalculator();
     }
@@ -49,21 +90,478 @@ public class NodeTypeCalculator {
         this.calculator = calculator;
     }
 
+    public NodeTypeCalculator(
+            final NumbersOfPodsAndNodesCalculator calculator,
+            final ForkJoinPool pool,
+            final int parallelThreshold
+    ) {
+        this.calculator = calculator;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
     public Set<ClusterSizingResult> scoreNodetypes(
             final int totalNumberOfPods,
             final _Pod defaultPod,
             final Collection<_NodeDefinition> nodeDefintions
     ) {
-        HashSet<ClusterSizingResult> result = new HashSet<>(nodeDefintions.size());
+        if (nodeDefintions.size() < parallelThreshold) {
+            HashSet<ClusterSizingResult> result = new HashSet<>(nodeDefintions.size());
 
-        for (_NodeDefinition d : nodeDefintions) {
-            try {
-                result.add(calculator.calculateNumberOfPodsPerNodeAndNumberOfNodes(totalNumberOfPods, defaultPod, d));
-            } catch (NoSolutionException e) {
-                LOG.warn("No solution for: {}", d);
+            scoreNodetypes(totalNumberOfPods, defaultPod, nodeDefintions, result::add);
+
+            return result;
+        }
+
+        List<ClusterSizingResult> result = ForkJoinScoring.score(
+                pool,
+                new ArrayList<>(nodeDefintions),
+                MIN_CHUNK_SIZE,
+                ArrayList::new,
+                (scored, d) -> score(totalNumberOfPods, defaultPod, d, scored::add),
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                }
+        );
+
+        return new HashSet<>(result);
+    }
+
+    /**
+     * Scores the node types and returns only the best ones.
+     *
+     * @param totalNumberOfPods number of pods to run on the cluster.
+     * @param defaultPod        the pod to run on the cluster.
+     * @param nodeDefintions    the node types to score.
+     * @param limit             the number of results to return. A limit of 0 or less returns all results.
+     * @param order             the order of the results.
+     * @return the best results, the best one first.
+     */
+    public List<ClusterSizingResult> scoreNodetypes(
+            final int totalNumberOfPods,
+            final _Pod defaultPod,
+            final Collection<_NodeDefinition> nodeDefintions,
+            final int limit,
+            final ClusterSizingOrder order
+    ) {
+        if (nodeDefintions.size() < parallelThreshold) {
+            RankedResults<ClusterSizingResult> result = new RankedResults<>(limit, order.comparator());
+
+            scoreNodetypes(totalNumberOfPods, defaultPod, nodeDefintions, result::add);
+
+            return result.toList();
+        }
+
+        return ForkJoinScoring.score(
+                pool,
+                new ArrayList<>(nodeDefintions),
+                MIN_CHUNK_SIZE,
+                () -> new RankedResults<ClusterSizingResult>(limit, order.comparator()),
+                (scored, d) -> score(totalNumberOfPods, defaultPod, d, scored::add),
+                RankedResults::merge
+        ).toList();
+    }
+
+    /**
+     * Scores the node types and reports the best ones and all rejected ones.
+     *
+     * @param totalNumberOfPods number of pods to run on the cluster.
+     * @param defaultPod        the pod to run on the cluster.
+     * @param nodeDefintions    the node types to score.
+     * @param limit             the number of results to return. A limit of 0 or less returns all results.
+     * @param order             the order of the results.
+     * @return the best results (the best one first) and the rejected node types.
+     */
+    public ClusterSizingReport reportNodetypes(
+            final int totalNumberOfPods,
+            final _Pod defaultPod,
+            final Collection<_NodeDefinition> nodeDefintions,
+            final int limit,
+            final ClusterSizingOrder order
+    ) {
+        if (nodeDefintions.size() < parallelThreshold) {
+            ReportingListener result = new ReportingListener(limit, order);
+
+            scoreNodetypes(totalNumberOfPods, defaultPod, nodeDefintions, result);
+
+            return result.toReport();
+        }
+
+        return ForkJoinScoring.score(
+                pool,
+                new ArrayList<>(nodeDefintions),
+                MIN_CHUNK_SIZE,
+                () -> new ReportingListener(limit, order),
+                (scored, d) -> score(totalNumberOfPods, defaultPod, d, scored),
+                ReportingListener::merge
+        ).toReport();
+    }
+
+    /**
+     * Scores the node types of a catalog and returns only the best ones. The
+     * catalog is swept on its primitive columns, results are created for the
+     * returned node types only.
+     *
+     * @param totalNumberOfPods number of pods to run on the cluster.
+     * @param defaultPod        the pod to run on the cluster.
+     * @param catalog           the node types to score.
+     * @param limit             the number of results to return. A limit of 0 or less returns all results.
+     * @param order             the order of the results.
+     * @return the best results, the best one first.
+     */
+    public List<ClusterSizingResult> scoreNodetypes(
+            final int totalNumberOfPods,
+            final _Pod defaultPod,
+            final NodeCatalog catalog,
+            final int limit,
+            final ClusterSizingOrder order
+    ) {
+        NodeCatalogSweep sweep = new NodeCatalogSweep(kernel, calculator.getCache(), catalog, totalNumberOfPods, defaultPod);
+
+        return results(sweep, defaultPod, limit, order);
+    }
+
+    /**
+     * Scores the node types of a catalog and reports the best ones and all
+     * rejected ones.
+     *
+     * @param totalNumberOfPods number of pods to run on the cluster.
+     * @param defaultPod        the pod to run on the cluster.
+     * @param catalog           the node types to score.
+     * @param limit             the number of results to return. A limit of 0 or less returns all results.
+     * @param order             the order of the results.
+     * @return the best results (the best one first) and the rejected node types in catalog order.
+     */
+    public ClusterSizingReport reportNodetypes(
+            final int totalNumberOfPods,
+            final _Pod defaultPod,
+            final NodeCatalog catalog,
+            final int limit,
+            final ClusterSizingOrder order
+    ) {
+        NodeCatalogSweep sweep = new NodeCatalogSweep(kernel, calculator.getCache(), catalog, totalNumberOfPods, defaultPod);
+
+        ArrayList<RejectedNodeType> rejected = new ArrayList<>();
+        for (int i = 0; i < catalog.size(); i++) {
+            if (sweep.isRejected(i)) {
+                rejected.add(
+                        RejectedNodeType.builder()
+                                .nodeSizing(catalog.get(i))
+                                .reason(rejectionReason(sweep.nodes[i]))
+                                .build()
+                );
+            }
+        }
+
+        return ClusterSizingReport.builder()
+                .results(results(sweep, defaultPod, limit, order))
+                .rejected(rejected)
+                .build();
+    }
+
+    /**
+     * The inverse of {@link #reportNodetypes(int, _Pod, Collection, int, ClusterSizingOrder)}:
+     * the most pods clusters of every node type run with at most the given
+     * number of nodes and within the budget, see
+     * {@link NumbersOfPodsAndNodesCalculator#calculateMaxNumberOfPods(int, long, _Pod, _NodeDefinition)}.
+     *
+     * @param numberOfNodes  the most nodes of the cluster (at least 1).
+     * @param budget         the highest score of the cluster.
+     * @param defaultPod     the pod to run on the cluster.
+     * @param nodeDefintions the node types.
+     * @param limit          the number of results to return. A limit of 0 or less returns all results.
+     * @param order          the order of the results.
+     * @return the fully packed clusters (the best one first) and the rejected node types.
+     */
+    public ClusterSizingReport reportMaxNumberOfPods(
+            final int numberOfNodes,
+            final long budget,
+            final _Pod defaultPod,
+            final Collection<_NodeDefinition> nodeDefintions,
+            final int limit,
+            final ClusterSizingOrder order
+    ) {
+        if (nodeDefintions.size() < parallelThreshold) {
+            ReportingListener result = new ReportingListener(limit, order);
+
+            for (_NodeDefinition d : nodeDefintions) {
+                calculator.maxNumberOfPods(numberOfNodes, budget, defaultPod, d, result);
+            }
+
+            return result.toReport();
+        }
+
+        return ForkJoinScoring.score(
+                pool,
+                new ArrayList<>(nodeDefintions),
+                MIN_CHUNK_SIZE,
+                () -> new ReportingListener(limit, order),
+                (scored, d) -> calculator.maxNumberOfPods(numberOfNodes, budget, defaultPod, d, scored),
+                ReportingListener::merge
+        ).toReport();
+    }
+
+    /**
+     * The largest pods of which the given number of pods run on the given
+     * number of nodes of every node type, see
+     * {@link NumbersOfPodsAndNodesCalculator#calculateLargestPod(int, int, int, _NodeDefinition)}.
+     *
+     * @param totalNumberOfPods              number of pods to run on the cluster (at least 1).
+     * @param numberOfNodes                  number of nodes of the cluster (at least 1).
+     * @param numberOfLoggingEventsPerSecond logging events per second of the pod.
+     * @param nodeDefintions                 the node types.
+     * @param limit                          the number of results to return. A limit of 0 or less returns all results.
+     * @param order                          the order of the results.
+     * @return the sizings with the largest pods (the best one first) and the rejected node types.
+     */
+    public ClusterSizingReport reportLargestPods(
+            final int totalNumberOfPods,
+            final int numberOfNodes,
+            final int numberOfLoggingEventsPerSecond,
+            final Collection<_NodeDefinition> nodeDefintions,
+            final int limit,
+            final ClusterSizingOrder order
+    ) {
+        if (nodeDefintions.size() < parallelThreshold) {
+            ReportingListener result = new ReportingListener(limit, order);
+
+            for (_NodeDefinition d : nodeDefintions) {
+                calculator.largestPod(totalNumberOfPods, numberOfNodes, numberOfLoggingEventsPerSecond, d, result);
+            }
+
+            return result.toReport();
+        }
+
+        return ForkJoinScoring.score(
+                pool,
+                new ArrayList<>(nodeDefintions),
+                MIN_CHUNK_SIZE,
+                () -> new ReportingListener(limit, order),
+                (scored, d) -> calculator.largestPod(totalNumberOfPods, numberOfNodes, numberOfLoggingEventsPerSecond, d, scored),
+                ReportingListener::merge
+        ).toReport();
+    }
+
+    /**
+     * Packs a workload of different pods onto every node type, see
+     * {@link WorkloadPacker}. The time needed depends on the number of pod
+     * profiles and node types, not on the number of pods.
+     *
+     * @param workload       the pods to run on the cluster.
+     * @param nodeDefintions the node types.
+     * @param limit          the number of results to return. A limit of 0 or less returns all results.
+     * @return the best results (the best one first) and the rejected node types.
+     */
+    public WorkloadSizingReport reportWorkload(
+            final List<? extends _PodProfile> workload,
+            final Collection<_NodeDefinition> nodeDefintions,
+            final int limit
+    ) {
+        WorkloadPacker packer = new WorkloadPacker(workload);
+
+        if (nodeDefintions.size() < parallelThreshold) {
+            WorkloadPacker.Report result = new WorkloadPacker.Report(limit);
+
+            for (_NodeDefinition d : nodeDefintions) {
+                result.pack(packer, d);
             }
+
+            return result.toReport();
         }
 
+        return ForkJoinScoring.score(
+                pool,
+                new ArrayList<>(nodeDefintions),
+                MIN_CHUNK_SIZE,
+                () -> new WorkloadPacker.Report(limit),
+                (packed, d) -> packed.pack(packer, d),
+                WorkloadPacker.Report::merge
+        ).toReport();
+    }
+
+    /**
+     * Calculates the number of nodes of every node type of the catalog for
+     * every total number of pods of a range. The pods per node do not depend
+     * on the total number of pods, so the catalog is swept once and the
+     * curves follow from the pods per node. Node types without a solution
+     * for the smallest number of pods are left out.
+     *
+     * @param minNumberOfPods smallest total number of pods (at least 1).
+     * @param maxNumberOfPods largest total number of pods.
+     * @param defaultPod      the pod to run on the cluster.
+     * @param catalog         the node types to sweep.
+     * @return the curves of the node types in catalog order.
+     * @throws IllegalArgumentException if the range is empty or starts below 1.
+     */
+    public List<NodeCountCurve> sweepNodetypes(
+            final int minNumberOfPods,
+            final int maxNumberOfPods,
+            final _Pod defaultPod,
+            final NodeCatalog catalog
+    ) {
+        ArrayList<NodeCountCurve> result = new ArrayList<>(catalog.size());
+
+        sweepNodetypes(minNumberOfPods, maxNumberOfPods, defaultPod, catalog, result::add);
+
         return result;
     }
+
+    /**
+     * Hands the curve of every node type to the listener as soon as it is
+     * calculated, see {@link #sweepNodetypes(int, int, _Pod, NodeCatalog)}.
+     *
+     * @param minNumberOfPods smallest total number of pods (at least 1).
+     * @param maxNumberOfPods largest total number of pods.
+     * @param defaultPod      the pod to run on the cluster.
+     * @param catalog         the node types to sweep.
+     * @param listener        receives the curves of the node types in catalog order.
+     * @throws IllegalArgumentException if the range is empty or starts below 1.
+     */
+    public void sweepNodetypes(
+            final int minNumberOfPods,
+            final int maxNumberOfPods,
+            final _Pod defaultPod,
+            final NodeCatalog catalog,
+            final Consumer<NodeCountCurve> listener
+    ) {
+        if (minNumberOfPods < 1 || maxNumberOfPods < minNumberOfPods) {
+            throw new IllegalArgumentException(
+                    "Invalid range of pods: min=" + minNumberOfPods + ", max=" + maxNumberOfPods
+            );
+        }
+
+        NodeCatalogSweep sweep = new NodeCatalogSweep(kernel, calculator.getCache(), catalog, minNumberOfPods, defaultPod);
+
+        for (int i = 0; i < catalog.size(); i++) {
+            if (!sweep.isRejected(i)) {
+                listener.accept(curve(catalog, i, sweep.podsPerNode[i], minNumberOfPods, maxNumberOfPods));
+            }
+        }
+    }
+
+    /**
+     * The number of nodes grows by one every {@code podsPerNode} pods, up to
+     * {@link NumbersOfPodsAndNodesCalculator#MAX_NODES_PER_CLUSTER} nodes.
+     */
+    private static NodeCountCurve curve(
+            final NodeCatalog catalog,
+            final int index,
+            final int podsPerNode,
+            final int minNumberOfPods,
+            final int maxNumberOfPods
+    ) {
+        int last = (int) Math.min(maxNumberOfPods, (long) podsPerNode * MAX_NODES_PER_CLUSTER);
+        int nodes = NumbersOfPodsAndNodesCalculator.numberOfNodes(podsPerNode, minNumberOfPods);
+
+        ArrayList<Integer> breakpoints = new ArrayList<>();
+        for (long pods = (long) nodes * podsPerNode + 1; pods <= last; pods += podsPerNode) {
+            breakpoints.add((int) pods);
+        }
+
+        return NodeCountCurve.builder()
+                .nodeSizing(catalog.get(index))
+                .podsPerNode(podsPerNode)
+                .nodes(nodes)
+                .maxNumberOfPods(last)
+                .breakpoints(breakpoints)
+                .build();
+    }
+
+    private List<ClusterSizingResult> results(
+            final NodeCatalogSweep sweep,
+            final _Pod defaultPod,
+            final int limit,
+            final ClusterSizingOrder order
+    ) {
+        int[] best = sweep.best(limit, order);
+
+        ArrayList<ClusterSizingResult> result = new ArrayList<>(best.length);
+        for (int i : best) {
+            result.add(calculator.createResult(defaultPod, sweep.catalog.get(i), sweep.podsPerNode[i], sweep.nodes[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Scores the node types sequentially in the order of the collection and
+     * hands every outcome to the listener.
+     *
+     * @param totalNumberOfPods number of pods to run on the cluster.
+     * @param defaultPod        the pod to run on the cluster.
+     * @param nodeDefintions    the node types to score.
+     * @param listener          receives the outcome of every node type.
+     */
+    public void scoreNodetypes(
+            final int totalNumberOfPods,
+            final _Pod defaultPod,
+            final Collection<_NodeDefinition> nodeDefintions,
+            final ClusterSizingListener listener
+    ) {
+        LOG.debug("Scoring node types: pods={}, nodeTypes={}", totalNumberOfPods, nodeDefintions.size());
+
+        for (_NodeDefinition d : nodeDefintions) {
+            score(totalNumberOfPods, defaultPod, d, listener);
+        }
+    }
+
+    private void score(
+            final int totalNumberOfPods,
+            final _Pod defaultPod,
+            final _NodeDefinition nodeDefinition,
+            final ClusterSizingListener listener
+    ) {
+        int podsPerNode = calculator.calcuatePodsPerNode(defaultPod, nodeDefinition);
+        int numberOfNodes = podsPerNode >= 0
+                ? calculator.calculateNumberOfNodes(podsPerNode, totalNumberOfPods)
+                : podsPerNode;
+
+        if (numberOfNodes < 0) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("No solution ({}) for: {}", numberOfNodes, nodeDefinition);
+            }
+
+            listener.rejected(nodeDefinition, rejectionReason(numberOfNodes));
+            return;
+        }
+
+        listener.scored(calculator.createResult(defaultPod, nodeDefinition, podsPerNode, numberOfNodes));
+    }
+
+    /**
+     * @return the minimum number of node types to score them in parallel.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * @param parallelThreshold the minimum number of node types to score them
+     *                          in parallel. {@link Integer#MAX_VALUE} disables
+     *                          the parallel scoring.
+     */
+    public void setParallelThreshold(final int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * @param pool the fork/join pool to score large catalogs on.
+     */
+    public void setPool(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @return the kernel to score {@link NodeCatalog}s with.
+     */
+    public ScoringKernel getKernel() {
+        return kernel;
+    }
+
+    /**
+     * @param kernel the kernel to score {@link NodeCatalog}s with.
+     */
+    public void setKernel(final ScoringKernel kernel) {
+        this.kernel = kernel;
+    }
 }
@@ -18,6 +18,8 @@
 package de.kaiserpfalzedv.okdcalc.calculator;
 
 import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import de.kaiserpfalzedv.okdcalc.facts.RejectionReason;
 import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
 import de.kaiserpfalzedv.okdcalc.facts._Pod;
 import org.slf4j.Logger;
@@ -32,6 +34,18 @@ import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.RESERVED_MILL
  * This calculator delivers the number of pods per nodes and number of nodes
  * based on a default pod and a node size.
  *
+ * Node types without a solution are rejected. The public API throws a
+ * {@link NoSolutionException} for them. Within this package the calculation
+ * returns negative rejection codes instead, since most node types of a
+ * catalog sweep are rejected and creating exceptions is expensive.
+ *
+ * The pods per node are looked up in a {@link PodsPerNodeCache}, the shared
+ * one unless another cache is given.
+ *
+ * The inverse questions (how many pods does a cluster of a given size or
+ * budget run, how large may the pods be to run a number of pods on a given
+ * number of nodes) are answered in closed form from the same limits.
+ *
  * @author rlichti
  * @version 1.0.0 2020-02-14
  * @since 1.0.0 2020-02-14
@@ -43,8 +57,47 @@ public class NumbersOfPodsAndNodesCalculator {
     /**
      * The maximum number of compute nodes of a cluster.
      */
-    private static final int MAX_NODES_PER_CLUSTER = 2000;
+    static final int MAX_NODES_PER_CLUSTER = 2000;
+
+    /**
+     * Rejection code: the node has not enough CPU for a single pod.
+     */
+    static final int REJECTED_CPU = -1;
 
+    /**
+     * Rejection code: the node has not enough memory for a single pod.
+     */
+    static final int REJECTED_MEMORY = -2;
+
+    /**
+     * Rejection code: the cluster would need more than {@link #MAX_NODES_PER_CLUSTER} nodes.
+     */
+    static final int REJECTED_CLUSTER_NODE_LIMIT = -3;
+
+    /**
+     * Rejection code: the budget does not pay a single node.
+     */
+    static final int REJECTED_BUDGET = -4;
+
+    /**
+     * Rejection code: the node may not run that many pods.
+     */
+    static final int REJECTED_POD_LIMIT = -5;
+
+    /**
+     * Rejection code: fluentd can not handle the logging events of that many pods on the node.
+     */
+    static final int REJECTED_LOGGING_EVENTS = -6;
+
+    private final PodsPerNodeCache cache;
+
+    public NumbersOfPodsAndNodesCalculator() {
+        this(PodsPerNodeCache.shared());
+    }
+
+    public NumbersOfPodsAndNodesCalculator(final PodsPerNodeCache cache) {
+        this.cache = cache;
+    }
 
     public ClusterSizingResult calculateNumberOfPodsPerNodeAndNumberOfNodes(
             final int totalNumberOfPods,
@@ -52,8 +105,229 @@ public class NumbersOfPodsAndNodesCalculator {
             final _NodeDefinition nodeDefintion
     ) throws NoSolutionException {
         int podsPerNode = calcuatePodsPerNode(defaultPod, nodeDefintion);
+        if (podsPerNode < 0) {
+            throw createNoSolutionException(podsPerNode);
+        }
+
         int numberOfNodes = calculateNumberOfNodes(podsPerNode, totalNumberOfPods);
+        if (numberOfNodes < 0) {
+            throw createNoSolutionException(numberOfNodes);
+        }
+
+        return createResult(defaultPod, nodeDefintion, podsPerNode, numberOfNodes);
+    }
+
+    /**
+     * The most pods a cluster of the given number of nodes runs. The result
+     * is the fully packed cluster: {@code nodes * podsPerNode} pods.
+     *
+     * @param numberOfNodes  number of nodes of the cluster.
+     * @param defaultPod     the pod to run on the cluster.
+     * @param nodeDefinition the node type of the cluster.
+     * @return the sizing of the fully packed cluster.
+     * @throws NoSolutionException if not a single pod fits on the node or there are too many nodes.
+     * @throws IllegalArgumentException if the cluster has no node.
+     */
+    public ClusterSizingResult calculateMaxNumberOfPods(
+            final int numberOfNodes,
+            final _Pod defaultPod,
+            final _NodeDefinition nodeDefinition
+    ) throws NoSolutionException {
+        return calculateMaxNumberOfPods(numberOfNodes, Long.MAX_VALUE, defaultPod, nodeDefinition);
+    }
+
+    /**
+     * The most pods a cluster within the budget runs. The score of a cluster
+     * is {@code nodes * score} of the node type, so the budget pays for
+     * {@code budget / score} nodes.
+     *
+     * @param budget         the highest score of the cluster.
+     * @param defaultPod     the pod to run on the cluster.
+     * @param nodeDefinition the node type of the cluster.
+     * @return the sizing of the fully packed cluster.
+     * @throws NoSolutionException if not a single pod fits on the node or the budget does not pay a node.
+     */
+    public ClusterSizingResult calculateMaxNumberOfPodsForBudget(
+            final long budget,
+            final _Pod defaultPod,
+            final _NodeDefinition nodeDefinition
+    ) throws NoSolutionException {
+        return calculateMaxNumberOfPods(MAX_NODES_PER_CLUSTER, budget, defaultPod, nodeDefinition);
+    }
+
+    /**
+     * The most pods a cluster of at most the given number of nodes within the
+     * budget runs.
+     *
+     * @param numberOfNodes  the most nodes of the cluster.
+     * @param budget         the highest score of the cluster.
+     * @param defaultPod     the pod to run on the cluster.
+     * @param nodeDefinition the node type of the cluster.
+     * @return the sizing of the fully packed cluster.
+     * @throws NoSolutionException if there is no cluster within the limits.
+     * @throws IllegalArgumentException if the cluster has no node.
+     */
+    public ClusterSizingResult calculateMaxNumberOfPods(
+            final int numberOfNodes,
+            final long budget,
+            final _Pod defaultPod,
+            final _NodeDefinition nodeDefinition
+    ) throws NoSolutionException {
+        if (numberOfNodes < 1) {
+            throw new IllegalArgumentException("The cluster needs at least one node: numberOfNodes=" + numberOfNodes);
+        }
+
+        Solution result = new Solution();
+        maxNumberOfPods(numberOfNodes, budget, defaultPod, nodeDefinition, result);
+        return result.get();
+    }
+
+    /**
+     * The largest pod of which the given number of pods runs on the given
+     * number of nodes. Every node has to run {@code k = ceil(pods / nodes)}
+     * pods, so a pod may have {@code floor(capacity / k) - reserved} of the
+     * memory and CPU of the node. The result is the sizing of the given
+     * number of nodes running {@code k} pods of that size each.
+     *
+     * @param totalNumberOfPods              number of pods to run on the cluster.
+     * @param numberOfNodes                  number of nodes of the cluster.
+     * @param numberOfLoggingEventsPerSecond logging events per second of the pod.
+     * @param nodeDefinition                 the node type of the cluster.
+     * @return the sizing with the largest pod.
+     * @throws NoSolutionException if the node can not run that many pods at all.
+     * @throws IllegalArgumentException if there are no pods or nodes.
+     */
+    public ClusterSizingResult calculateLargestPod(
+            final int totalNumberOfPods,
+            final int numberOfNodes,
+            final int numberOfLoggingEventsPerSecond,
+            final _NodeDefinition nodeDefinition
+    ) throws NoSolutionException {
+        if (totalNumberOfPods < 1 || numberOfNodes < 1) {
+            throw new IllegalArgumentException("The cluster needs pods and nodes: totalNumberOfPods="
+                                                       + totalNumberOfPods + ", numberOfNodes=" + numberOfNodes);
+        }
+
+        Solution result = new Solution();
+        largestPod(totalNumberOfPods, numberOfNodes, numberOfLoggingEventsPerSecond, nodeDefinition, result);
+        return result.get();
+    }
+
+    /**
+     * @param numberOfNodes  the most nodes of the cluster (at least 1).
+     * @param budget         the highest score of the cluster.
+     * @param defaultPod     the pod to run on the cluster.
+     * @param nodeDefinition the node type of the cluster.
+     * @param listener       receives the fully packed cluster or the rejection.
+     */
+    void maxNumberOfPods(
+            final int numberOfNodes,
+            final long budget,
+            final _Pod defaultPod,
+            final _NodeDefinition nodeDefinition,
+            final ClusterSizingListener listener
+    ) {
+        int podsPerNode = calcuatePodsPerNode(defaultPod, nodeDefinition);
+        if (podsPerNode == 0) {
+            podsPerNode = nodeDefinition.getMaxPods() < 1 ? REJECTED_POD_LIMIT : REJECTED_LOGGING_EVENTS;
+        }
+
+        int nodes = podsPerNode > 0
+                ? numberOfNodesWithin(numberOfNodes, budget, nodeDefinition.getScore())
+                : podsPerNode;
+
+        if (nodes < 0) {
+            listener.rejected(nodeDefinition, rejectionReason(nodes));
+            return;
+        }
+
+        listener.scored(createResult(defaultPod, nodeDefinition, podsPerNode, nodes));
+    }
+
+    /**
+     * @param numberOfNodes the most nodes of the cluster.
+     * @param budget        the highest score of the cluster.
+     * @param nodeScore     the score of a single node.
+     * @return the most nodes within both limits or {@link #REJECTED_CLUSTER_NODE_LIMIT} or {@link #REJECTED_BUDGET}.
+     */
+    static int numberOfNodesWithin(final int numberOfNodes, final long budget, final long nodeScore) {
+        if (numberOfNodes > MAX_NODES_PER_CLUSTER) {
+            return REJECTED_CLUSTER_NODE_LIMIT;
+        }
+
+        long nodesForBudget = nodeScore > 0 ? budget / nodeScore : MAX_NODES_PER_CLUSTER;
+        if (nodesForBudget < 1) {
+            return REJECTED_BUDGET;
+        }
 
+        return (int) Math.min(numberOfNodes, nodesForBudget);
+    }
+
+    /**
+     * @param totalNumberOfPods              number of pods to run on the cluster (at least 1).
+     * @param numberOfNodes                  number of nodes of the cluster (at least 1).
+     * @param numberOfLoggingEventsPerSecond logging events per second of the pod.
+     * @param nodeDefinition                 the node type of the cluster.
+     * @param listener                       receives the sizing with the largest pod or the rejection.
+     */
+    void largestPod(
+            final int totalNumberOfPods,
+            final int numberOfNodes,
+            final int numberOfLoggingEventsPerSecond,
+            final _NodeDefinition nodeDefinition,
+            final ClusterSizingListener listener
+    ) {
+        int podsPerNode = (int) ((totalNumberOfPods + (long) numberOfNodes - 1) / numberOfNodes);
+        long memory = largestPodSize(nodeDefinition.getMemory(), RESERVED_BYTES_PER_POD, podsPerNode);
+        long milliCores = largestPodSize(nodeDefinition.getMillicores(), RESERVED_MILLICORE_PER_POD, podsPerNode);
+
+        int rejection = 0;
+        if (numberOfNodes > MAX_NODES_PER_CLUSTER) {
+            rejection = REJECTED_CLUSTER_NODE_LIMIT;
+        } else if (podsPerNode > nodeDefinition.getMaxPods()) {
+            rejection = REJECTED_POD_LIMIT;
+        } else if (podsLimitedByLogEvents(nodeDefinition.getLoggingEventsPerSecondLimit(), numberOfLoggingEventsPerSecond) < podsPerNode) {
+            rejection = REJECTED_LOGGING_EVENTS;
+        } else if (milliCores < 1) {
+            rejection = REJECTED_CPU;
+        } else if (memory < 1) {
+            rejection = REJECTED_MEMORY;
+        }
+
+        if (rejection < 0) {
+            listener.rejected(nodeDefinition, rejectionReason(rejection));
+            return;
+        }
+
+        Pod pod = Pod.builder()
+                .memory(memory)
+                .milliCores(milliCores)
+                .numberOfLoggingEventsPerSecond(numberOfLoggingEventsPerSecond)
+                .build();
+
+        listener.scored(createResult(pod, nodeDefinition, podsPerNode, numberOfNodes));
+    }
+
+    /**
+     * The inverse of {@link #podsFittingIntoCapacity(long, long, long, int)}:
+     * {@code floor(capacity / (size + reserved)) >= pods} holds exactly for
+     * {@code size <= floor(capacity / pods) - reserved}.
+     *
+     * @param capacity       memory or millicores of the node.
+     * @param reservedPerPod memory or millicores reserved per pod.
+     * @param podsPerNode    the pods to run on the node.
+     * @return the largest memory or millicores of a pod.
+     */
+    static long largestPodSize(final long capacity, final long reservedPerPod, final int podsPerNode) {
+        return capacity / podsPerNode - reservedPerPod;
+    }
+
+    ClusterSizingResult createResult(
+            final _Pod defaultPod,
+            final _NodeDefinition nodeDefintion,
+            final int podsPerNode,
+            final int numberOfNodes
+    ) {
         return ClusterSizingResult.builder()
                 .podsPerNode(podsPerNode)
                 .nodes(numberOfNodes)
@@ -62,82 +336,184 @@ public class NumbersOfPodsAndNodesCalculator {
                 .build();
     }
 
-    private int calcuatePodsPerNode(final _Pod defaultPod,
-                                    final _NodeDefinition nodeDefinition)
-            throws NoSolutionException {
-        if (defaultPod.getMilliCores() + RESERVED_MILLICORE_PER_POD > nodeDefinition.getMillicores()) {
-            LOG.warn("Too small nodes for CPU usage of work load.");
-            throw new NoSolutionException("Not enough CPU per node for this work load.");
+    /**
+     * @param defaultPod     the pod to place.
+     * @param nodeDefinition the node type to place the pods on.
+     * @return the number of pods per node or {@link #REJECTED_CPU} or {@link #REJECTED_MEMORY}.
+     */
+    int calcuatePodsPerNode(final _Pod defaultPod,
+                            final _NodeDefinition nodeDefinition) {
+        return cache.podsPerNode(defaultPod, nodeDefinition);
+    }
+
+    /**
+     * @param defaultPod     the pod to place.
+     * @param nodeDefinition the node type to place the pods on.
+     * @return the number of pods per node or {@link #REJECTED_CPU} or {@link #REJECTED_MEMORY}.
+     */
+    static int podsPerNode(final _Pod defaultPod, final _NodeDefinition nodeDefinition) {
+        return podsPerNode(
+                defaultPod.getMemory(), defaultPod.getMilliCores(), defaultPod.getNumberOfLoggingEventsPerSecond(),
+                nodeDefinition.getMemory(), nodeDefinition.getMillicores(), nodeDefinition.getMaxPods(),
+                nodeDefinition.getLoggingEventsPerSecondLimit()
+        );
+    }
+
+    /**
+     * The pods per node are limited by memory, CPU, the log events fluentd
+     * can handle and the maximum pods of the node. This is the primitive core
+     * of the calculation, shared with the {@link NodeCatalog} sweeps.
+     *
+     * @param podMemory              memory of the pod.
+     * @param podMilliCores          millicores of the pod.
+     * @param podLoggingEvents       logging events per second of the pod.
+     * @param nodeMemory             memory of the node.
+     * @param nodeMillicores         millicores of the node.
+     * @param nodeMaxPods            the maximum number of pods of the node.
+     * @param nodeLoggingEventsLimit logging events per second fluentd can handle on the node.
+     * @return the number of pods per node or {@link #REJECTED_CPU} or {@link #REJECTED_MEMORY}.
+     */
+    static int podsPerNode(
+            final long podMemory,
+            final long podMilliCores,
+            final int podLoggingEvents,
+            final long nodeMemory,
+            final long nodeMillicores,
+            final int nodeMaxPods,
+            final int nodeLoggingEventsLimit
+    ) {
+        if (podMilliCores + RESERVED_MILLICORE_PER_POD > nodeMillicores) {
+            return REJECTED_CPU;
         }
 
-        if (defaultPod.getMemory() + RESERVED_BYTES_PER_POD > nodeDefinition.getMemory()) {
-            LOG.warn("Too small nodes for memory usage of work load.");
-            throw new NoSolutionException("Not enough memory per node for this work load.");
+        if (podMemory + RESERVED_BYTES_PER_POD > nodeMemory) {
+            return REJECTED_MEMORY;
         }
 
-        long podsForMemory = getPodsForMemory(defaultPod, nodeDefinition);
-        long podsForCpu = calculatePodsLimitedByCpu(defaultPod, nodeDefinition);
-        long podsForLoggingEvents = calculatePodsLimitedByLogEvents(defaultPod, nodeDefinition);
-        int result = (int) Math.min(Math.min(Math.min(podsForCpu, podsForMemory), podsForLoggingEvents), nodeDefinition.getMaxPods());
+        long podsForMemory = podsFittingIntoCapacity(nodeMemory, podMemory, RESERVED_BYTES_PER_POD, nodeMaxPods);
+        long podsForCpu = podsFittingIntoCapacity(nodeMillicores, podMilliCores, RESERVED_MILLICORE_PER_POD, nodeMaxPods);
+        long podsForLoggingEvents = podsLimitedByLogEvents(nodeLoggingEventsLimit, podLoggingEvents);
 
-        LOG.debug(
-                "Max pods per node: result={}, memory={}, cpu={}, logging={}, node={}",
-                result, podsForMemory, podsForCpu, podsForLoggingEvents, nodeDefinition.getMaxPods()
-        );
-        return result;
+        return (int) Math.min(Math.min(Math.min(podsForCpu, podsForMemory), podsForLoggingEvents), nodeMaxPods);
     }
 
-    private long getPodsForMemory(
-            final _Pod defaultPod,
-            final _NodeDefinition nodeDefinition
+    /**
+     * Every pod needs its own size plus the reservation of kubelet and
+     * operating system. So the largest number of pods fitting into the
+     * capacity is {@code floor(capacity / (podSize + reservedPerPod))}, but
+     * never more than the node may run.
+     *
+     * @param capacity       memory or millicores of the node.
+     * @param podSize        memory or millicores of the pod.
+     * @param reservedPerPod memory or millicores reserved per pod.
+     * @param maxPods        the maximum number of pods of the node.
+     * @return the number of pods fitting into the capacity.
+     */
+    static long podsFittingIntoCapacity(
+            final long capacity,
+            final long podSize,
+            final long reservedPerPod,
+            final int maxPods
     ) {
-        long usedMemory;
-        long podsForMemory;
-        int subtractPod = 0;
-        do {
-            podsForMemory = nodeDefinition.getMemory() / defaultPod.getMemory() - subtractPod;
-            podsForMemory = Math.min(nodeDefinition.getMaxPods(), podsForMemory);
-            usedMemory = podsForMemory * (defaultPod.getMemory() + RESERVED_BYTES_PER_POD);
-            subtractPod++;
-        } while (usedMemory > nodeDefinition.getMemory());
+        return Math.min(maxPods, capacity / (podSize + reservedPerPod));
+    }
 
-        LOG.debug("Needed {} iteration(s) for memory usage calculation: pods={}", subtractPod, podsForMemory);
-        return podsForMemory;
+    /**
+     * @param loggingEventsLimit logging events per second fluentd can handle on the node.
+     * @param podLoggingEvents   logging events per second of the pod.
+     * @return the number of pods fluentd can handle on the node.
+     */
+    static int podsLimitedByLogEvents(final int loggingEventsLimit, final int podLoggingEvents) {
+        return (int) Math.ceil((double) loggingEventsLimit / podLoggingEvents);
     }
 
-    private long calculatePodsLimitedByCpu(
-            final _Pod defaultPod,
-            final _NodeDefinition nodeDefinition
-    ) {
-        long usedCpu;
-        long podsForCpu;
-        long subtractPod = 0;
-        do {
-            podsForCpu = nodeDefinition.getMillicores() / defaultPod.getMilliCores() - subtractPod;
-            podsForCpu = Math.min(nodeDefinition.getMaxPods(), podsForCpu);
-            usedCpu = podsForCpu * (defaultPod.getMilliCores() + RESERVED_MILLICORE_PER_POD);
-            subtractPod++;
-        } while (usedCpu > nodeDefinition.getMillicores());
+    /**
+     * @return the cache of the pods per node.
+     */
+    public PodsPerNodeCache getCache() {
+        return cache;
+    }
 
-        LOG.debug("Needed {} iteration(s) for cpu usage calculation: pods={}", subtractPod, podsForCpu);
-        return podsForCpu;
+    /**
+     * @param podsPerNode       number of pods per node.
+     * @param totalNumberOfPods number of pods in the cluster.
+     * @return the number of nodes or {@link #REJECTED_CLUSTER_NODE_LIMIT}.
+     */
+    int calculateNumberOfNodes(final int podsPerNode, final int totalNumberOfPods) {
+        return numberOfNodes(podsPerNode, totalNumberOfPods);
     }
 
-    private int calculatePodsLimitedByLogEvents(final _Pod defaultPod, final _NodeDefinition nodeDefinition) {
-        int result = (int) Math.ceil((double) nodeDefinition.getLoggingEventsPerSecondLimit()
-                                             / defaultPod.getNumberOfLoggingEventsPerSecond());
+    /**
+     * @param podsPerNode       number of pods per node.
+     * @param totalNumberOfPods number of pods in the cluster.
+     * @return the number of nodes or {@link #REJECTED_CLUSTER_NODE_LIMIT}.
+     */
+    static int numberOfNodes(final int podsPerNode, final int totalNumberOfPods) {
+        double numberOfNodes = Math.ceil((double) totalNumberOfPods / podsPerNode);
 
-        LOG.debug("Logging (fluentd) limit: pod={}, logevents={}", result, result * defaultPod.getNumberOfLoggingEventsPerSecond());
-        return result;
+        if (numberOfNodes > MAX_NODES_PER_CLUSTER) {
+            return REJECTED_CLUSTER_NODE_LIMIT;
+        }
+
+        return (int) numberOfNodes;
+    }
+
+    /**
+     * @param rejectionCode one of the (negative) rejection codes.
+     * @return the reason for the rejection.
+     */
+    static RejectionReason rejectionReason(final int rejectionCode) {
+        switch (rejectionCode) {
+            case REJECTED_CPU:
+                return RejectionReason.CPU;
+            case REJECTED_MEMORY:
+                return RejectionReason.MEMORY;
+            case REJECTED_CLUSTER_NODE_LIMIT:
+                return RejectionReason.CLUSTER_NODE_LIMIT;
+            case REJECTED_BUDGET:
+                return RejectionReason.BUDGET;
+            case REJECTED_POD_LIMIT:
+                return RejectionReason.POD_LIMIT;
+            case REJECTED_LOGGING_EVENTS:
+                return RejectionReason.LOGGING_EVENTS_LIMIT;
+            default:
+                throw new IllegalArgumentException("Not a rejection code: " + rejectionCode);
+        }
+    }
+
+    private NoSolutionException createNoSolutionException(final int rejectionCode) {
+        return createNoSolutionException(rejectionReason(rejectionCode));
     }
 
-    private int calculateNumberOfNodes(final int podsPerNode, final int totalNumberOfPods) throws NoSolutionException {
-        if (Math.ceil((double) totalNumberOfPods / podsPerNode) > MAX_NODES_PER_CLUSTER) {
-            LOG.warn("Too many nodes in cluster: {}", Math.ceil((double) totalNumberOfPods / podsPerNode));
+    private static NoSolutionException createNoSolutionException(final RejectionReason reason) {
+        LOG.warn("No solution: {}", reason.getDescription());
 
-            throw new NoSolutionException("Too many nodes in cluster.");
+        return new NoSolutionException(reason);
+    }
+
+    /**
+     * Keeps the outcome of a single node type for the public API.
+     */
+    private static final class Solution implements ClusterSizingListener {
+        private ClusterSizingResult result;
+        private RejectionReason reason;
+
+        @Override
+        public void scored(final ClusterSizingResult result) {
+            this.result = result;
         }
 
-        return (int) Math.min(Math.ceil((double) totalNumberOfPods / podsPerNode), MAX_NODES_PER_CLUSTER);
+        @Override
+        public void rejected(final _NodeDefinition nodeDefinition, final RejectionReason reason) {
+            this.reason = reason;
+        }
+
+        ClusterSizingResult get() throws NoSolutionException {
+            if (reason != null) {
+                throw createNoSolutionException(reason);
+            }
+
+            return result;
+        }
     }
 }
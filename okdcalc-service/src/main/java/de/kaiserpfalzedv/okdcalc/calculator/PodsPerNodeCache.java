@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts._Pod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the pods per node (or the rejection code) of pod and node type
+ * combinations. Planners score the same pods and node types with changing
+ * numbers of pods again and again; only the number of nodes depends on them.
+ *
+ * The entries are keyed on the values the calculation depends on, so equal
+ * pods and node types share an entry regardless of the other attributes of
+ * the facts. The least recently used entry is evicted when the capacity is
+ * reached. Caches of at least {@value #MIN_STRIPE_CAPACITY} entries per
+ * stripe are split into up to {@value #MAX_STRIPES} stripes, every one an LRU
+ * map with a lock of its own, so the fork/join workers scoring a catalog do
+ * not wait for each other.
+ *
+ * The sweeps of a {@link NodeCatalog} compute the pods per node of all node
+ * types at once. Their columns are kept per pod and catalog, for the
+ * {@value #COLUMNS} most recently swept combinations.
+ *
+ * A capacity of 0 disables the cache, the pods per node are calculated
+ * without building a key. The cache is shared by all calculators. The system
+ * property {@value #CAPACITY_PROPERTY} sets its initial capacity.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class PodsPerNodeCache {
+    private static final Logger LOG = LoggerFactory.getLogger(PodsPerNodeCache.class);
+
+    /**
+     * System property with the capacity of the shared cache.
+     */
+    public static final String CAPACITY_PROPERTY = "okdcalc.cache.pods-per-node.capacity";
+
+    /**
+     * The capacity of the shared cache if no other one is configured.
+     */
+    public static final int DEFAULT_CAPACITY = 100000;
+
+    /**
+     * The smallest capacity of a stripe. Smaller caches are a single LRU map.
+     */
+    static final int MIN_STRIPE_CAPACITY = 1024;
+
+    /**
+     * The most stripes of a cache.
+     */
+    static final int MAX_STRIPES = 16;
+
+    /**
+     * The number of catalog columns kept.
+     */
+    static final int COLUMNS = 8;
+
+    private static final PodsPerNodeCache SHARED = new PodsPerNodeCache(
+            Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY)
+    );
+
+    private volatile Stripe<Key, Integer>[] stripes;
+    private volatile int capacity;
+
+    private final Stripe<CatalogKey, int[]> columns = new Stripe<>(COLUMNS);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param capacity the maximum number of entries. 0 disables the cache.
+     */
+    public PodsPerNodeCache(final int capacity) {
+        this.capacity = checkCapacity(capacity);
+        this.stripes = createStripes(capacity);
+    }
+
+    /**
+     * @return the cache shared by all calculators.
+     */
+    public static PodsPerNodeCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param defaultPod     the pod to place.
+     * @param nodeDefinition the node type to place the pods on.
+     * @return the number of pods per node or the rejection code of {@link NumbersOfPodsAndNodesCalculator}.
+     */
+    public int podsPerNode(final _Pod defaultPod, final _NodeDefinition nodeDefinition) {
+        if (capacity == 0) {
+            return NumbersOfPodsAndNodesCalculator.podsPerNode(defaultPod, nodeDefinition);
+        }
+
+        Key key = new Key(defaultPod, nodeDefinition);
+        Stripe<Key, Integer> stripe = stripe(key);
+
+        Integer cached;
+        synchronized (stripe) {
+            cached = stripe.get(key);
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        int result = key.podsPerNode();
+
+        synchronized (stripe) {
+            stripe.put(key, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * @param defaultPod the pod to place.
+     * @param catalog    the node types to place the pods on.
+     * @return the kept pods per node of all node types or null. The column is shared and must not be modified.
+     */
+    int[] getPodsPerNode(final _Pod defaultPod, final NodeCatalog catalog) {
+        if (capacity == 0) {
+            return null;
+        }
+
+        int[] result;
+        synchronized (columns) {
+            result = columns.get(new CatalogKey(defaultPod, catalog));
+        }
+
+        (result != null ? hits : misses).incrementAndGet();
+        return result;
+    }
+
+    /**
+     * @param defaultPod  the pod to place.
+     * @param catalog     the node types to place the pods on.
+     * @param podsPerNode the pods per node of all node types. The column must not be modified any more.
+     */
+    void putPodsPerNode(final _Pod defaultPod, final NodeCatalog catalog, final int[] podsPerNode) {
+        if (capacity == 0) {
+            return;
+        }
+
+        synchronized (columns) {
+            columns.put(new CatalogKey(defaultPod, catalog), podsPerNode);
+        }
+    }
+
+    private Stripe<Key, Integer> stripe(final Key key) {
+        return stripe(stripes, key);
+    }
+
+    private static Stripe<Key, Integer> stripe(final Stripe<Key, Integer>[] stripes, final Key key) {
+        int hash = key.hashCode();
+
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * @param capacity the new maximum number of entries. The least recently
+     *                 used entries are evicted if the cache is too big now.
+     */
+    public void setCapacity(final int capacity) {
+        checkCapacity(capacity);
+
+        Stripe<Key, Integer>[] resized = createStripes(capacity);
+        synchronized (this) {
+            for (Stripe<Key, Integer> stripe : stripes) {
+                ArrayList<Map.Entry<Key, Integer>> entries;
+                synchronized (stripe) {
+                    entries = new ArrayList<>(stripe.entrySet());
+                }
+
+                // oldest first, so the most recently used entries are kept.
+                for (Map.Entry<Key, Integer> e : entries) {
+                    stripe(resized, e.getKey()).put(e.getKey(), e.getValue());
+                }
+            }
+
+            this.stripes = resized;
+            this.capacity = capacity;
+        }
+
+        if (capacity == 0) {
+            synchronized (columns) {
+                evictions.addAndGet(columns.size());
+                columns.clear();
+            }
+        }
+
+        LOG.info("Pods per node cache capacity: {}", capacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Stripe<Key, Integer>[] createStripes(final int capacity) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, capacity / MIN_STRIPE_CAPACITY)));
+
+        Stripe<Key, Integer>[] result = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            // the remainder goes to the first stripes, so all stripes hold capacity entries at most.
+            result[i] = new Stripe<>(capacity / count + (i < capacity % count ? 1 : 0));
+        }
+        return result;
+    }
+
+    private static int checkCapacity(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity of the cache must not be negative: " + capacity);
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Removes all entries. The statistics are kept.
+     */
+    public void clear() {
+        for (Stripe<Key, Integer> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+
+        synchronized (columns) {
+            columns.clear();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of pod and node type entries.
+     */
+    public int getSize() {
+        int result = 0;
+        for (Stripe<Key, Integer> stripe : stripes) {
+            synchronized (stripe) {
+                result += stripe.size();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of kept catalog columns.
+     */
+    public int getColumns() {
+        synchronized (columns) {
+            return columns.size();
+        }
+    }
+
+    /**
+     * @return the number of stripes of the pod and node type entries.
+     */
+    int getStripes() {
+        return stripes.length;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return the share of the lookups answered by the cache, 0 without lookups.
+     */
+    public double getHitRate() {
+        long found = hits.get();
+        long lookups = found + misses.get();
+
+        return lookups > 0 ? (double) found / lookups : 0d;
+    }
+
+
+    /**
+     * An access ordered map evicting its least recently used entry when it
+     * holds more than its capacity. The caller synchronizes on the stripe.
+     */
+    private final class Stripe<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Stripe(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+            if (size() > capacity) {
+                evictions.incrementAndGet();
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * The canonical values of a pod and a node type the pods per node depend on.
+     */
+    private static final class Key {
+        private final long podMemory;
+        private final long podMilliCores;
+        private final int podLoggingEvents;
+        private final long nodeMemory;
+        private final long nodeMillicores;
+        private final int nodeMaxPods;
+        private final int nodeLoggingEventsLimit;
+
+        Key(final _Pod pod, final _NodeDefinition node) {
+            podMemory = pod.getMemory();
+            podMilliCores = pod.getMilliCores();
+            podLoggingEvents = pod.getNumberOfLoggingEventsPerSecond();
+            nodeMemory = node.getMemory();
+            nodeMillicores = node.getMillicores();
+            nodeMaxPods = node.getMaxPods();
+            nodeLoggingEventsLimit = node.getLoggingEventsPerSecondLimit();
+        }
+
+        int podsPerNode() {
+            return NumbersOfPodsAndNodesCalculator.podsPerNode(
+                    podMemory, podMilliCores, podLoggingEvents,
+                    nodeMemory, nodeMillicores, nodeMaxPods, nodeLoggingEventsLimit
+            );
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Key && hasSameValues((Key) o);
+        }
+
+        private boolean hasSameValues(final Key other) {
+            return podMemory == other.podMemory
+                    && podMilliCores == other.podMilliCores
+                    && podLoggingEvents == other.podLoggingEvents
+                    && nodeMemory == other.nodeMemory
+                    && nodeMillicores == other.nodeMillicores
+                    && nodeMaxPods == other.nodeMaxPods
+                    && nodeLoggingEventsLimit == other.nodeLoggingEventsLimit;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(podMemory);
+            result = 31 * result + Long.hashCode(podMilliCores);
+            result = 31 * result + podLoggingEvents;
+            result = 31 * result + Long.hashCode(nodeMemory);
+            result = 31 * result + Long.hashCode(nodeMillicores);
+            result = 31 * result + nodeMaxPods;
+            return 31 * result + nodeLoggingEventsLimit;
+        }
+    }
+
+    /**
+     * The canonical values of a pod and the identity of a catalog.
+     */
+    private static final class CatalogKey {
+        private final long podMemory;
+        private final long podMilliCores;
+        private final int podLoggingEvents;
+        private final NodeCatalog catalog;
+
+        CatalogKey(final _Pod pod, final NodeCatalog catalog) {
+            podMemory = pod.getMemory();
+            podMilliCores = pod.getMilliCores();
+            podLoggingEvents = pod.getNumberOfLoggingEventsPerSecond();
+            this.catalog = catalog;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof CatalogKey && hasSameValues((CatalogKey) o);
+        }
+
+        private boolean hasSameValues(final CatalogKey other) {
+            return podMemory == other.podMemory
+                    && podMilliCores == other.podMilliCores
+                    && podLoggingEvents == other.podLoggingEvents
+                    && catalog == other.catalog;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(podMemory);
+            result = 31 * result + Long.hashCode(podMilliCores);
+            result = 31 * result + podLoggingEvents;
+            return 31 * result + System.identityHashCode(catalog);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best results of a scoring. With a limit only that many results
+ * are kept in a bounded heap (the worst kept result on top), so losing
+ * candidates are dropped as soon as they are scored.
+ *
+ * @param <T> type of the results.
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+final class RankedResults<T> {
+    private final int limit;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param limit the number of results to keep. A limit of 0 or less keeps all results.
+     * @param order the order of the results, the best result first.
+     */
+    RankedResults(final int limit, final Comparator<? super T> order) {
+        this.limit = limit;
+        this.order = order;
+        this.heap = new PriorityQueue<>(limit > 0 ? limit + 1 : 16, order.reversed());
+    }
+
+    void add(final T result) {
+        if (limit <= 0 || heap.size() < limit) {
+            heap.add(result);
+        } else if (order.compare(result, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(result);
+        }
+    }
+
+    RankedResults<T> merge(final RankedResults<T> other) {
+        for (T result : other.heap) {
+            add(result);
+        }
+
+        return this;
+    }
+
+    /**
+     * @return the kept results, the best result first.
+     */
+    List<T> toList() {
+        ArrayList<T> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+}
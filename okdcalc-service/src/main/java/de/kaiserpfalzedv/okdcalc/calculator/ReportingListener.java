@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingReport;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.RejectedNodeType;
+import de.kaiserpfalzedv.okdcalc.facts.RejectionReason;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+
+import java.util.ArrayList;
+
+/**
+ * Collects the best results and all rejected node types for a
+ * {@link ClusterSizingReport}.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+final class ReportingListener implements ClusterSizingListener {
+    private final RankedResults<ClusterSizingResult> results;
+    private final ArrayList<RejectedNodeType> rejected = new ArrayList<>();
+
+    ReportingListener(final int limit, final ClusterSizingOrder order) {
+        results = new RankedResults<>(limit, order.comparator());
+    }
+
+    @Override
+    public void scored(final ClusterSizingResult result) {
+        results.add(result);
+    }
+
+    @Override
+    public void rejected(final _NodeDefinition nodeDefinition, final RejectionReason reason) {
+        rejected.add(
+                RejectedNodeType.builder()
+                        .nodeSizing(nodeDefinition)
+                        .reason(reason)
+                        .build()
+        );
+    }
+
+    ReportingListener merge(final ReportingListener other) {
+        results.merge(other.results);
+        rejected.addAll(other.rejected);
+
+        return this;
+    }
+
+    ClusterSizingReport toReport() {
+        return ClusterSizingReport.builder()
+                .results(results.toList())
+                .rejected(rejected)
+                .build();
+    }
+}
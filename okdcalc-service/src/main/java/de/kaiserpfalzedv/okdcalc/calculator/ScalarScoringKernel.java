@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts._Pod;
+
+/**
+ * The reference kernel. It uses the calculation of
+ * {@link NumbersOfPodsAndNodesCalculator} node type by node type.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+final class ScalarScoringKernel implements ScoringKernel {
+    static final String NAME = "scalar";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void score(
+            final _Pod defaultPod,
+            final int totalNumberOfPods,
+            final NodeCatalog catalog,
+            final int from,
+            final int to,
+            final int[] podsPerNode,
+            final int[] nodes,
+            final long[] scores
+    ) {
+        long podMemory = defaultPod.getMemory();
+        long podMilliCores = defaultPod.getMilliCores();
+        int podLoggingEvents = defaultPod.getNumberOfLoggingEventsPerSecond();
+
+        for (int i = from; i < to; i++) {
+            int pods = NumbersOfPodsAndNodesCalculator.podsPerNode(
+                    podMemory, podMilliCores, podLoggingEvents,
+                    catalog.memory[i], catalog.millicores[i], catalog.maxPods[i], catalog.loggingEventsLimit[i]
+            );
+
+            podsPerNode[i] = pods;
+            nodes[i] = pods >= 0 ? NumbersOfPodsAndNodesCalculator.numberOfNodes(pods, totalNumberOfPods) : pods;
+            scores[i] = nodes[i] >= 0 ? nodes[i] * catalog.score[i] : 0L;
+        }
+    }
+}
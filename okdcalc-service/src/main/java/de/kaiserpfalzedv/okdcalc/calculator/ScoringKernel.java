@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts._Pod;
+
+/**
+ * Computes pods per node, number of nodes and score for a range of the node
+ * types of a {@link NodeCatalog}. The results are written into the given
+ * arrays at the index of the node type, rejected node types get a negative
+ * rejection code as pods per node and number of nodes and a score of 0.
+ *
+ * Every kernel has to deliver exactly the results of the scalar kernel of
+ * {@link ScoringKernels#scalar()}. Additional kernels are registered with the
+ * {@link java.util.ServiceLoader} and selected by name.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public interface ScoringKernel {
+    /**
+     * The maximum number of compute nodes of a cluster.
+     */
+    int MAX_NODES_PER_CLUSTER = NumbersOfPodsAndNodesCalculator.MAX_NODES_PER_CLUSTER;
+
+    /**
+     * Rejection code: the node has not enough CPU for a single pod.
+     */
+    int REJECTED_CPU = NumbersOfPodsAndNodesCalculator.REJECTED_CPU;
+
+    /**
+     * Rejection code: the node has not enough memory for a single pod.
+     */
+    int REJECTED_MEMORY = NumbersOfPodsAndNodesCalculator.REJECTED_MEMORY;
+
+    /**
+     * Rejection code: the cluster would need more than {@link #MAX_NODES_PER_CLUSTER} nodes.
+     */
+    int REJECTED_CLUSTER_NODE_LIMIT = NumbersOfPodsAndNodesCalculator.REJECTED_CLUSTER_NODE_LIMIT;
+
+
+    /**
+     * @return the name to select this kernel with.
+     */
+    String getName();
+
+    /**
+     * @param defaultPod        the pod to place.
+     * @param totalNumberOfPods number of pods to run on the cluster.
+     * @param catalog           the node types.
+     * @param from              first index of the range (inclusive).
+     * @param to                last index of the range (exclusive).
+     * @param podsPerNode       receives the pods per node or the rejection code.
+     * @param nodes             receives the number of nodes or the rejection code.
+     * @param scores            receives the score of the cluster or 0.
+     */
+    void score(
+            _Pod defaultPod,
+            int totalNumberOfPods,
+            NodeCatalog catalog,
+            int from,
+            int to,
+            int[] podsPerNode,
+            int[] nodes,
+            long[] scores
+    );
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Selects the {@link ScoringKernel}. The scalar kernel is always available,
+ * other kernels are loaded with the {@link ServiceLoader}. The system property
+ * {@value #KERNEL_PROPERTY} selects the kernel by name, a kernel that can not
+ * be loaded falls back to the scalar kernel.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class ScoringKernels {
+    private static final Logger LOG = LoggerFactory.getLogger(ScoringKernels.class);
+
+    /**
+     * System property to select the scoring kernel by name.
+     */
+    public static final String KERNEL_PROPERTY = "okdcalc.kernel";
+
+    private static final ScoringKernel SCALAR = new ScalarScoringKernel();
+
+    private ScoringKernels() {}
+
+    /**
+     * @return the reference kernel.
+     */
+    public static ScoringKernel scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * @return the kernel selected by the system property {@value #KERNEL_PROPERTY}.
+     */
+    public static ScoringKernel fromSystemProperties() {
+        return byName(System.getProperty(KERNEL_PROPERTY, ScalarScoringKernel.NAME));
+    }
+
+    /**
+     * @param name the name of the kernel.
+     * @return the kernel with the given name or the scalar kernel.
+     */
+    public static ScoringKernel byName(final String name) {
+        return byName(name, Thread.currentThread().getContextClassLoader());
+    }
+
+    static ScoringKernel byName(final String name, final ClassLoader classLoader) {
+        if (ScalarScoringKernel.NAME.equalsIgnoreCase(name)) {
+            return SCALAR;
+        }
+
+        try {
+            for (ScoringKernel kernel : ServiceLoader.load(ScoringKernel.class, classLoader)) {
+                if (kernel.getName().equalsIgnoreCase(name)) {
+                    LOG.info("Using scoring kernel: {}", kernel.getName());
+                    return kernel;
+                }
+            }
+        } catch (ServiceConfigurationError | LinkageError e) {
+            LOG.warn("Scoring kernel '{}' can not be loaded: {}", name, e.getMessage());
+            return SCALAR;
+        }
+
+        LOG.warn("Scoring kernel '{}' not found, using the scalar kernel.", name);
+        return SCALAR;
+    }
+}
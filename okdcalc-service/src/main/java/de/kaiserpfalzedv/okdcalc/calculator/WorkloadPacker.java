@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts.RejectedNodeType;
+import de.kaiserpfalzedv.okdcalc.facts.WorkloadSizingReport;
+import de.kaiserpfalzedv.okdcalc.facts.WorkloadSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts._PodProfile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static de.kaiserpfalzedv.okdcalc.calculator.NumbersOfPodsAndNodesCalculator.MAX_NODES_PER_CLUSTER;
+import static de.kaiserpfalzedv.okdcalc.calculator.NumbersOfPodsAndNodesCalculator.REJECTED_CLUSTER_NODE_LIMIT;
+import static de.kaiserpfalzedv.okdcalc.calculator.NumbersOfPodsAndNodesCalculator.podsPerNode;
+import static de.kaiserpfalzedv.okdcalc.calculator.NumbersOfPodsAndNodesCalculator.rejectionReason;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.RESERVED_BYTES_PER_POD;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.RESERVED_MILLICORE_PER_POD;
+
+/**
+ * Packs a workload of different pods onto the nodes of a node type with
+ * first-fit decreasing: the pods are placed from the largest to the smallest
+ * (by their largest share of memory, CPU, pods or logging events of the
+ * node), each into the first node it fits, and a new node is opened only if
+ * none does.
+ *
+ * The nodes are not kept one by one but as groups of consecutive nodes
+ * filled the same way. All pods of a profile are placed into a group at
+ * once, only the nodes taking the last pods split it. So every profile adds
+ * at most two groups and the packing takes the same time for a hundred or a
+ * million pods.
+ *
+ * For a single profile the packing needs exactly the nodes of
+ * {@link NumbersOfPodsAndNodesCalculator}.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+final class WorkloadPacker {
+    /**
+     * The order of the results: the lowest score first, ties are broken by
+     * the node count and the node type itself.
+     */
+    static final Comparator<WorkloadSizingResult> ORDER = Comparator
+            .comparingLong(WorkloadSizingResult::getScore)
+            .thenComparingInt(WorkloadSizingResult::getNodes)
+            .thenComparingLong(r -> r.getNodeSizing().getMemory())
+            .thenComparingLong(r -> r.getNodeSizing().getMillicores())
+            .thenComparingLong(r -> r.getNodeSizing().getScore())
+            .thenComparingLong(r -> r.getNodeSizing().getDisk())
+            .thenComparingLong(r -> r.getNodeSizing().getDiskBandwidth())
+            .thenComparingInt(r -> r.getNodeSizing().getLoggingEventsPerSecondLimit());
+
+    private final int profiles;
+
+    private final long[] podMemory;
+    private final long[] podMilliCores;
+    private final int[] podLoggingEvents;
+    private final int[] counts;
+
+    /**
+     * @param workload the pods to place. Profiles without pods are ignored.
+     */
+    WorkloadPacker(final List<? extends _PodProfile> workload) {
+        profiles = workload.size();
+
+        podMemory = new long[profiles];
+        podMilliCores = new long[profiles];
+        podLoggingEvents = new int[profiles];
+        counts = new int[profiles];
+
+        for (int i = 0; i < profiles; i++) {
+            _PodProfile profile = workload.get(i);
+
+            podMemory[i] = profile.getPod().getMemory();
+            podMilliCores[i] = profile.getPod().getMilliCores();
+            podLoggingEvents[i] = profile.getPod().getNumberOfLoggingEventsPerSecond();
+            counts[i] = profile.getCount();
+        }
+    }
+
+    /**
+     * @param node the node type.
+     * @return the number of nodes or a rejection code of {@link NumbersOfPodsAndNodesCalculator}.
+     */
+    int pack(final _NodeDefinition node) {
+        long nodeMemory = node.getMemory();
+        long nodeMillicores = node.getMillicores();
+        int nodeMaxPods = node.getMaxPods();
+        int nodeLoggingEventsLimit = node.getLoggingEventsPerSecondLimit();
+
+        int[] podsPerEmptyNode = new int[profiles];
+        for (int i = 0; i < profiles; i++) {
+            if (counts[i] <= 0) {
+                continue;
+            }
+
+            podsPerEmptyNode[i] = podsPerNode(
+                    podMemory[i], podMilliCores[i], podLoggingEvents[i],
+                    nodeMemory, nodeMillicores, nodeMaxPods, nodeLoggingEventsLimit
+            );
+
+            if (podsPerEmptyNode[i] < 0) {
+                return podsPerEmptyNode[i];
+            }
+            if (podsPerEmptyNode[i] == 0) {
+                return REJECTED_CLUSTER_NODE_LIMIT;
+            }
+        }
+
+        Groups groups = new Groups(2 * profiles, nodeMemory, nodeMillicores, nodeMaxPods, nodeLoggingEventsLimit);
+
+        for (int p : decreasing(node)) {
+            if (counts[p] <= 0) {
+                continue;
+            }
+
+            long memory = podMemory[p] + RESERVED_BYTES_PER_POD;
+            long milliCores = podMilliCores[p] + RESERVED_MILLICORE_PER_POD;
+            int events = podLoggingEvents[p];
+
+            long remaining = groups.firstFit(counts[p], memory, milliCores, events);
+
+            if (remaining > 0 && !groups.open(remaining, podsPerEmptyNode[p], memory, milliCores, events)) {
+                return REJECTED_CLUSTER_NODE_LIMIT;
+            }
+        }
+
+        return groups.nodes;
+    }
+
+    /**
+     * @return the profiles, the largest share of the node first.
+     */
+    private Integer[] decreasing(final _NodeDefinition node) {
+        double[] shares = new double[profiles];
+        Integer[] result = new Integer[profiles];
+
+        for (int i = 0; i < profiles; i++) {
+            shares[i] = Math.max(
+                    Math.max(
+                            (double) (podMemory[i] + RESERVED_BYTES_PER_POD) / node.getMemory(),
+                            (double) (podMilliCores[i] + RESERVED_MILLICORE_PER_POD) / node.getMillicores()
+                    ),
+                    Math.max(
+                            1.0 / node.getMaxPods(),
+                            (double) podLoggingEvents[i] / node.getLoggingEventsPerSecondLimit()
+                    )
+            );
+            result[i] = i;
+        }
+
+        Arrays.sort(result, (a, b) -> Double.compare(shares[b], shares[a]));
+        return result;
+    }
+
+    /**
+     * The opened nodes as a list of groups in the order they have been
+     * opened. All nodes of a group have the same free capacity.
+     */
+    private static final class Groups {
+        private final long nodeMemory;
+        private final long nodeMillicores;
+        private final int nodeMaxPods;
+        private final int nodeLoggingEventsLimit;
+
+        private final int[] size;
+        private final long[] freeMemory;
+        private final long[] freeMillicores;
+        private final int[] freePods;
+        private final long[] usedLoggingEvents;
+        private final int[] next;
+
+        private int groups;
+        private int head = -1;
+        private int tail = -1;
+
+        int nodes;
+
+        Groups(
+                final int capacity,
+                final long nodeMemory,
+                final long nodeMillicores,
+                final int nodeMaxPods,
+                final int nodeLoggingEventsLimit
+        ) {
+            this.nodeMemory = nodeMemory;
+            this.nodeMillicores = nodeMillicores;
+            this.nodeMaxPods = nodeMaxPods;
+            this.nodeLoggingEventsLimit = nodeLoggingEventsLimit;
+
+            size = new int[capacity];
+            freeMemory = new long[capacity];
+            freeMillicores = new long[capacity];
+            freePods = new int[capacity];
+            usedLoggingEvents = new long[capacity];
+            next = new int[capacity];
+        }
+
+        /**
+         * Places the pods into the opened nodes, the first nodes first.
+         *
+         * @return the pods not fitting into the opened nodes.
+         */
+        long firstFit(final long count, final long memory, final long milliCores, final int events) {
+            long remaining = count;
+
+            for (int g = head; g != -1 && remaining > 0; g = next[g]) {
+                int fit = fit(g, memory, milliCores, events);
+                if (fit == 0) {
+                    continue;
+                }
+
+                if ((long) fit * size[g] <= remaining) {
+                    place(g, fit, memory, milliCores, events);
+                    remaining -= (long) fit * size[g];
+                    continue;
+                }
+
+                int full = (int) (remaining / fit);
+                int rest = (int) (remaining % fit);
+
+                if (full > 0) {
+                    splitAfter(g, full);
+                    place(g, fit, memory, milliCores, events);
+                    g = next[g];
+                }
+                if (rest > 0) {
+                    splitAfter(g, 1);
+                    place(g, rest, memory, milliCores, events);
+                }
+
+                remaining = 0;
+            }
+
+            return remaining;
+        }
+
+        /**
+         * Opens new nodes for the pods, every one filled with as many pods as fit.
+         *
+         * @return false if the cluster would get too large.
+         */
+        boolean open(final long count, final int podsPerNode, final long memory, final long milliCores, final int events) {
+            long full = count / podsPerNode;
+            int rest = (int) (count % podsPerNode);
+
+            if (nodes + full + (rest > 0 ? 1 : 0) > MAX_NODES_PER_CLUSTER) {
+                return false;
+            }
+
+            if (full > 0) {
+                place(append((int) full), podsPerNode, memory, milliCores, events);
+            }
+            if (rest > 0) {
+                place(append(1), rest, memory, milliCores, events);
+            }
+
+            return true;
+        }
+
+        private int fit(final int g, final long memory, final long milliCores, final int events) {
+            long result = Math.min(Math.min(freeMemory[g] / memory, freeMillicores[g] / milliCores), freePods[g]);
+
+            // like NumbersOfPodsAndNodesCalculator, fluentd takes pods as long as it has capacity left.
+            if (events > 0) {
+                long freeEvents = nodeLoggingEventsLimit - usedLoggingEvents[g];
+                result = Math.min(result, freeEvents > 0 ? (freeEvents + events - 1) / events : 0);
+            }
+
+            return (int) result;
+        }
+
+        private void place(final int g, final int pods, final long memory, final long milliCores, final int events) {
+            freeMemory[g] -= pods * memory;
+            freeMillicores[g] -= pods * milliCores;
+            freePods[g] -= pods;
+            usedLoggingEvents[g] += (long) pods * events;
+        }
+
+        private int append(final int nodes) {
+            int g = groups++;
+
+            size[g] = nodes;
+            freeMemory[g] = nodeMemory;
+            freeMillicores[g] = nodeMillicores;
+            freePods[g] = nodeMaxPods;
+            usedLoggingEvents[g] = 0;
+            next[g] = -1;
+
+            if (tail == -1) {
+                head = g;
+            } else {
+                next[tail] = g;
+            }
+            tail = g;
+
+            this.nodes += nodes;
+            return g;
+        }
+
+        /**
+         * Keeps the first nodes of the group in it and moves the others into
+         * a new group right after it.
+         */
+        private void splitAfter(final int g, final int nodes) {
+            int s = groups++;
+
+            size[s] = size[g] - nodes;
+            freeMemory[s] = freeMemory[g];
+            freeMillicores[s] = freeMillicores[g];
+            freePods[s] = freePods[g];
+            usedLoggingEvents[s] = usedLoggingEvents[g];
+            next[s] = next[g];
+
+            size[g] = nodes;
+            next[g] = s;
+
+            if (tail == g) {
+                tail = s;
+            }
+        }
+    }
+
+    /**
+     * Collects the best results and all rejected node types of a packing.
+     */
+    static final class Report {
+        private final RankedResults<WorkloadSizingResult> results;
+        private final ArrayList<RejectedNodeType> rejected = new ArrayList<>();
+
+        Report(final int limit) {
+            results = new RankedResults<>(limit, ORDER);
+        }
+
+        void pack(final WorkloadPacker packer, final _NodeDefinition node) {
+            int nodes = packer.pack(node);
+
+            if (nodes < 0) {
+                rejected.add(
+                        RejectedNodeType.builder()
+                                .nodeSizing(node)
+                                .reason(rejectionReason(nodes))
+                                .build()
+                );
+                return;
+            }
+
+            results.add(
+                    WorkloadSizingResult.builder()
+                            .nodeSizing(node)
+                            .nodes(nodes)
+                            .build()
+            );
+        }
+
+        Report merge(final Report other) {
+            results.merge(other.results);
+            rejected.addAll(other.rejected);
+
+            return this;
+        }
+
+        WorkloadSizingReport toReport() {
+            return WorkloadSizingReport.builder()
+                    .results(results.toList())
+                    .rejected(rejected)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.facts;
+
+/**
+ * Why a node type has been rejected for a work load.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public enum RejectionReason {
+    /**
+     * The node type has not enough CPU for a single pod.
+     */
+    CPU("Not enough CPU per node for this work load."),
+
+    /**
+     * The node type has not enough memory for a single pod.
+     */
+    MEMORY("Not enough memory per node for this work load."),
+
+    /**
+     * The cluster would need more nodes than a cluster may have.
+     */
+    CLUSTER_NODE_LIMIT("Too many nodes in cluster."),
+
+    /**
+     * The budget does not pay a single node of the node type.
+     */
+    BUDGET("Not enough budget for a single node."),
+
+    /**
+     * The node type may not run that many pods.
+     */
+    POD_LIMIT("Too many pods per node."),
+
+    /**
+     * Fluentd can not handle the logging events of that many pods per node.
+     */
+    LOGGING_EVENTS_LIMIT("Too many logging events per node.");
+
+    private final String description;
+
+    RejectionReason(final String description) {
+        this.description = description;
+    }
+
+    /**
+     * @return a human readable description of the reason.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.facts;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import de.kaiserpfalzedv.okdcalc.Immutable;
+
+import java.util.List;
+
+/**
+ * The complete result of a cluster sizing: the scored node types and the
+ * node types without a solution.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@Immutable
+@JsonSerialize(as = ClusterSizingReport.class)
+@JsonDeserialize(builder = ClusterSizingReport.Builder.class)
+public interface _ClusterSizingReport {
+    /**
+     * @return The sizings of the node types with a solution, the best one first.
+     */
+    List<_ClusterSizingResult> getResults();
+
+    /**
+     * @return The node types without a solution.
+     */
+    List<_RejectedNodeType> getRejected();
+}
@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import de.kaiserpfalzedv.okdcalc.Immutable;
 import org.immutables.value.Value;
 
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -68,6 +69,19 @@ public interface _LoggingSizingRequest {
      */
     Set<_NodeDefinition> getPossibleInfraNodeTypes();
 
+    /**
+     * @return The id of a registered node catalog. Without
+     * {@link #getNodeTypeIds()} all node types of the catalog are scored.
+     */
+    Optional<String> getCatalog();
+
+    /**
+     * @return The ids of registered node types to score in addition to the
+     * given infra node types. With {@link #getCatalog()} the ids select node
+     * types of that catalog.
+     */
+    Set<String> getNodeTypeIds();
+
     int getNumberOfComputeNodes();
 
     int getParallelKibanaUsers();
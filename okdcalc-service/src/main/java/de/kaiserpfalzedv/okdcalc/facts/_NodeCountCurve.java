@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.facts;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import de.kaiserpfalzedv.okdcalc.Immutable;
+
+import java.util.List;
+
+/**
+ * The number of nodes of a node type over a range of total numbers of pods.
+ * The number of nodes is {@code ceil(pods / podsPerNode)}, a step function.
+ * It starts with {@link #getNodes()} nodes at the smallest number of pods of
+ * the range, every breakpoint needs one more node. So from breakpoint
+ * {@code i} on the cluster needs {@code nodes + i + 1} nodes and scores
+ * {@code (nodes + i + 1) * nodeSizing.score}.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@Immutable
+@JsonSerialize(as = NodeCountCurve.class)
+@JsonDeserialize(builder = NodeCountCurve.Builder.class)
+public interface _NodeCountCurve {
+    /**
+     * @return The node type this curve has been calculated for.
+     */
+    _NodeDefinition getNodeSizing();
+
+    /**
+     * @see _ClusterSizingResult#getPodsPerNode()
+     */
+    int getPodsPerNode();
+
+    /**
+     * @return The number of nodes for the smallest number of pods of the range.
+     */
+    int getNodes();
+
+    /**
+     * @return The largest total number of pods of the range this node type
+     * can run. Above the cluster would exceed the maximum number of nodes.
+     */
+    int getMaxNumberOfPods();
+
+    /**
+     * @return The total numbers of pods from which on one more node is
+     * needed, ascending.
+     */
+    List<Integer> getBreakpoints();
+}
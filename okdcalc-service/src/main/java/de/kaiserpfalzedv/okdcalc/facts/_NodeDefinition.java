@@ -22,6 +22,8 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import de.kaiserpfalzedv.okdcalc.Immutable;
 import org.immutables.value.Value;
 
+import java.util.Optional;
+
 /**
  * @author rlichti
  * @version 1.0.0 2020-02-14
@@ -53,6 +55,12 @@ public interface _NodeDefinition {
      */
     int DEFAULT_LOGGING_EVENTS_LIMIT = 700;
 
+    /**
+     * @return The id of the node type within a node catalog. Requests may
+     * reference the node types of registered catalogs by this id.
+     */
+    Optional<String> getId();
+
     /**
      * @return The RAM of the node type in bytes.
      */
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.facts;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import de.kaiserpfalzedv.okdcalc.Immutable;
+
+/**
+ * A {@link _ClusterSizingResult} referencing its node type and pod by id
+ * instead of embedding them. The ids are the keys of
+ * {@link _NormalizedClusterSizingReport#getNodeTypes()} and
+ * {@link _NormalizedClusterSizingReport#getPods()}.
+ *
+ * All other figures are the same as in the {@link _ClusterSizingResult}.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@Immutable
+@JsonSerialize(as = NormalizedClusterSizingResult.class)
+@JsonDeserialize(builder = NormalizedClusterSizingResult.Builder.class)
+public interface _NormalizedClusterSizingResult {
+    /**
+     * @return The id of the node type this sizing has been calculated for.
+     */
+    String getNodeType();
+
+    /**
+     * @return The id of the pod this sizing has been calculated for.
+     */
+    String getPod();
+
+    /**
+     * @see _ClusterSizingResult#getNodes()
+     */
+    int getNodes();
+
+    /**
+     * @see _ClusterSizingResult#getPodsPerNode()
+     */
+    int getPodsPerNode();
+
+    /**
+     * @see _ClusterSizingResult#getScore()
+     */
+    long getScore();
+
+    /**
+     * @see _ClusterSizingResult#getKubeletMemory()
+     */
+    long getKubeletMemory();
+
+    /**
+     * @see _ClusterSizingResult#getKubeletCPU()
+     */
+    long getKubeletCPU();
+
+    /**
+     * @see _ClusterSizingResult#getSystemMemory()
+     */
+    long getSystemMemory();
+
+    /**
+     * @see _ClusterSizingResult#getSystemCPU()
+     */
+    long getSystemCPU();
+
+    /**
+     * @see _ClusterSizingResult#getLoggingEventsPerNode()
+     */
+    int getLoggingEventsPerNode();
+
+    /**
+     * @see _ClusterSizingResult#getFreeMemory()
+     */
+    long getFreeMemory();
+
+    /**
+     * @see _ClusterSizingResult#getFreeCPU()
+     */
+    long getFreeCPU();
+
+    /**
+     * @see _ClusterSizingResult#getWastedMemory()
+     */
+    long getWastedMemory();
+
+    /**
+     * @see _ClusterSizingResult#getWastedCPU()
+     */
+    long getWastedCPU();
+
+    /**
+     * @see _ClusterSizingResult#getWastedLogEvents()
+     */
+    int getWastedLogEvents();
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.facts;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import de.kaiserpfalzedv.okdcalc.Immutable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Asks for the nodes of every node type a workload of different pods needs.
+ * The node types are selected like in a {@link _ClusterSizingRequest}.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@Immutable
+@JsonSerialize(as = WorkloadSizingRequest.class)
+@JsonDeserialize(builder = WorkloadSizingRequest.Builder.class)
+public interface _WorkloadSizingRequest {
+    /**
+     * @return The pods of the workload.
+     */
+    List<_PodProfile> getPodProfiles();
+
+    Set<_NodeDefinition> getNodeDefinitions();
+
+    /**
+     * @see _ClusterSizingRequest#getCatalog()
+     */
+    Optional<String> getCatalog();
+
+    /**
+     * @see _ClusterSizingRequest#getNodeTypeIds()
+     */
+    Set<String> getNodeTypeIds();
+}
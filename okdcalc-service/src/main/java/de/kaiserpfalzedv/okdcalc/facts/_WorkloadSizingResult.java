@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.facts;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import de.kaiserpfalzedv.okdcalc.Immutable;
+
+/**
+ * The nodes of a node type running all pods of a
+ * {@link _WorkloadSizingRequest}.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@Immutable
+@JsonSerialize(as = WorkloadSizingResult.class)
+@JsonDeserialize(builder = WorkloadSizingResult.Builder.class)
+public interface _WorkloadSizingResult {
+    _NodeDefinition getNodeSizing();
+
+    /**
+     * @return How many nodes are needed?
+     */
+    int getNodes();
+
+    /**
+     * @return the scoring value of this solution.
+     */
+    default long getScore() {
+        return getNodes() * getNodeSizing().getScore();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class ClusterSizingFieldsTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterSizingFieldsTest.class);
+
+    private static final ClusterSizingResult SIZING = ClusterSizingResult.builder()
+            .nodeSizing(NodeDefinition.builder()
+                                .cpu(
+                                        CPU.builder()
+                                                .sockets(1)
+                                                .cores(8)
+                                                .logical(16)
+                                                .build()
+                                )
+                                .disk(2048 * GiB)
+                                .diskBandwidth(GiB)
+                                .memory(64 * GiB)
+                                .build()
+            )
+            .defaultPod(Pod.builder()
+                                .memory(1024000L)
+                                .milliCores(100L)
+                                .build()
+            )
+            .nodes(10)
+            .podsPerNode(12)
+            .build();
+
+
+    @Test
+    public void shouldProjectOnlyTheRequestedAttributesWhenFieldsAreGiven() {
+        Map<String, Object> result = ClusterSizingFields.fromString("score,nodes,podsPerNode").project(SIZING);
+        LOG.debug("Projection: {}", result);
+
+        assert result.keySet().equals(Set.of("nodes", "podsPerNode", "score"));
+        assert result.get("nodes").equals(SIZING.getNodes());
+        assert result.get("podsPerNode").equals(SIZING.getPodsPerNode());
+        assert result.get("score").equals(SIZING.getScore());
+    }
+
+    @Test
+    public void shouldKeepTheOrderOfTheResultsWhenFieldsAreGivenInAnotherOrder() {
+        ClusterSizingFields fields = ClusterSizingFields.fromString("wastedCPU, nodes,nodeSizing");
+
+        assert fields.getProperties().equals(List.of("nodeSizing", "nodes", "wastedCPU"));
+        assert fields.toString().equals("fields[nodeSizing, nodes, wastedCPU]");
+    }
+
+    @Test
+    public void shouldAcceptAllSpellingsWhenParsingFields() {
+        ClusterSizingFields fields = ClusterSizingFields.fromString("wasted-memory,WASTED_LOG_EVENTS,kubeletcpu");
+
+        assert fields.getProperties().equals(List.of("kubeletCPU", "wastedMemory", "wastedLogEvents"));
+    }
+
+    @Test
+    public void shouldProjectEveryResultWhenACollectionIsGiven() {
+        List<Map<String, Object>> result = ClusterSizingFields
+                .fromString("freeMemory")
+                .project(List.of(SIZING, SIZING.withNodes(20)));
+
+        assert result.size() == 2;
+        assert result.get(1).equals(Map.of("freeMemory", SIZING.getFreeMemory()));
+    }
+
+    @Test
+    public void shouldFailWhenTheFieldIsUnknown() {
+        try {
+            ClusterSizingFields.fromString("nodes,unknown");
+
+            Assertions.fail("An unknown attribute should throw an IllegalArgumentException!");
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+}
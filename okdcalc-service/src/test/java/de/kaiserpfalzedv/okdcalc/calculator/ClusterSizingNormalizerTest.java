@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingReport;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.NormalizedClusterSizingReport;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import de.kaiserpfalzedv.okdcalc.facts.RejectionReason;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts._NormalizedClusterSizingResult;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class ClusterSizingNormalizerTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterSizingNormalizerTest.class);
+
+    private static final Pod DEFAULT_POD = Pod.builder()
+            .memory(1024000L)
+            .milliCores(100L)
+            .build();
+
+    private static final NodeDefinition DEFAULT_NODE = NodeDefinition.builder()
+            .cpu(
+                    CPU.builder()
+                            .sockets(1)
+                            .cores(8)
+                            .logical(16)
+                            .build()
+            )
+            .disk(2048 * GiB)
+            .diskBandwidth(GiB)
+            .maxNumberOfLoggingDisks(8)
+            .memory((long) 64 * 1024 * 1024 * 1024)
+            .podsPerCore(10)
+            .build();
+
+    private static final NodeDefinition SMALL_NODES = NodeDefinition.builder()
+            .cpu(
+                    CPU.builder()
+                            .sockets(1)
+                            .cores(1)
+                            .logical(2)
+                            .build()
+            )
+            .disk(2048 * GiB)
+            .diskBandwidth(GiB)
+            .maxNumberOfLoggingDisks(8)
+            .memory((long) 2 * 1024 * 1024)
+            .podsPerCore(10)
+            .build();
+
+
+    @Test
+    public void shouldListThePodOnlyOnceWhenAllResultsShareIt() {
+        NormalizedClusterSizingReport result = ClusterSizingNormalizer.normalize(List.of(
+                sizing(DEFAULT_NODE.withId("large")),
+                sizing(DEFAULT_NODE.withId("huge").withDisk(4096 * GiB)),
+                sizing(DEFAULT_NODE.withId("large"))
+        ));
+        LOG.debug("Normalized: {}", result);
+
+        assert result.getPods().size() == 1;
+        assert result.getPods().get("#1").equals(DEFAULT_POD);
+        assert result.getNodeTypes().keySet().equals(Set.of("large", "huge"));
+        assert result.getResults().size() == 3;
+        assert result.getResults().stream().allMatch(r -> "#1".equals(r.getPod()));
+        assert result.getResults().get(2).getNodeType().equals("large");
+    }
+
+    @Test
+    public void shouldGenerateIdsWhenTheNodeTypesHaveNoneOrTheIdIsTaken() {
+        NormalizedClusterSizingReport result = ClusterSizingNormalizer.normalize(List.of(
+                sizing(DEFAULT_NODE.withId("#2")),
+                sizing(DEFAULT_NODE),
+                sizing(DEFAULT_NODE.withId("#2").withDisk(4096 * GiB))
+        ));
+        LOG.debug("Normalized: {}", result);
+
+        assert result.getResults().get(0).getNodeType().equals("#2");
+        assert result.getResults().get(1).getNodeType().equals("#3");
+        assert result.getResults().get(2).getNodeType().equals("#4");
+        assert result.getNodeTypes().get("#3").equals(DEFAULT_NODE);
+    }
+
+    @Test
+    public void shouldKeepTheValuesOfTheResultWhenNormalized() {
+        ClusterSizingResult sizing = sizing(DEFAULT_NODE);
+
+        _NormalizedClusterSizingResult result = ClusterSizingNormalizer.normalize(List.of(sizing)).getResults().get(0);
+
+        assert result.getNodes() == sizing.getNodes();
+        assert result.getPodsPerNode() == sizing.getPodsPerNode();
+        assert result.getScore() == sizing.getScore();
+        assert result.getKubeletMemory() == sizing.getKubeletMemory();
+        assert result.getKubeletCPU() == sizing.getKubeletCPU();
+        assert result.getSystemMemory() == sizing.getSystemMemory();
+        assert result.getSystemCPU() == sizing.getSystemCPU();
+        assert result.getLoggingEventsPerNode() == sizing.getLoggingEventsPerNode();
+        assert result.getFreeMemory() == sizing.getFreeMemory();
+        assert result.getFreeCPU() == sizing.getFreeCPU();
+        assert result.getWastedMemory() == sizing.getWastedMemory();
+        assert result.getWastedCPU() == sizing.getWastedCPU();
+        assert result.getWastedLogEvents() == sizing.getWastedLogEvents();
+    }
+
+    @Test
+    public void shouldReferenceTheRejectedNodeTypesWhenNormalizingAReport() {
+        ClusterSizingReport report = new NodeTypeCalculator().reportNodetypes(
+                100,
+                DEFAULT_POD,
+                List.<_NodeDefinition>of(DEFAULT_NODE.withId("large"), SMALL_NODES.withId("small")),
+                0,
+                ClusterSizingOrder.SCORE
+        );
+
+        NormalizedClusterSizingReport result = ClusterSizingNormalizer.normalize(report);
+        LOG.debug("Normalized: {}", result);
+
+        assert result.getResults().size() == 1;
+        assert result.getResults().get(0).getNodeType().equals("large");
+        assert result.getRejected().size() == 1;
+        assert result.getRejected().get(0).getNodeType().equals("small");
+        assert result.getRejected().get(0).getReason() == RejectionReason.MEMORY;
+        assert result.getNodeTypes().get("small").equals(SMALL_NODES.withId("small"));
+    }
+
+    private static ClusterSizingResult sizing(final NodeDefinition node) {
+        return ClusterSizingResult.builder()
+                .nodeSizing(node)
+                .defaultPod(DEFAULT_POD)
+                .nodes(10)
+                .podsPerNode(12)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class ClusterSizingOrderTest {
+    @Test
+    public void shouldParseTheOrderWhenTheEnumNameIsGiven() {
+        assert ClusterSizingOrder.fromString("WASTED_CPU") == ClusterSizingOrder.WASTED_CPU;
+    }
+
+    @Test
+    public void shouldParseTheOrderWhenTheAttributeNameIsGiven() {
+        assert ClusterSizingOrder.fromString("wastedMemory") == ClusterSizingOrder.WASTED_MEMORY;
+        assert ClusterSizingOrder.fromString("score") == ClusterSizingOrder.SCORE;
+    }
+
+    @Test
+    public void shouldParseTheOrderWhenDashesAreUsed() {
+        assert ClusterSizingOrder.fromString("wasted-cpu") == ClusterSizingOrder.WASTED_CPU;
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenTheOrderIsUnknown() {
+        try {
+            ClusterSizingOrder result = ClusterSizingOrder.fromString("price");
+            Assertions.fail("An IllegalArgumentException should have been thrown, got: " + result);
+        } catch (IllegalArgumentException e) {
+            // everything is fine.
+        }
+    }
+}
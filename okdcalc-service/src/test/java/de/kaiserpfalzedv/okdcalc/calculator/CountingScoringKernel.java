@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts._Pod;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A kernel registered with the service loader for the tests. It counts the
+ * calls and delegates to the scalar kernel.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class CountingScoringKernel implements ScoringKernel {
+    static final String NAME = "counting";
+
+    final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void score(
+            final _Pod defaultPod,
+            final int totalNumberOfPods,
+            final NodeCatalog catalog,
+            final int from,
+            final int to,
+            final int[] podsPerNode,
+            final int[] nodes,
+            final long[] scores
+    ) {
+        calls.incrementAndGet();
+
+        ScoringKernels.scalar().score(defaultPod, totalNumberOfPods, catalog, from, to, podsPerNode, nodes, scores);
+    }
+}
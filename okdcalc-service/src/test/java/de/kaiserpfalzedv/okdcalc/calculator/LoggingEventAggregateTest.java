@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingEvent;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class LoggingEventAggregateTest {
+    private static final Logger LOG = LoggerFactory.getLogger(LoggingEventAggregateTest.class);
+
+    private static final long SEED = 20200214L;
+    private static final int SAMPLES = 1000;
+
+    /**
+     * 3600 seconds per hour * 24 hours per day.
+     */
+    private static final int SECONDS_PER_DAY = 86400;
+
+    private static final LoggingEvent APPLICATION_LOGS = LoggingEvent.builder()
+            .defaultNumberOfEventsPerHour(5 * 3600)
+            .eventSize(256)
+            .numberOfContainers(4000)
+            .numberOfNamespaces(400)
+            .retentionDays(28)
+            .build();
+
+    private static final LoggingEvent AUDIT_LOGS = LoggingEvent.builder()
+            .defaultNumberOfEventsPerHour(7200)
+            .eventSize(1024)
+            .numberOfContainers(30)
+            .numberOfNamespaces(3)
+            .retentionDays(365)
+            .build();
+
+    private static final NodeDefinition INFRA_NODE = NodeDefinition.builder()
+            .score(1000)
+            .cpu(CPU.builder()
+                         .sockets(4)
+                         .cores(8)
+                         .logical(16)
+                         .build()
+            )
+            .memory(64 * GiB)
+            .disk(2048 * GiB)
+            .diskBandwidth(GiB)
+            .maxNumberOfLoggingDisks(8)
+            .build();
+
+
+    @Test
+    public void shouldSumTheEventTypesWhenTheyAreFoldedIn() {
+        LoggingEventAggregate result = LoggingEventAggregate.of(List.of(APPLICATION_LOGS, AUDIT_LOGS));
+
+        assert result.getNumberOfEventTypes() == 2;
+        assert result.getDiskBandwidth() == 256L * 5 * 4000 + 1024L * 2 * 30;
+        assert result.getTotalDiskSize(1) == 2 * (28L * 86400 * 256 * 5 * 4000 + 365L * 86400 * 1024 * 2 * 30);
+        assert result.getActivePrimaryShards() == 400 * 28 + 3 * 365;
+    }
+
+    @Test
+    public void shouldCountEveryEventTypeWhenEqualOnesAreAdded() {
+        LoggingEventAggregate result = new LoggingEventAggregate()
+                .add(AUDIT_LOGS)
+                .add(AUDIT_LOGS);
+
+        assert result.getNumberOfEventTypes() == 2;
+        assert result.getActivePrimaryShards() == 2 * 3 * 365;
+    }
+
+    @Test
+    public void shouldMatchThePerEventSumsWhenTheEventTypesAreFolded() {
+        Random random = new Random(SEED);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            ArrayList<LoggingEvent> events = new ArrayList<>();
+            for (int e = 1 + random.nextInt(50); e > 0; e--) {
+                events.add(LoggingEvent.builder()
+                                   .defaultNumberOfEventsPerHour(1 + random.nextInt(100 * 3600))
+                                   .eventSize(16 + random.nextInt(4096))
+                                   .numberOfContainers(1 + random.nextInt(5000))
+                                   .numberOfNamespaces(1 + random.nextInt(500))
+                                   .retentionDays(1 + random.nextInt(400))
+                                   .build()
+                );
+            }
+            int replica = random.nextInt(3);
+
+            LoggingEventAggregate result = LoggingEventAggregate.of(events);
+
+            assert result.getDiskBandwidth() == perEventDiskBW(events) : "disk bandwidth of " + events;
+            assert result.getTotalDiskSize(replica) == perEventTotalDiskSize(events, replica) : "disk size of " + events;
+            assert result.getActivePrimaryShards() == perEventActivePrimaryShards(events) : "shards of " + events;
+        }
+    }
+
+    @Test
+    public void shouldSizeLikeTheRequestWhenTheEventsAreAggregated() {
+        LoggingSizingRequest request = LoggingSizingRequest.builder()
+                .addPossibleInfraNodeTypes(INFRA_NODE, INFRA_NODE.withMemory(128 * GiB).withDisk(4096 * GiB))
+                .addLoggingEventTypes(APPLICATION_LOGS, AUDIT_LOGS)
+                .numberOfAvailabilityZones(3)
+                .numberOfComputeNodes(30)
+                .parallelKibanaUsers(50)
+                .build();
+        LoggingClusterSizeCalculator calculator = new LoggingClusterSizeCalculator();
+
+        Set<LoggingSizingResult> expected = calculator.scoreNodetypes(request);
+        Set<LoggingSizingResult> result = calculator.scoreNodetypes(
+                request.withLoggingEventTypes(List.of()),
+                LoggingEventAggregate.of(request.getLoggingEventTypes())
+        );
+        LOG.debug("Sizings: expected={}, aggregated={}", expected, result);
+
+        assert result.equals(expected);
+    }
+
+    /*
+     * The sums of the LoggingPodCalculator before the event types were
+     * folded, kept verbatim (minus logging) as the reference.
+     */
+
+    private static long perEventDiskBW(final List<LoggingEvent> eventTypes) {
+        long result = 0L;
+
+        for (LoggingEvent e : eventTypes) {
+            result += perEventSingleBW(e);
+        }
+
+        return result;
+    }
+
+    private static long perEventSingleBW(final LoggingEvent e) {
+        return e.getEventSize() * e.getDefaultNumberOfEventsPerHour() / 3600 * e.getNumberOfContainers();
+    }
+
+    private static long perEventTotalDiskSize(final List<LoggingEvent> eventTypes, final int replicaCount) {
+        long result = 0L;
+
+        for (LoggingEvent e : eventTypes) {
+            result += e.getRetentionDays() * SECONDS_PER_DAY * perEventSingleBW(e) * (replicaCount + 1);
+        }
+
+        return result;
+    }
+
+    private static int perEventActivePrimaryShards(final List<LoggingEvent> eventTypes) {
+        int result = 0;
+
+        for (LoggingEvent e : eventTypes) {
+            result += e.getNumberOfNamespaces() * e.getRetentionDays();
+        }
+
+        return result;
+    }
+}
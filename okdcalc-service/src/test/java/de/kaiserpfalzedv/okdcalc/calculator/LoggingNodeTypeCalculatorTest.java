@@ -28,8 +28,11 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
 
@@ -118,11 +121,129 @@ public class LoggingNodeTypeCalculatorTest {
         assert scores.contains(48000L);
     }
 
+    @Test
+    public void shouldDeliverTheSequentialResultWhenScoringInParallel() {
+        LoggingSizingRequest sizingRequest = generateRequest(2000);
+
+        service.setParallelThreshold(Integer.MAX_VALUE);
+        Set<LoggingSizingResult> sequential = service.scoreNodetypes(sizingRequest);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            service = new LoggingClusterSizeCalculator(new LoggingPodCalculator(), pool, 100);
+            Set<LoggingSizingResult> parallel = service.scoreNodetypes(sizingRequest);
+            LOG.debug("Scored {} infra node types.", parallel.size());
+
+            assert sequential.size() == 2000;
+            assert sequential.equals(parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReturnTheBestResultsOrderedWhenALimitIsGiven() {
+        LoggingSizingRequest sizingRequest = generateRequest(500);
+
+        ArrayList<LoggingSizingResult> expected = new ArrayList<>(service.scoreNodetypes(sizingRequest));
+        expected.sort(LoggingClusterSizeCalculator.SCORE_ORDER);
+
+        List<LoggingSizingResult> result = service.scoreNodetypes(sizingRequest, 5);
+        LOG.debug("Best results: {}", result);
+
+        assert result.size() == 5;
+        assert result.equals(expected.subList(0, 5));
+        assert result.get(0).getScore() <= result.get(4).getScore();
+    }
+
+    @Test
+    public void shouldReturnAllResultsOrderedWhenNoLimitIsGiven() {
+        LoggingSizingRequest sizingRequest = generateRequest(100);
+
+        List<LoggingSizingResult> result = service.scoreNodetypes(sizingRequest, 0);
+
+        assert result.size() == 100;
+        for (int i = 1; i < result.size(); i++) {
+            assert result.get(i - 1).getScore() <= result.get(i).getScore();
+        }
+    }
+
+    @Test
+    public void shouldReturnTheSequentialBestResultsWhenScoringInParallel() {
+        LoggingSizingRequest sizingRequest = generateRequest(2000);
+
+        service.setParallelThreshold(Integer.MAX_VALUE);
+        List<LoggingSizingResult> sequential = service.scoreNodetypes(sizingRequest, 10);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            service = new LoggingClusterSizeCalculator(new LoggingPodCalculator(), pool, 100);
+            List<LoggingSizingResult> parallel = service.scoreNodetypes(sizingRequest, 10);
+
+            assert sequential.size() == 10;
+            assert sequential.equals(parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldUseTheGivenPoolWhenAPoolIsSet() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            service.setPool(pool);
+            service.setParallelThreshold(2);
+
+            Set<LoggingSizingResult> result = service.scoreNodetypes(generateRequest(3));
+
+            assert service.getParallelThreshold() == 2;
+            assert result.size() == 3;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void shouldAcceptACalculatorForConstructor() {
         new LoggingClusterSizeCalculator(new LoggingPodCalculator());
     }
 
+    private LoggingSizingRequest generateRequest(final int count) {
+        LoggingSizingRequest.Builder result = LoggingSizingRequest.builder()
+                .addLoggingEventTypes(LoggingEvent.builder()
+                                              .defaultNumberOfEventsPerHour(5 * 3600)
+                                              .eventSize(256)
+                                              .numberOfContainers(4000)
+                                              .numberOfNamespaces(400)
+                                              .retentionDays(28)
+                                              .build()
+                )
+                .numberOfAvailabilityZones(3)
+                .numberOfComputeNodes(30)
+                .parallelKibanaUsers(50);
+
+        for (int i = 0; i < count; i++) {
+            int logical = 8 << (i % 4);
+
+            result.addPossibleInfraNodeTypes(NodeDefinition.builder()
+                                                     .score(1000L + (i * 7919L) % 5000)
+                                                     .cpu(CPU.builder()
+                                                                  .sockets(1)
+                                                                  .cores(logical / 2)
+                                                                  .logical(logical)
+                                                                  .build()
+                                                     )
+                                                     .memory((1 + i % 3) * logical * 4 * GiB)
+                                                     .disk((1 + i % 5) * 1024 * GiB)
+                                                     .diskBandwidth(GiB)
+                                                     .maxNumberOfLoggingDisks(8)
+                                                     .build()
+            );
+        }
+
+        return result.build();
+    }
+
     @BeforeEach
     public void setUpService() {
         service = new LoggingClusterSizeCalculator();
@@ -17,6 +17,7 @@
 
 package de.kaiserpfalzedv.okdcalc.calculator;
 
+import de.kaiserpfalzedv.okdcalc.facts.RejectionReason;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,4 +66,20 @@ public class NoSolutionExceptionTest {
         assert MESSAGE.equals(result.getMessage());
         assert CAUSE.equals(result.getCause());
     }
+
+    @Test
+    public void shouldWorkWhenCalledWithAReason() {
+        NoSolutionException result = new NoSolutionException(RejectionReason.MEMORY);
+
+        assert RejectionReason.MEMORY.getDescription().equals(result.getMessage());
+        assert result.getReason().isPresent();
+        assert RejectionReason.MEMORY == result.getReason().get();
+    }
+
+    @Test
+    public void shouldHaveNoReasonWhenCalledWithAMessage() {
+        NoSolutionException result = new NoSolutionException(MESSAGE);
+
+        assert !result.getReason().isPresent();
+    }
 }
@@ -18,17 +18,29 @@
 package de.kaiserpfalzedv.okdcalc.calculator;
 
 import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingReport;
 import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.NodeCountCurve;
 import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
 import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import de.kaiserpfalzedv.okdcalc.facts.PodProfile;
+import de.kaiserpfalzedv.okdcalc.facts.RejectionReason;
+import de.kaiserpfalzedv.okdcalc.facts.WorkloadSizingReport;
+import de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult;
 import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts._Pod;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
 
@@ -132,6 +144,268 @@ public class NodeTypeCalculatorTest {
         assert result.toArray(new ClusterSizingResult[0])[1].getScore() == 12 * 5000L;
     }
 
+    @Test
+    public void shouldDeliverTheSequentialResultWhenScoringInParallel() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(5000);
+
+        service.setParallelThreshold(Integer.MAX_VALUE);
+        Set<ClusterSizingResult> sequential = service.scoreNodetypes(8000, NORMAL_POD.withMilliCores(1500L), nodeTypes);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            service = new NodeTypeCalculator(new NumbersOfPodsAndNodesCalculator(), pool, 100);
+            Set<ClusterSizingResult> parallel = service.scoreNodetypes(8000, NORMAL_POD.withMilliCores(1500L), nodeTypes);
+            LOG.debug("Scored {} node types: {} solutions.", nodeTypes.size(), parallel.size());
+
+            assert !sequential.isEmpty();
+            assert sequential.size() < nodeTypes.size();
+            assert sequential.equals(parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldUseTheGivenPoolWhenAPoolIsSet() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            service.setPool(pool);
+            service.setParallelThreshold(2);
+
+            Set<ClusterSizingResult> result = service.scoreNodetypes(250, NORMAL_POD, generateNodeTypes(3));
+
+            assert service.getParallelThreshold() == 2;
+            assert result.size() == 3;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReturnTheBestResultsOrderedWhenALimitIsGiven() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(1000);
+        service.setParallelThreshold(Integer.MAX_VALUE);
+
+        ArrayList<ClusterSizingResult> expected = new ArrayList<>(service.scoreNodetypes(8000, NORMAL_POD, nodeTypes));
+        expected.sort(ClusterSizingOrder.WASTED_MEMORY.comparator());
+
+        List<ClusterSizingResult> result = service.scoreNodetypes(8000, NORMAL_POD, nodeTypes, 10, ClusterSizingOrder.WASTED_MEMORY);
+        LOG.debug("Best results: {}", result);
+
+        assert result.size() == 10;
+        assert result.equals(expected.subList(0, 10));
+    }
+
+    @Test
+    public void shouldReturnAllResultsOrderedWhenNoLimitIsGiven() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(100);
+
+        List<ClusterSizingResult> result = service.scoreNodetypes(8000, NORMAL_POD, nodeTypes, 0, ClusterSizingOrder.NODES);
+
+        assert result.size() == service.scoreNodetypes(8000, NORMAL_POD, nodeTypes).size();
+        for (int i = 1; i < result.size(); i++) {
+            assert result.get(i - 1).getNodes() <= result.get(i).getNodes();
+        }
+    }
+
+    @Test
+    public void shouldReturnTheSequentialBestResultsWhenScoringInParallel() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(5000);
+
+        service.setParallelThreshold(Integer.MAX_VALUE);
+        List<ClusterSizingResult> sequential = service.scoreNodetypes(8000, NORMAL_POD, nodeTypes, 25, ClusterSizingOrder.SCORE);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            service = new NodeTypeCalculator(new NumbersOfPodsAndNodesCalculator(), pool, 100);
+            List<ClusterSizingResult> parallel = service.scoreNodetypes(8000, NORMAL_POD, nodeTypes, 25, ClusterSizingOrder.SCORE);
+
+            assert sequential.size() == 25;
+            assert sequential.equals(parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReportTheRejectedNodeTypesWithReason() {
+        HashSet<_NodeDefinition> nodeTypes = new HashSet<>();
+        nodeTypes.add(SMALL_NODES);
+        nodeTypes.add(DEFAULT_NODE);
+        nodeTypes.add(BIG_NODES);
+
+        ClusterSizingReport cpu = service.reportNodetypes(250, NORMAL_POD.withMilliCores(3000L), nodeTypes, 0, ClusterSizingOrder.SCORE);
+        LOG.debug("Report: {}", cpu);
+
+        assert cpu.getResults().size() == 2;
+        assert cpu.getRejected().size() == 1;
+        assert cpu.getRejected().get(0).getNodeSizing().equals(SMALL_NODES);
+        assert cpu.getRejected().get(0).getReason() == RejectionReason.CPU;
+
+        ClusterSizingReport memory = service.reportNodetypes(250, NORMAL_POD.withMemory(8 * GiB), nodeTypes, 0, ClusterSizingOrder.SCORE);
+
+        assert memory.getResults().size() == 2;
+        assert memory.getRejected().get(0).getReason() == RejectionReason.MEMORY;
+
+        ClusterSizingReport nodes = service.reportNodetypes(50000, NORMAL_POD, nodeTypes, 1, ClusterSizingOrder.SCORE);
+
+        assert nodes.getResults().size() == 1;
+        assert nodes.getResults().get(0).getScore() == 358 * 1000L;
+        assert nodes.getRejected().get(0).getReason() == RejectionReason.CLUSTER_NODE_LIMIT;
+    }
+
+    @Test
+    public void shouldReportTheSequentialResultWhenScoringInParallel() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(5000);
+
+        service.setParallelThreshold(Integer.MAX_VALUE);
+        ClusterSizingReport sequential = service.reportNodetypes(8000, NORMAL_POD.withMilliCores(1500L), nodeTypes, 10, ClusterSizingOrder.SCORE);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            service = new NodeTypeCalculator(new NumbersOfPodsAndNodesCalculator(), pool, 100);
+            ClusterSizingReport parallel = service.reportNodetypes(8000, NORMAL_POD.withMilliCores(1500L), nodeTypes, 10, ClusterSizingOrder.SCORE);
+
+            assert sequential.getResults().size() == 10;
+            assert !sequential.getRejected().isEmpty();
+            assert sequential.equals(parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldDeliverTheObjectResultWhenScoringACatalog() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(2000);
+        NodeCatalog catalog = NodeCatalog.of(nodeTypes);
+
+        assert catalog.size() == 2000;
+        assert catalog.get(7).equals(nodeTypes.get(7));
+
+        service.setParallelThreshold(Integer.MAX_VALUE);
+        for (ClusterSizingOrder order : ClusterSizingOrder.values()) {
+            for (int limit : new int[]{0, 1, 25, 5000}) {
+                List<ClusterSizingResult> expected = service.scoreNodetypes(8000, NORMAL_POD, nodeTypes, limit, order);
+                List<ClusterSizingResult> result = service.scoreNodetypes(8000, NORMAL_POD, catalog, limit, order);
+
+                assert expected.equals(result) : "order=" + order + ", limit=" + limit;
+            }
+        }
+    }
+
+    @Test
+    public void shouldReportTheObjectResultWhenScoringACatalog() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(2000);
+        NodeCatalog catalog = NodeCatalog.of(nodeTypes);
+
+        service.setParallelThreshold(Integer.MAX_VALUE);
+        ClusterSizingReport expected = service.reportNodetypes(8000, NORMAL_POD.withMilliCores(1500L), nodeTypes, 10, ClusterSizingOrder.WASTED_CPU);
+        ClusterSizingReport result = service.reportNodetypes(8000, NORMAL_POD.withMilliCores(1500L), catalog, 10, ClusterSizingOrder.WASTED_CPU);
+
+        assert result.getResults().size() == 10;
+        assert !result.getRejected().isEmpty();
+        assert expected.equals(result);
+    }
+
+    @Test
+    public void shouldScoreTheCatalogWithTheGivenKernel() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(100);
+        NodeCatalog catalog = NodeCatalog.of(nodeTypes);
+        CountingScoringKernel kernel = new CountingScoringKernel();
+
+        assert service.getKernel() == ScoringKernels.scalar();
+        List<ClusterSizingResult> expected = service.scoreNodetypes(8000, NORMAL_POD, catalog, 10, ClusterSizingOrder.SCORE);
+
+        // the pods per node of the first catalog are cached, the kernel scores a copy not swept before.
+        service.setKernel(kernel);
+        List<ClusterSizingResult> result = service.scoreNodetypes(8000, NORMAL_POD, NodeCatalog.of(nodeTypes), 10, ClusterSizingOrder.SCORE);
+
+        assert kernel.calls.get() == 1;
+        assert expected.equals(result);
+        assert catalog.getMemoryColumn()[3] == nodeTypes.get(3).getMemory();
+        assert catalog.getMillicoresColumn()[3] == nodeTypes.get(3).getMillicores();
+        assert catalog.getMaxPodsColumn()[3] == nodeTypes.get(3).getMaxPods();
+        assert catalog.getLoggingEventsLimitColumn()[3] == nodeTypes.get(3).getLoggingEventsPerSecondLimit();
+        assert catalog.getScoreColumn()[3] == nodeTypes.get(3).getScore();
+    }
+
+    @Test
+    public void shouldReturnNothingWhenTheCatalogHasNoSolution() {
+        NodeCatalog catalog = NodeCatalog.of(List.of(SMALL_NODES));
+
+        ClusterSizingReport result = service.reportNodetypes(250, NORMAL_POD.withMilliCores(3000L), catalog, 3, ClusterSizingOrder.SCORE);
+
+        assert result.getResults().isEmpty();
+        assert result.getRejected().get(0).getReason() == RejectionReason.CPU;
+    }
+
+    @Test
+    public void shouldReportTheBestNodeTypesForAMixedWorkload() {
+        List<PodProfile> workload = List.of(
+                PodProfile.builder().pod(NORMAL_POD).count(2000).build(),
+                PodProfile.builder().pod(NORMAL_POD.withMilliCores(1500L).withMemory(4 * GiB)).count(100).build()
+        );
+
+        WorkloadSizingReport result = service.reportWorkload(workload, generateNodeTypes(16), 3);
+        LOG.debug("Report: {}", result);
+
+        assert result.getResults().size() == 3;
+        assert result.getResults().get(0).getScore() == 15075L;
+        assert result.getResults().get(0).getScore() <= result.getResults().get(1).getScore();
+        assert result.getRejected().size() == 4;
+        assert result.getRejected().get(0).getReason() == RejectionReason.CPU;
+        assert result.getRejected().get(1).getReason() == RejectionReason.MEMORY;
+    }
+
+    @Test
+    public void shouldReportTheSequentialWorkloadWhenPackingInParallel() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(5000);
+        List<PodProfile> workload = List.of(
+                PodProfile.builder().pod(NORMAL_POD).count(6000).build(),
+                PodProfile.builder().pod(NORMAL_POD.withMilliCores(1500L)).count(2000).build()
+        );
+
+        service.setParallelThreshold(Integer.MAX_VALUE);
+        WorkloadSizingReport sequential = service.reportWorkload(workload, nodeTypes, 10);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            service = new NodeTypeCalculator(new NumbersOfPodsAndNodesCalculator(), pool, 100);
+            WorkloadSizingReport parallel = service.reportWorkload(workload, nodeTypes, 10);
+
+            assert sequential.getResults().size() == 10;
+            assert !sequential.getRejected().isEmpty();
+            assert sequential.equals(parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<_NodeDefinition> generateNodeTypes(final int count) {
+        ArrayList<_NodeDefinition> result = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            // one of eight node types has a single core and is too small
+            int logical = 1 << (i % 8);
+
+            result.add(NodeDefinition.builder()
+                               .cpu(CPU.builder()
+                                            .sockets(1)
+                                            .cores(Math.max(1, logical / 2))
+                                            .logical(logical)
+                                            .build()
+                               )
+                               .disk(2048 * GiB)
+                               .diskBandwidth(GiB)
+                               .memory((1 + i % 5) * logical * GiB)
+                               .score(1000L + i)
+                               .build()
+            );
+        }
+
+        return result;
+    }
+
     @Test
     public void shouldCreateAValidNodeTypeCalculatorWhenAnotherCalculatorIsGiven() {
         NumbersOfPodsAndNodesCalculator calculator = new NumbersOfPodsAndNodesCalculator();
@@ -143,6 +417,134 @@ public class NodeTypeCalculatorTest {
         assert calculator.equals(service.calculator);
     }
 
+    @Test
+    public void shouldReportTheLargestClustersFirstWhenTheMaximumNumberOfPodsIsAsked() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(16);
+
+        ClusterSizingReport result = service.reportMaxNumberOfPods(
+                10, 25000L, NORMAL_POD.withMilliCores(1500L), nodeTypes, 0, ClusterSizingOrder.CAPACITY
+        );
+        LOG.debug("Report: {}", result);
+
+        assert result.getRejected().size() == 2;
+        assert result.getRejected().get(0).getReason() == RejectionReason.CPU;
+        assert result.getResults().size() == 14;
+        for (int i = 1; i < result.getResults().size(); i++) {
+            _ClusterSizingResult previous = result.getResults().get(i - 1);
+            _ClusterSizingResult current = result.getResults().get(i);
+
+            assert current.getNodes() <= 10 && current.getScore() <= 25000L;
+            assert previous.getNodes() * previous.getPodsPerNode() >= current.getNodes() * current.getPodsPerNode();
+        }
+    }
+
+    @Test
+    public void shouldRejectTheNodeTypesWithTooFewPodsWhenTheLargestPodsAreAsked() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(8);
+
+        ClusterSizingReport result = service.reportLargestPods(1000, 10, 5, nodeTypes, 0, ClusterSizingOrder.SCORE);
+        LOG.debug("Report: {}", result);
+
+        assert result.getResults().size() == 4;
+        assert result.getRejected().size() == 4;
+        assert result.getRejected().stream().allMatch(r -> r.getReason() == RejectionReason.POD_LIMIT);
+        assert result.getResults().stream().allMatch(r -> r.getNodes() == 10 && r.getPodsPerNode() == 100);
+    }
+
+    @Test
+    public void shouldReportTheSequentialInverseResultsWhenScoringInParallel() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(2000);
+
+        service.setParallelThreshold(Integer.MAX_VALUE);
+        ClusterSizingReport sequentialCapacity = service.reportMaxNumberOfPods(10, 25000L, NORMAL_POD.withMilliCores(1500L), nodeTypes, 10, ClusterSizingOrder.CAPACITY);
+        ClusterSizingReport sequentialLargest = service.reportLargestPods(1000, 10, 5, nodeTypes, 10, ClusterSizingOrder.SCORE);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            service = new NodeTypeCalculator(new NumbersOfPodsAndNodesCalculator(), pool, 100);
+
+            assert !sequentialCapacity.getRejected().isEmpty();
+            assert !sequentialLargest.getRejected().isEmpty();
+            assert sequentialCapacity.equals(service.reportMaxNumberOfPods(10, 25000L, NORMAL_POD.withMilliCores(1500L), nodeTypes, 10, ClusterSizingOrder.CAPACITY));
+            assert sequentialLargest.equals(service.reportLargestPods(1000, 10, 5, nodeTypes, 10, ClusterSizingOrder.SCORE));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldMatchTheSingleSizingsWhenSweepingARangeOfPods() {
+        List<_NodeDefinition> nodeTypes = generateNodeTypes(40);
+        NodeCatalog catalog = NodeCatalog.of(nodeTypes);
+        _Pod pod = NORMAL_POD.withMilliCores(1500L);
+
+        List<NodeCountCurve> curves = service.sweepNodetypes(100, 30000, pod, catalog);
+        LOG.debug("Swept {} node types.", curves.size());
+
+        assert !curves.isEmpty();
+        for (int pods = 100; pods <= 30000; pods += 97) {
+            HashMap<_NodeDefinition, Integer> expected = new HashMap<>();
+            for (ClusterSizingResult r : service.scoreNodetypes(pods, pod, catalog, 0, ClusterSizingOrder.SCORE)) {
+                expected.put(r.getNodeSizing(), r.getNodes());
+            }
+
+            HashMap<_NodeDefinition, Integer> swept = new HashMap<>();
+            for (NodeCountCurve c : curves) {
+                if (pods <= c.getMaxNumberOfPods()) {
+                    swept.put(c.getNodeSizing(), nodesOf(c, pods));
+                }
+            }
+
+            assert expected.equals(swept) : "pods=" + pods;
+        }
+    }
+
+    @Test
+    public void shouldEndTheCurveWhenTheClusterNodeLimitIsReached() {
+        List<NodeCountCurve> curves = service.sweepNodetypes(1, 1_000_000, NORMAL_POD, NodeCatalog.of(List.of(DEFAULT_NODE)));
+
+        NodeCountCurve curve = curves.get(0);
+        List<Integer> breakpoints = curve.getBreakpoints();
+
+        assert curve.getNodes() == 1;
+        assert curve.getMaxNumberOfPods() == curve.getPodsPerNode() * 2000;
+        assert breakpoints.size() == 1999;
+        assert breakpoints.get(0) == curve.getPodsPerNode() + 1;
+        assert breakpoints.get(1998) == curve.getPodsPerNode() * 1999 + 1;
+    }
+
+    @Test
+    public void shouldFailWhenTheRangeOfPodsIsEmpty() {
+        try {
+            service.sweepNodetypes(200, 100, NORMAL_POD, NodeCatalog.of(List.of(DEFAULT_NODE)));
+
+            Assertions.fail("An empty range of pods should throw an IllegalArgumentException!");
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldFailWhenTheRangeOfPodsStartsWithoutPods() {
+        try {
+            service.sweepNodetypes(0, 100, NORMAL_POD, NodeCatalog.of(List.of(DEFAULT_NODE)));
+
+            Assertions.fail("A range of pods starting at 0 should throw an IllegalArgumentException!");
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    private static int nodesOf(final NodeCountCurve curve, final int pods) {
+        int result = curve.getNodes();
+        for (int breakpoint : curve.getBreakpoints()) {
+            if (breakpoint <= pods) {
+                result++;
+            }
+        }
+        return result;
+    }
+
     @BeforeEach
     public void setUpService() {
         service = new NodeTypeCalculator();
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts._Pod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Random;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.MiB;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.RESERVED_BYTES_PER_POD;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.RESERVED_MILLICORE_PER_POD;
+
+/**
+ * Checks the closed form solver of {@link NumbersOfPodsAndNodesCalculator}
+ * against the iterative algorithm it replaced. The reference implementation
+ * is kept here verbatim (minus logging).
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class NumbersOfPodsAndNodesCalculatorDifferentialTest {
+    private static final Logger LOG = LoggerFactory.getLogger(NumbersOfPodsAndNodesCalculatorDifferentialTest.class);
+
+    private static final long SEED = 20200214L;
+    private static final int CAPACITY_SAMPLES = 200000;
+    private static final int CALCULATION_SAMPLES = 50000;
+
+    /**
+     * Copy of the former cluster size limit of the calculator.
+     */
+    private static final int MAX_NODES_PER_CLUSTER = 2000;
+
+    private NumbersOfPodsAndNodesCalculator service;
+    private Random random;
+
+
+    @Test
+    public void shouldMatchIterativeSolutionForMemory() {
+        for (int i = 0; i < CAPACITY_SAMPLES; i++) {
+            long capacity = 1 + nextLong(2048 * GiB);
+            long podSize = 1 + nextLong(randomScale());
+            int maxPods = random.nextInt(_NodeDefinition.OKD_MAX_PODS_PER_NODE + 1);
+
+            long expected = iterativePodsFittingIntoCapacity(capacity, podSize, RESERVED_BYTES_PER_POD, maxPods);
+            long result = NumbersOfPodsAndNodesCalculator.podsFittingIntoCapacity(capacity, podSize, RESERVED_BYTES_PER_POD, maxPods);
+
+            assert expected == result : String.format("capacity=%d, pod=%d, maxPods=%d: expected %d but got %d",
+                                                      capacity, podSize, maxPods, expected, result);
+        }
+    }
+
+    @Test
+    public void shouldMatchIterativeSolutionForCpu() {
+        for (int i = 0; i < CAPACITY_SAMPLES; i++) {
+            long capacity = 1 + nextLong(256 * 1000L);
+            long podSize = 1 + nextLong(64 * 1000L);
+            int maxPods = random.nextInt(_NodeDefinition.OKD_MAX_PODS_PER_NODE + 1);
+
+            long expected = iterativePodsFittingIntoCapacity(capacity, podSize, RESERVED_MILLICORE_PER_POD, maxPods);
+            long result = NumbersOfPodsAndNodesCalculator.podsFittingIntoCapacity(capacity, podSize, RESERVED_MILLICORE_PER_POD, maxPods);
+
+            assert expected == result : String.format("capacity=%d, pod=%d, maxPods=%d: expected %d but got %d",
+                                                      capacity, podSize, maxPods, expected, result);
+        }
+    }
+
+    @Test
+    public void shouldMatchIterativeSolutionForCompleteCalculation() {
+        int solutions = 0;
+
+        for (int i = 0; i < CALCULATION_SAMPLES; i++) {
+            Pod pod = Pod.builder()
+                    .memory(1 + nextLong(randomScale()))
+                    .milliCores(1 + nextLong(8000L))
+                    .numberOfLoggingEventsPerSecond(1 + random.nextInt(50))
+                    .build();
+
+            int logical = 1 + random.nextInt(128);
+            NodeDefinition node = NodeDefinition.builder()
+                    .cpu(CPU.builder()
+                                 .sockets(1)
+                                 .cores(logical)
+                                 .logical(logical)
+                                 .build()
+                    )
+                    .memory(GiB + nextLong(1024 * GiB))
+                    .disk(2048 * GiB)
+                    .diskBandwidth(GiB)
+                    .podsPerCore(1 + random.nextInt(20))
+                    .loggingEventsPerSecondLimit(1 + random.nextInt(2000))
+                    .build();
+
+            int totalNumberOfPods = 1 + random.nextInt(100000);
+
+            String expected;
+            try {
+                expected = "pods=" + iterativePodsPerNode(pod, node)
+                        + ", nodes=" + iterativeNumberOfNodes(iterativePodsPerNode(pod, node), totalNumberOfPods);
+            } catch (NoSolutionException e) {
+                expected = e.getMessage();
+            }
+
+            String result;
+            try {
+                ClusterSizingResult sizing = service.calculateNumberOfPodsPerNodeAndNumberOfNodes(totalNumberOfPods, pod, node);
+                result = "pods=" + sizing.getPodsPerNode() + ", nodes=" + sizing.getNodes();
+                solutions++;
+            } catch (NoSolutionException e) {
+                result = e.getMessage();
+            }
+
+            assert expected.equals(result) : String.format("pod=%s, node=%s, total=%d: expected '%s' but got '%s'",
+                                                           pod, node, totalNumberOfPods, expected, result);
+        }
+
+        LOG.debug("Compared {} calculations, {} had a solution.", CALCULATION_SAMPLES, solutions);
+        assert solutions > 0;
+        assert solutions < CALCULATION_SAMPLES;
+    }
+
+
+    /**
+     * @return a random upper limit for pod sizes, from tiny pods (below 1 MiB) to huge pods (64 GiB).
+     */
+    private long randomScale() {
+        switch (random.nextInt(3)) {
+            case 0:
+                return MiB;
+            case 1:
+                return GiB;
+            default:
+                return 64 * GiB;
+        }
+    }
+
+    private long nextLong(final long bound) {
+        return (long) (random.nextDouble() * bound);
+    }
+
+
+    private static long iterativePodsFittingIntoCapacity(
+            final long capacity,
+            final long podSize,
+            final long reservedPerPod,
+            final int maxPods
+    ) {
+        long used;
+        long pods;
+        long subtractPod = 0;
+        do {
+            pods = capacity / podSize - subtractPod;
+            pods = Math.min(maxPods, pods);
+            used = pods * (podSize + reservedPerPod);
+            subtractPod++;
+        } while (used > capacity);
+
+        return pods;
+    }
+
+    private static int iterativePodsPerNode(final _Pod defaultPod, final _NodeDefinition nodeDefinition)
+            throws NoSolutionException {
+        if (defaultPod.getMilliCores() + RESERVED_MILLICORE_PER_POD > nodeDefinition.getMillicores()) {
+            throw new NoSolutionException("Not enough CPU per node for this work load.");
+        }
+
+        if (defaultPod.getMemory() + RESERVED_BYTES_PER_POD > nodeDefinition.getMemory()) {
+            throw new NoSolutionException("Not enough memory per node for this work load.");
+        }
+
+        long podsForMemory = iterativePodsFittingIntoCapacity(
+                nodeDefinition.getMemory(), defaultPod.getMemory(), RESERVED_BYTES_PER_POD, nodeDefinition.getMaxPods());
+        long podsForCpu = iterativePodsFittingIntoCapacity(
+                nodeDefinition.getMillicores(), defaultPod.getMilliCores(), RESERVED_MILLICORE_PER_POD, nodeDefinition.getMaxPods());
+        long podsForLoggingEvents = (int) Math.ceil((double) nodeDefinition.getLoggingEventsPerSecondLimit()
+                                                            / defaultPod.getNumberOfLoggingEventsPerSecond());
+
+        return (int) Math.min(Math.min(Math.min(podsForCpu, podsForMemory), podsForLoggingEvents), nodeDefinition.getMaxPods());
+    }
+
+    private static int iterativeNumberOfNodes(final int podsPerNode, final int totalNumberOfPods) throws NoSolutionException {
+        if (Math.ceil((double) totalNumberOfPods / podsPerNode) > MAX_NODES_PER_CLUSTER) {
+            throw new NoSolutionException("Too many nodes in cluster.");
+        }
+
+        return (int) Math.min(Math.ceil((double) totalNumberOfPods / podsPerNode), MAX_NODES_PER_CLUSTER);
+    }
+
+
+    @BeforeEach
+    public void setUp() {
+        service = new NumbersOfPodsAndNodesCalculator();
+        random = new Random(SEED);
+    }
+}
@@ -21,6 +21,7 @@ import de.kaiserpfalzedv.okdcalc.facts.CPU;
 import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
 import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
 import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import de.kaiserpfalzedv.okdcalc.facts.RejectionReason;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -138,7 +139,7 @@ public class NumbersOfPodsAndNodesCalculatorTest {
             LOG.debug("Result: {}", result);
             Assertions.fail("A NoSolutionException should have been thrown!");
         } catch (NoSolutionException e) {
-            // everything is fine.
+            assert e.getReason().orElse(null) == RejectionReason.MEMORY;
         }
     }
 
@@ -149,7 +150,7 @@ public class NumbersOfPodsAndNodesCalculatorTest {
             LOG.debug("Result: {}", result);
             Assertions.fail("A NoSolutionException should have been thrown!");
         } catch (NoSolutionException e) {
-            // everything is fine.
+            assert e.getReason().orElse(null) == RejectionReason.CPU;
         }
     }
 
@@ -160,6 +161,197 @@ public class NumbersOfPodsAndNodesCalculatorTest {
             LOG.debug("Result: {}", result);
             Assertions.fail("A NoSolutionException should have been thrown!");
         } catch (NoSolutionException e) {
+            assert e.getReason().orElse(null) == RejectionReason.CLUSTER_NODE_LIMIT;
+        }
+    }
+
+    @Test
+    public void shouldPackTheNodesWhenTheMaximumNumberOfPodsIsCalculated() throws NoSolutionException {
+        ClusterSizingResult result = service.calculateMaxNumberOfPods(10, NORMAL_POD, DEFAULT_NODE);
+        LOG.debug("Result: {}", result);
+
+        int pods = result.getNodes() * result.getPodsPerNode();
+
+        assert result.getNodes() == 10;
+        assert service.calculateNumberOfPodsPerNodeAndNumberOfNodes(pods, NORMAL_POD, DEFAULT_NODE).getNodes() == 10;
+        assert service.calculateNumberOfPodsPerNodeAndNumberOfNodes(pods + 1, NORMAL_POD, DEFAULT_NODE).getNodes() == 11;
+    }
+
+    @Test
+    public void shouldUseTheNodesPaidByTheBudgetWhenABudgetIsGiven() throws NoSolutionException {
+        ClusterSizingResult result = service.calculateMaxNumberOfPodsForBudget(3500L, NORMAL_POD, DEFAULT_NODE);
+
+        assert result.getNodes() == 3;
+        assert result.getScore() == 3000L;
+        assert service.calculateMaxNumberOfPods(2, 3500L, NORMAL_POD, DEFAULT_NODE).getNodes() == 2;
+    }
+
+    @Test
+    public void shouldUseAllNodesOfAClusterWhenTheNodesAreFree() throws NoSolutionException {
+        ClusterSizingResult result = service.calculateMaxNumberOfPodsForBudget(0L, NORMAL_POD, DEFAULT_NODE.withScore(0L));
+
+        assert result.getNodes() == 2000;
+    }
+
+    @Test
+    public void shouldThrowNoSolutionExceptionWhenTheBudgetPaysNoNode() {
+        try {
+            ClusterSizingResult result = service.calculateMaxNumberOfPodsForBudget(999L, NORMAL_POD, DEFAULT_NODE);
+            LOG.debug("Result: {}", result);
+            Assertions.fail("A NoSolutionException should have been thrown!");
+        } catch (NoSolutionException e) {
+            assert e.getReason().orElse(null) == RejectionReason.BUDGET;
+        }
+    }
+
+    @Test
+    public void shouldThrowNoSolutionExceptionWhenTheClusterHasTooManyNodes() {
+        try {
+            ClusterSizingResult result = service.calculateMaxNumberOfPods(2001, NORMAL_POD, DEFAULT_NODE);
+            LOG.debug("Result: {}", result);
+            Assertions.fail("A NoSolutionException should have been thrown!");
+        } catch (NoSolutionException e) {
+            assert e.getReason().orElse(null) == RejectionReason.CLUSTER_NODE_LIMIT;
+        }
+    }
+
+    @Test
+    public void shouldThrowNoSolutionExceptionWhenTheMaximumNumberOfPodsDoesNotFitOnTheNode() {
+        try {
+            ClusterSizingResult result = service.calculateMaxNumberOfPods(10, BIG_PODS_CPU, SMALL_NODES);
+            LOG.debug("Result: {}", result);
+            Assertions.fail("A NoSolutionException should have been thrown!");
+        } catch (NoSolutionException e) {
+            assert e.getReason().orElse(null) == RejectionReason.CPU;
+        }
+    }
+
+    @Test
+    public void shouldThrowNoSolutionExceptionWhenTheNodeMayRunNoPods() {
+        try {
+            ClusterSizingResult result = service.calculateMaxNumberOfPods(10, NORMAL_POD, DEFAULT_NODE.withMaxPods(0));
+            LOG.debug("Result: {}", result);
+            Assertions.fail("A NoSolutionException should have been thrown!");
+        } catch (NoSolutionException e) {
+            assert e.getReason().orElse(null) == RejectionReason.POD_LIMIT;
+        }
+    }
+
+    @Test
+    public void shouldThrowNoSolutionExceptionWhenFluentdCanNotHandleASinglePod() {
+        try {
+            ClusterSizingResult result = service.calculateMaxNumberOfPods(10, NORMAL_POD.withNumberOfLoggingEventsPerSecond(5), DEFAULT_NODE.withLoggingEventsPerSecondLimit(0));
+            LOG.debug("Result: {}", result);
+            Assertions.fail("A NoSolutionException should have been thrown!");
+        } catch (NoSolutionException e) {
+            assert e.getReason().orElse(null) == RejectionReason.LOGGING_EVENTS_LIMIT;
+        }
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenTheClusterHasNoNodes() throws NoSolutionException {
+        try {
+            ClusterSizingResult result = service.calculateMaxNumberOfPods(0, NORMAL_POD, DEFAULT_NODE);
+            Assertions.fail("An IllegalArgumentException should have been thrown, got: " + result);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldReturnTheLargestFittingPodWhenPodsAndNodesAreGiven() throws NoSolutionException {
+        ClusterSizingResult result = service.calculateLargestPod(1000, 10, 5, DEFAULT_NODE);
+        LOG.debug("Result: {}", result);
+
+        Pod largest = Pod.copyOf(result.getDefaultPod());
+
+        assert result.getNodes() == 10;
+        assert result.getPodsPerNode() == 100;
+        assert service.calculateNumberOfPodsPerNodeAndNumberOfNodes(1000, largest, DEFAULT_NODE).getNodes() <= 10;
+        assert service.calculateNumberOfPodsPerNodeAndNumberOfNodes(1000, largest.withMemory(largest.getMemory() + 1), DEFAULT_NODE).getNodes() > 10;
+        assert service.calculateNumberOfPodsPerNodeAndNumberOfNodes(1000, largest.withMilliCores(largest.getMilliCores() + 1), DEFAULT_NODE).getNodes() > 10;
+    }
+
+    @Test
+    public void shouldReportTheRequestedNodesWhenThePodsDoNotFillTheLastNode() throws NoSolutionException {
+        ClusterSizingResult result = service.calculateLargestPod(1001, 10, 5, DEFAULT_NODE);
+        LOG.debug("Result: {}", result);
+
+        assert result.getNodes() == 10;
+        assert result.getPodsPerNode() == 101;
+    }
+
+    @Test
+    public void shouldThrowNoSolutionExceptionWhenTheNodeMayNotRunThatManyPods() {
+        try {
+            ClusterSizingResult result = service.calculateLargestPod(2000, 10, 5, DEFAULT_NODE);
+            LOG.debug("Result: {}", result);
+            Assertions.fail("A NoSolutionException should have been thrown!");
+        } catch (NoSolutionException e) {
+            assert e.getReason().orElse(null) == RejectionReason.POD_LIMIT;
+        }
+    }
+
+    @Test
+    public void shouldThrowNoSolutionExceptionWhenFluentdCanNotHandleTheLoggingEvents() {
+        try {
+            ClusterSizingResult result = service.calculateLargestPod(1000, 10, 10, DEFAULT_NODE);
+            LOG.debug("Result: {}", result);
+            Assertions.fail("A NoSolutionException should have been thrown!");
+        } catch (NoSolutionException e) {
+            assert e.getReason().orElse(null) == RejectionReason.LOGGING_EVENTS_LIMIT;
+        }
+    }
+
+    @Test
+    public void shouldThrowNoSolutionExceptionWhenTheLargestPodWouldNeedTooManyNodes() {
+        try {
+            ClusterSizingResult result = service.calculateLargestPod(5000, 2001, 5, DEFAULT_NODE);
+            LOG.debug("Result: {}", result);
+            Assertions.fail("A NoSolutionException should have been thrown!");
+        } catch (NoSolutionException e) {
+            assert e.getReason().orElse(null) == RejectionReason.CLUSTER_NODE_LIMIT;
+        }
+    }
+
+    @Test
+    public void shouldThrowNoSolutionExceptionWhenNoCpuIsLeftForTheLargestPod() {
+        try {
+            ClusterSizingResult result = service.calculateLargestPod(1000, 10, 5, DEFAULT_NODE.withMillicores(1000L).withMaxPods(250));
+            LOG.debug("Result: {}", result);
+            Assertions.fail("A NoSolutionException should have been thrown!");
+        } catch (NoSolutionException e) {
+            assert e.getReason().orElse(null) == RejectionReason.CPU;
+        }
+    }
+
+    @Test
+    public void shouldThrowNoSolutionExceptionWhenNoMemoryIsLeftForTheLargestPod() {
+        try {
+            ClusterSizingResult result = service.calculateLargestPod(40, 10, 5, SMALL_NODES);
+            LOG.debug("Result: {}", result);
+            Assertions.fail("A NoSolutionException should have been thrown!");
+        } catch (NoSolutionException e) {
+            assert e.getReason().orElse(null) == RejectionReason.MEMORY;
+        }
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenTheLargestPodHasNoPodsToRun() throws NoSolutionException {
+        try {
+            ClusterSizingResult result = service.calculateLargestPod(0, 10, 5, DEFAULT_NODE);
+            Assertions.fail("An IllegalArgumentException should have been thrown, got: " + result);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenNoRejectionCodeIsGiven() {
+        try {
+            RejectionReason result = NumbersOfPodsAndNodesCalculator.rejectionReason(42);
+            Assertions.fail("An IllegalArgumentException should have been thrown, got: " + result);
+        } catch (IllegalArgumentException e) {
             // everything is fine.
         }
     }
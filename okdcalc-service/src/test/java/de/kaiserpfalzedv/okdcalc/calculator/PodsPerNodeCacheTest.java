@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.MiB;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class PodsPerNodeCacheTest {
+    private static final Logger LOG = LoggerFactory.getLogger(PodsPerNodeCacheTest.class);
+
+    private static final Pod SMALL_POD = Pod.builder()
+            .memory(100000L)
+            .milliCores(100L)
+            .build();
+
+    private static final Pod NORMAL_POD = Pod.builder()
+            .memory(1024000L)
+            .milliCores(100L)
+            .build();
+
+    private static final NodeDefinition DEFAULT_NODE = NodeDefinition.builder()
+            .cpu(
+                    CPU.builder()
+                            .sockets(1)
+                            .cores(8)
+                            .logical(16)
+                            .build()
+            )
+            .disk(2048 * GiB)
+            .diskBandwidth(GiB)
+            .maxNumberOfLoggingDisks(8)
+            .memory((long) 64 * 1024 * 1024 * 1024)
+            .podsPerCore(10)
+            .build();
+
+    private static final NodeDefinition SMALL_NODES = NodeDefinition.builder()
+            .cpu(
+                    CPU.builder()
+                            .sockets(1)
+                            .cores(1)
+                            .logical(2)
+                            .build()
+            )
+            .disk(2048 * GiB)
+            .diskBandwidth(GiB)
+            .maxNumberOfLoggingDisks(8)
+            .memory((long) 2 * 1024 * 1024)
+            .podsPerCore(10)
+            .build();
+
+
+    @Test
+    public void shouldLookUpThePodsPerNodeWhenTheyHaveBeenCalculatedBefore() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(10);
+
+        int first = cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+        int second = cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+        LOG.debug("Pods per node: first={}, second={}", first, second);
+
+        assert first == 140;
+        assert second == first;
+        assert cache.getHits() == 1;
+        assert cache.getMisses() == 1;
+        assert cache.getSize() == 1;
+    }
+
+    @Test
+    public void shouldShareTheEntryWhenTheNodeTypesOnlyDifferInAttributesNotUsed() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(10);
+
+        cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+        cache.podsPerNode(SMALL_POD, DEFAULT_NODE.withDisk(4096 * GiB));
+
+        assert cache.getHits() == 1;
+        assert cache.getSize() == 1;
+    }
+
+    @Test
+    public void shouldRememberTheRejectionWhenThePodDoesNotFit() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(10);
+
+        assert cache.podsPerNode(NORMAL_POD, SMALL_NODES) == NumbersOfPodsAndNodesCalculator.REJECTED_MEMORY;
+        assert cache.podsPerNode(NORMAL_POD, SMALL_NODES) == NumbersOfPodsAndNodesCalculator.REJECTED_MEMORY;
+
+        assert cache.getHits() == 1;
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedEntryWhenTheCacheIsFull() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(2);
+
+        cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+        cache.podsPerNode(NORMAL_POD, DEFAULT_NODE);
+        cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+        cache.podsPerNode(SMALL_POD, SMALL_NODES);
+
+        assert cache.getSize() == 2;
+        assert cache.getEvictions() == 1;
+
+        cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+        cache.podsPerNode(NORMAL_POD, DEFAULT_NODE);
+
+        assert cache.getHits() == 2;
+        assert cache.getMisses() == 4;
+    }
+
+    @Test
+    public void shouldKeepAHotEntryWhenNewEntriesAreInserted() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(4);
+        cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+
+        for (int i = 1; i <= 100; i++) {
+            cache.podsPerNode(SMALL_POD, DEFAULT_NODE.withMemory(DEFAULT_NODE.getMemory() + i));
+            cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+        }
+
+        assert cache.getHits() == 100;
+        assert cache.getMisses() == 101;
+        assert cache.getSize() == 4;
+        assert cache.getEvictions() == 97;
+    }
+
+    @Test
+    public void shouldNotExceedTheCapacityWhenFilledConcurrently() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(4 * PodsPerNodeCache.MIN_STRIPE_CAPACITY);
+        assert cache.getStripes() == 4;
+
+        IntStream.range(0, 20000).parallel()
+                .forEach(i -> cache.podsPerNode(SMALL_POD, DEFAULT_NODE.withMemory(GiB + i)));
+        LOG.debug("Size: {}, evictions: {}", cache.getSize(), cache.getEvictions());
+
+        assert cache.getSize() <= cache.getCapacity();
+        assert cache.getSize() + cache.getEvictions() == 20000;
+    }
+
+    @Test
+    public void shouldSplitOnlyLargeCachesIntoStripes() {
+        assert new PodsPerNodeCache(PodsPerNodeCache.MIN_STRIPE_CAPACITY * 2 - 1).getStripes() == 1;
+        assert new PodsPerNodeCache(PodsPerNodeCache.MIN_STRIPE_CAPACITY * 2).getStripes() == 2;
+        assert new PodsPerNodeCache(PodsPerNodeCache.DEFAULT_CAPACITY).getStripes() == PodsPerNodeCache.MAX_STRIPES;
+    }
+
+    @Test
+    public void shouldEvictEntriesWhenTheCapacityIsReduced() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(10);
+        cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+        cache.podsPerNode(NORMAL_POD, DEFAULT_NODE);
+        cache.podsPerNode(SMALL_POD, SMALL_NODES);
+
+        cache.setCapacity(1);
+
+        assert cache.getCapacity() == 1;
+        assert cache.getSize() == 1;
+        assert cache.getEvictions() == 2;
+    }
+
+    @Test
+    public void shouldBypassTheCacheWhenTheCapacityIs0() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(0);
+        NodeCatalog catalog = NodeCatalog.of(List.of(DEFAULT_NODE));
+
+        cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+        cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+        cache.putPodsPerNode(SMALL_POD, catalog, new int[]{140});
+
+        assert cache.getPodsPerNode(SMALL_POD, catalog) == null;
+        assert cache.getSize() == 0;
+        assert cache.getColumns() == 0;
+        assert cache.getMisses() == 0;
+        assert cache.getHits() == 0;
+        assert cache.getHitRate() == 0d;
+    }
+
+    @Test
+    public void shouldDropTheCatalogColumnsWhenTheCacheIsDisabled() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(10);
+        cache.putPodsPerNode(SMALL_POD, NodeCatalog.of(List.of(DEFAULT_NODE)), new int[]{140});
+
+        cache.setCapacity(0);
+
+        assert cache.getColumns() == 0;
+        assert cache.getEvictions() == 1;
+    }
+
+    @Test
+    public void shouldKeepTheStatisticsWhenCleared() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(10);
+        cache.podsPerNode(SMALL_POD, DEFAULT_NODE);
+
+        cache.putPodsPerNode(SMALL_POD, NodeCatalog.of(List.of(DEFAULT_NODE)), new int[]{140});
+
+        cache.clear();
+
+        assert cache.getSize() == 0;
+        assert cache.getColumns() == 0;
+        assert cache.getMisses() == 1;
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenTheCapacityIsNegative() {
+        try {
+            PodsPerNodeCache result = new PodsPerNodeCache(-1);
+            Assertions.fail("An IllegalArgumentException should have been thrown, got: " + result);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldUseTheCacheWhenCalculatingTheNumberOfNodes() throws NoSolutionException {
+        PodsPerNodeCache cache = new PodsPerNodeCache(10);
+        NumbersOfPodsAndNodesCalculator calculator = new NumbersOfPodsAndNodesCalculator(cache);
+
+        assert calculator.getCache() == cache;
+        assert calculator.calculateNumberOfPodsPerNodeAndNumberOfNodes(250, SMALL_POD, DEFAULT_NODE).getNodes() == 2;
+        assert calculator.calculateNumberOfPodsPerNodeAndNumberOfNodes(1000, SMALL_POD, DEFAULT_NODE).getNodes() == 8;
+
+        assert cache.getHits() == 1;
+        assert cache.getMisses() == 1;
+    }
+
+    @Test
+    public void shouldUseTheSharedCacheByDefault() {
+        assert new NumbersOfPodsAndNodesCalculator().getCache() == PodsPerNodeCache.shared();
+        assert PodsPerNodeCache.shared().getCapacity() == PodsPerNodeCache.DEFAULT_CAPACITY;
+        assert PodsPerNodeCache.DEFAULT_CAPACITY > 0;
+    }
+
+    @Test
+    public void shouldUseTheCacheWhenScoringInParallel() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(10);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            NodeTypeCalculator calculator = new NodeTypeCalculator(new NumbersOfPodsAndNodesCalculator(cache), pool, 1);
+
+            Set<ClusterSizingResult> first = calculator.scoreNodetypes(250, SMALL_POD, List.of(DEFAULT_NODE, SMALL_NODES));
+            Set<ClusterSizingResult> second = calculator.scoreNodetypes(1000, SMALL_POD, List.of(DEFAULT_NODE, SMALL_NODES));
+            LOG.debug("Results: first={}, second={}", first, second);
+
+            assert first.size() == 1 && second.size() == 1;
+            assert cache.getMisses() == 2;
+            assert cache.getHits() == 2;
+            assert cache.getHitRate() == 0.5d;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReuseTheCatalogColumnWhenTheCatalogIsSweptAgain() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(10);
+        NodeTypeCalculator calculator = new NodeTypeCalculator(new NumbersOfPodsAndNodesCalculator(cache));
+        NodeTypeCalculator uncached = new NodeTypeCalculator(new NumbersOfPodsAndNodesCalculator(new PodsPerNodeCache(0)));
+        NodeCatalog catalog = NodeCatalog.of(List.of(DEFAULT_NODE, SMALL_NODES));
+
+        for (int pods = 250; pods <= 2500; pods += 250) {
+            assert calculator.reportNodetypes(pods, SMALL_POD, catalog, 0, ClusterSizingOrder.SCORE)
+                    .equals(uncached.reportNodetypes(pods, SMALL_POD, catalog, 0, ClusterSizingOrder.SCORE));
+        }
+
+        assert cache.getColumns() == 1;
+        assert cache.getMisses() == 1;
+        assert cache.getHits() == 9;
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedCatalogColumnWhenTooManyAreKept() {
+        PodsPerNodeCache cache = new PodsPerNodeCache(10);
+        NodeCatalog catalog = NodeCatalog.of(List.of(DEFAULT_NODE));
+
+        for (int i = 0; i <= PodsPerNodeCache.COLUMNS; i++) {
+            cache.putPodsPerNode(SMALL_POD.withMemory(MiB + i), catalog, new int[]{i});
+        }
+
+        assert cache.getColumns() == PodsPerNodeCache.COLUMNS;
+        assert cache.getEvictions() == 1;
+        assert cache.getPodsPerNode(SMALL_POD.withMemory(MiB), catalog) == null;
+        assert cache.getPodsPerNode(SMALL_POD.withMemory(MiB + 1), catalog)[0] == 1;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class ScoringKernelsTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ScoringKernelsTest.class);
+
+
+    @Test
+    public void shouldUseTheScalarKernelWhenNoKernelIsSelected() {
+        System.clearProperty(ScoringKernels.KERNEL_PROPERTY);
+
+        ScoringKernel result = ScoringKernels.fromSystemProperties();
+
+        assert result == ScoringKernels.scalar();
+        assert "scalar".equals(result.getName());
+    }
+
+    @Test
+    public void shouldLoadTheKernelWhenSelectedBySystemProperty() {
+        System.setProperty(ScoringKernels.KERNEL_PROPERTY, "Counting");
+        try {
+            ScoringKernel result = ScoringKernels.fromSystemProperties();
+            LOG.debug("Kernel: {}", result);
+
+            assert result instanceof CountingScoringKernel;
+        } finally {
+            System.clearProperty(ScoringKernels.KERNEL_PROPERTY);
+        }
+    }
+
+    @Test
+    public void shouldUseTheScalarKernelWhenTheKernelIsUnknown() {
+        assert ScoringKernels.byName("unknown") == ScoringKernels.scalar();
+    }
+
+    @Test
+    public void shouldUseTheScalarKernelWhenTheKernelCanNotBeLoaded() throws IOException {
+        Path services = Files.createTempDirectory("kernels");
+        Path file = services.resolve("META-INF/services/" + ScoringKernel.class.getName());
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "de.kaiserpfalzedv.okdcalc.calculator.MissingScoringKernel\n");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{services.toUri().toURL()}, getClass().getClassLoader())) {
+            assert ScoringKernels.byName(CountingScoringKernel.NAME, loader) instanceof CountingScoringKernel;
+            assert ScoringKernels.byName("missing", loader) == ScoringKernels.scalar();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.calculator;
+
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import de.kaiserpfalzedv.okdcalc.facts.PodProfile;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts._PodProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.MiB;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.RESERVED_BYTES_PER_POD;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.RESERVED_MILLICORE_PER_POD;
+
+/**
+ * Checks the grouped packing of {@link WorkloadPacker} against first-fit
+ * decreasing placing every pod on its own. The reference implementation is
+ * kept here.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class WorkloadPackerTest {
+    private static final Logger LOG = LoggerFactory.getLogger(WorkloadPackerTest.class);
+
+    private static final long SEED = 20200214L;
+    private static final int SAMPLES = 300;
+
+    private static final Pod SIDECAR = Pod.builder()
+            .memory(128 * MiB)
+            .milliCores(100L)
+            .build();
+
+    private static final Pod JVM = Pod.builder()
+            .memory(16 * GiB)
+            .milliCores(4000L)
+            .build();
+
+    private static final NodeDefinition DEFAULT_NODE = NodeDefinition.builder()
+            .cpu(
+                    CPU.builder()
+                            .sockets(1)
+                            .cores(8)
+                            .logical(16)
+                            .build()
+            )
+            .disk(2048 * GiB)
+            .diskBandwidth(GiB)
+            .memory(64 * GiB)
+            .build();
+
+    private Random random;
+
+
+    @Test
+    public void shouldNeedTheNodesOfTheCalculatorWhenThereIsASingleProfile() {
+        for (int i = 0; i < SAMPLES; i++) {
+            _NodeDefinition node = randomNode();
+            Pod pod = randomPod();
+            int count = 1 + random.nextInt(100000);
+
+            int expected = NumbersOfPodsAndNodesCalculator.podsPerNode(
+                    pod.getMemory(), pod.getMilliCores(), pod.getNumberOfLoggingEventsPerSecond(),
+                    node.getMemory(), node.getMillicores(), node.getMaxPods(), node.getLoggingEventsPerSecondLimit()
+            );
+            if (expected > 0) {
+                expected = NumbersOfPodsAndNodesCalculator.numberOfNodes(expected, count);
+            }
+
+            int result = new WorkloadPacker(List.of(profile(pod, count))).pack(node);
+
+            assert expected == result : String.format("node=%s, pod=%s, count=%d: expected %d but got %d",
+                                                      node, pod, count, expected, result);
+        }
+    }
+
+    @Test
+    public void shouldMatchFirstFitDecreasingOfSinglePodsWhenTheProfilesAreMixed() {
+        for (int i = 0; i < SAMPLES; i++) {
+            _NodeDefinition node = randomNode();
+            ArrayList<_PodProfile> workload = new ArrayList<>();
+            for (int p = 1 + random.nextInt(5); p > 0; p--) {
+                workload.add(profile(randomPod(), random.nextInt(300)));
+            }
+
+            int expected = firstFitDecreasing(workload, node);
+            int result = new WorkloadPacker(workload).pack(node);
+
+            assert expected == result : String.format("node=%s, workload=%s: expected %d but got %d",
+                                                      node, workload, expected, result);
+        }
+    }
+
+    @Test
+    public void shouldFillTheGapsOfTheLargePodsWithTheSmallOnes() {
+        // 3 JVMs fill 12 cores of a node, the 30 sidecars fit into the remaining 4 cores.
+        int result = new WorkloadPacker(List.of(profile(SIDECAR, 30), profile(JVM, 3))).pack(DEFAULT_NODE);
+
+        assert result == 1 : "expected 1 node but got " + result;
+    }
+
+    @Test
+    public void shouldIgnoreProfilesWithoutPods() {
+        int result = new WorkloadPacker(List.of(profile(JVM.withMilliCores(64000L), 0), profile(SIDECAR, 100))).pack(DEFAULT_NODE);
+
+        assert result == 1 : "expected 1 node but got " + result;
+    }
+
+    @Test
+    public void shouldRejectTheNodeTypeWhenAProfileDoesNotFit() {
+        int result = new WorkloadPacker(List.of(profile(SIDECAR, 100), profile(JVM.withMilliCores(64000L), 1))).pack(DEFAULT_NODE);
+
+        assert result == NumbersOfPodsAndNodesCalculator.REJECTED_CPU : "expected CPU rejection but got " + result;
+    }
+
+    @Test
+    public void shouldRejectTheNodeTypeWhenItRunsNoPods() {
+        int result = new WorkloadPacker(List.of(profile(SIDECAR, 1))).pack(DEFAULT_NODE.withMaxPods(0));
+
+        assert result == NumbersOfPodsAndNodesCalculator.REJECTED_CLUSTER_NODE_LIMIT : "expected cluster limit but got " + result;
+    }
+
+    @Test
+    public void shouldRejectTheNodeTypeWhenTheClusterGetsTooLarge() {
+        int result = new WorkloadPacker(List.of(profile(SIDECAR, 100000), profile(JVM, 7000))).pack(DEFAULT_NODE);
+
+        assert result == NumbersOfPodsAndNodesCalculator.REJECTED_CLUSTER_NODE_LIMIT : "expected cluster limit but got " + result;
+    }
+
+    @Test
+    public void shouldPackAMillionPods() {
+        NodeDefinition node = NodeDefinition.builder()
+                .cpu(
+                        CPU.builder()
+                                .sockets(2)
+                                .cores(64)
+                                .logical(128)
+                                .build()
+                )
+                .disk(2048 * GiB)
+                .diskBandwidth(GiB)
+                .memory(1024 * GiB)
+                .maxPods(1000)
+                .loggingEventsPerSecondLimit(10000)
+                .build();
+        List<_PodProfile> workload = List.of(
+                profile(SIDECAR, 600000),
+                profile(SIDECAR.withMilliCores(10L).withMemory(16 * MiB), 350000),
+                profile(JVM, 10000),
+                profile(JVM.withMilliCores(1000L).withMemory(2 * GiB), 40000)
+        );
+
+        int result = new WorkloadPacker(workload).pack(node);
+        LOG.debug("Packed a million pods on {} nodes.", result);
+
+        assert result >= 1000 && result <= 2000 : "expected at most 2000 nodes but got " + result;
+    }
+
+    /**
+     * Places every pod on its own into the first node with enough free
+     * memory, CPU, pods and logging events, the largest pods first.
+     */
+    private static int firstFitDecreasing(final List<_PodProfile> workload, final _NodeDefinition node) {
+        Integer[] order = new Integer[workload.size()];
+        double[] shares = new double[workload.size()];
+        for (int i = 0; i < order.length; i++) {
+            _PodProfile p = workload.get(i);
+            shares[i] = Math.max(
+                    Math.max(
+                            (double) (p.getPod().getMemory() + RESERVED_BYTES_PER_POD) / node.getMemory(),
+                            (double) (p.getPod().getMilliCores() + RESERVED_MILLICORE_PER_POD) / node.getMillicores()
+                    ),
+                    Math.max(
+                            1.0 / node.getMaxPods(),
+                            (double) p.getPod().getNumberOfLoggingEventsPerSecond() / node.getLoggingEventsPerSecondLimit()
+                    )
+            );
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(shares[b], shares[a]));
+
+        for (_PodProfile p : workload) {
+            if (p.getCount() > 0 && p.getPod().getMilliCores() + RESERVED_MILLICORE_PER_POD > node.getMillicores()) {
+                return NumbersOfPodsAndNodesCalculator.REJECTED_CPU;
+            }
+            if (p.getCount() > 0 && p.getPod().getMemory() + RESERVED_BYTES_PER_POD > node.getMemory()) {
+                return NumbersOfPodsAndNodesCalculator.REJECTED_MEMORY;
+            }
+        }
+
+        ArrayList<long[]> nodes = new ArrayList<>();
+        for (int i : order) {
+            _PodProfile p = workload.get(i);
+            long memory = p.getPod().getMemory() + RESERVED_BYTES_PER_POD;
+            long milliCores = p.getPod().getMilliCores() + RESERVED_MILLICORE_PER_POD;
+            int events = p.getPod().getNumberOfLoggingEventsPerSecond();
+
+            for (int pod = 0; pod < p.getCount(); pod++) {
+                long[] target = null;
+                for (long[] n : nodes) {
+                    if (fits(n, memory, milliCores, events)) {
+                        target = n;
+                        break;
+                    }
+                }
+
+                if (target == null) {
+                    target = new long[]{node.getMemory(), node.getMillicores(), node.getMaxPods(), node.getLoggingEventsPerSecondLimit()};
+                    if (!fits(target, memory, milliCores, events)) {
+                        return NumbersOfPodsAndNodesCalculator.REJECTED_CLUSTER_NODE_LIMIT;
+                    }
+                    nodes.add(target);
+                }
+
+                target[0] -= memory;
+                target[1] -= milliCores;
+                target[2]--;
+                target[3] -= events;
+            }
+        }
+
+        return nodes.size() > NumbersOfPodsAndNodesCalculator.MAX_NODES_PER_CLUSTER
+                ? NumbersOfPodsAndNodesCalculator.REJECTED_CLUSTER_NODE_LIMIT
+                : nodes.size();
+    }
+
+    private static boolean fits(final long[] node, final long memory, final long milliCores, final int events) {
+        return node[0] >= memory && node[1] >= milliCores && node[2] > 0 && (events == 0 || node[3] > 0);
+    }
+
+    private _NodeDefinition randomNode() {
+        int logical = 1 << (1 + random.nextInt(6));
+
+        return NodeDefinition.builder()
+                .cpu(CPU.builder()
+                             .sockets(1)
+                             .cores(logical / 2)
+                             .logical(logical)
+                             .build()
+                )
+                .disk(2048 * GiB)
+                .diskBandwidth(GiB)
+                .memory((1 + random.nextInt(8)) * logical * GiB)
+                .podsPerCore(1 + random.nextInt(20))
+                .loggingEventsPerSecondLimit(100 + random.nextInt(2000))
+                .build();
+    }
+
+    private Pod randomPod() {
+        return Pod.builder()
+                .memory((64 + random.nextInt(16 * 1024)) * MiB)
+                .milliCores(10 + random.nextInt(4000))
+                .numberOfLoggingEventsPerSecond(random.nextInt(20))
+                .build();
+    }
+
+    private static PodProfile profile(final Pod pod, final int count) {
+        return PodProfile.builder()
+                .pod(pod)
+                .count(count)
+                .build();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        random = new Random(SEED);
+    }
+}
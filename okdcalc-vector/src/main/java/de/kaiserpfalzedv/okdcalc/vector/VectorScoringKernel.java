@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.vector;
+
+import de.kaiserpfalzedv.okdcalc.calculator.NodeCatalog;
+import de.kaiserpfalzedv.okdcalc.calculator.ScoringKernel;
+import de.kaiserpfalzedv.okdcalc.calculator.ScoringKernels;
+import de.kaiserpfalzedv.okdcalc.facts._Pod;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.RESERVED_BYTES_PER_POD;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.RESERVED_MILLICORE_PER_POD;
+import static jdk.incubator.vector.VectorOperators.D2I;
+import static jdk.incubator.vector.VectorOperators.D2L;
+import static jdk.incubator.vector.VectorOperators.GT;
+import static jdk.incubator.vector.VectorOperators.I2D;
+import static jdk.incubator.vector.VectorOperators.L2D;
+import static jdk.incubator.vector.VectorOperators.LT;
+
+/**
+ * Scores the node types of a {@link NodeCatalog} with the Vector API. The
+ * pods per node limited by memory, CPU, log events and maximum pods, the
+ * number of nodes and the score are computed for as many node types at once
+ * as the CPU has lanes.
+ *
+ * The divisions are done in double precision, which delivers the exact
+ * integer results as long as all values are below 2^52. Lanes
+ * with larger values and the tail of the range are scored by the scalar
+ * kernel, so the results are always the ones of the scalar kernel.
+ *
+ * Select it with {@code -Dokdcalc.kernel=vector}, the JVM needs
+ * {@code --add-modules jdk.incubator.vector}.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class VectorScoringKernel implements ScoringKernel {
+    public static final String NAME = "vector";
+
+    /**
+     * The largest value the double arithmetic handles exactly.
+     */
+    static final long EXACT_LIMIT = 1L << 52;
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = VectorSpecies.of(long.class, DOUBLES.vectorShape());
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(
+            int.class,
+            VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2)
+    );
+
+    private final ScoringKernel scalar = ScoringKernels.scalar();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void score(
+            final _Pod defaultPod,
+            final int totalNumberOfPods,
+            final NodeCatalog catalog,
+            final int from,
+            final int to,
+            final int[] podsPerNode,
+            final int[] nodes,
+            final long[] scores
+    ) {
+        long memoryPerPod = defaultPod.getMemory() + RESERVED_BYTES_PER_POD;
+        long milliCoresPerPod = defaultPod.getMilliCores() + RESERVED_MILLICORE_PER_POD;
+
+        int upperBound = from;
+        if (memoryPerPod > 0 && memoryPerPod < EXACT_LIMIT && milliCoresPerPod > 0 && milliCoresPerPod < EXACT_LIMIT) {
+            upperBound = from + LONGS.loopBound(to - from);
+        }
+
+        long[] memory = catalog.getMemoryColumn();
+        long[] millicores = catalog.getMillicoresColumn();
+
+        for (int i = from; i < upperBound; i += LONGS.length()) {
+            LongVector nodeMemory = LongVector.fromArray(LONGS, memory, i);
+            LongVector nodeMillicores = LongVector.fromArray(LONGS, millicores, i);
+
+            if (nodeMemory.compare(GT, EXACT_LIMIT).or(nodeMillicores.compare(GT, EXACT_LIMIT)).anyTrue()) {
+                scalar.score(defaultPod, totalNumberOfPods, catalog, i, i + LONGS.length(), podsPerNode, nodes, scores);
+                continue;
+            }
+
+            scoreLanes(
+                    defaultPod, totalNumberOfPods, catalog, i,
+                    (DoubleVector) nodeMemory.convert(L2D, 0), (DoubleVector) nodeMillicores.convert(L2D, 0),
+                    memoryPerPod, milliCoresPerPod,
+                    podsPerNode, nodes, scores
+            );
+        }
+
+        scalar.score(defaultPod, totalNumberOfPods, catalog, upperBound, to, podsPerNode, nodes, scores);
+    }
+
+    private void scoreLanes(
+            final _Pod defaultPod,
+            final int totalNumberOfPods,
+            final NodeCatalog catalog,
+            final int offset,
+            final DoubleVector nodeMemory,
+            final DoubleVector nodeMillicores,
+            final long memoryPerPod,
+            final long milliCoresPerPod,
+            final int[] podsPerNode,
+            final int[] nodes,
+            final long[] scores
+    ) {
+        DoubleVector maxPods = (DoubleVector) IntVector.fromArray(INTS, catalog.getMaxPodsColumn(), offset)
+                .convertShape(I2D, DOUBLES, 0);
+        DoubleVector loggingEventsLimit = (DoubleVector) IntVector.fromArray(INTS, catalog.getLoggingEventsLimitColumn(), offset)
+                .convertShape(I2D, DOUBLES, 0);
+
+        VectorMask<Double> rejectedCpu = nodeMillicores.compare(LT, milliCoresPerPod);
+        VectorMask<Double> rejectedMemory = nodeMemory.compare(LT, memoryPerPod).andNot(rejectedCpu);
+
+        DoubleVector pods = floorDiv(nodeMemory, memoryPerPod)
+                .min(floorDiv(nodeMillicores, milliCoresPerPod))
+                .min(ceil(loggingEventsLimit.div(defaultPod.getNumberOfLoggingEventsPerSecond())))
+                .min(maxPods);
+
+        DoubleVector numberOfNodes = ceil(DoubleVector.broadcast(DOUBLES, totalNumberOfPods).div(pods));
+        VectorMask<Double> rejectedNodes = numberOfNodes.compare(GT, MAX_NODES_PER_CLUSTER);
+        VectorMask<Double> rejectedPods = rejectedCpu.or(rejectedMemory);
+
+        IntVector podsResult = ((IntVector) pods.convertShape(D2I, INTS, 0))
+                .blend(REJECTED_MEMORY, rejectedMemory.cast(INTS))
+                .blend(REJECTED_CPU, rejectedCpu.cast(INTS));
+        IntVector nodesResult = ((IntVector) numberOfNodes.convertShape(D2I, INTS, 0))
+                .blend(REJECTED_CLUSTER_NODE_LIMIT, rejectedNodes.cast(INTS))
+                .blend(podsResult, rejectedPods.cast(INTS));
+        LongVector scoreResult = ((LongVector) numberOfNodes.convert(D2L, 0))
+                .mul(LongVector.fromArray(LONGS, catalog.getScoreColumn(), offset))
+                .blend(0L, rejectedPods.or(rejectedNodes).cast(LONGS));
+
+        podsResult.intoArray(podsPerNode, offset);
+        nodesResult.intoArray(nodes, offset);
+        scoreResult.intoArray(scores, offset);
+    }
+
+    /**
+     * Below 2^52 the correctly rounded quotient of two integers never reaches
+     * the next integer, so truncating it is the exact floor division.
+     */
+    private static DoubleVector floorDiv(final DoubleVector capacity, final long size) {
+        return truncate(capacity.div(size));
+    }
+
+    private static DoubleVector ceil(final DoubleVector value) {
+        DoubleVector truncated = truncate(value);
+
+        return truncated.add(1.0, truncated.compare(LT, value));
+    }
+
+    private static DoubleVector truncate(final DoubleVector value) {
+        return (DoubleVector) value.convert(D2L, 0).convert(L2D, 0);
+    }
+}
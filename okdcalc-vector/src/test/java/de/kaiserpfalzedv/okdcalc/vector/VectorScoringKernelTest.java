@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.vector;
+
+import de.kaiserpfalzedv.okdcalc.calculator.NodeCatalog;
+import de.kaiserpfalzedv.okdcalc.calculator.ScoringKernel;
+import de.kaiserpfalzedv.okdcalc.calculator.ScoringKernels;
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.MiB;
+
+/**
+ * Compares the vector kernel with the scalar kernel on random catalogs.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class VectorScoringKernelTest {
+    private static final Logger LOG = LoggerFactory.getLogger(VectorScoringKernelTest.class);
+
+    private static final long SEED = 20200214L;
+
+    private final ScoringKernel service = new VectorScoringKernel();
+
+
+    @Test
+    public void shouldBeSelectableByName() {
+        ScoringKernel result = ScoringKernels.byName(VectorScoringKernel.NAME);
+
+        assert result instanceof VectorScoringKernel;
+        assert VectorScoringKernel.NAME.equals(result.getName());
+    }
+
+    @Test
+    public void shouldDeliverTheScalarResultWhenScoringRandomCatalogs() {
+        Random random = new Random(SEED);
+        NodeCatalog catalog = NodeCatalog.of(generateNodeTypes(random, 10_003));
+
+        for (int i = 0; i < 200; i++) {
+            Pod pod = Pod.builder()
+                    .memory(random.nextInt(8 * 1024) * MiB)
+                    .milliCores(random.nextInt(4000))
+                    .numberOfLoggingEventsPerSecond(random.nextInt(200))
+                    .build();
+            int totalNumberOfPods = random.nextInt(200_000);
+
+            assertSameResult(pod, totalNumberOfPods, catalog, 0, catalog.size());
+        }
+    }
+
+    @Test
+    public void shouldDeliverTheScalarResultWhenScoringARange() {
+        NodeCatalog catalog = NodeCatalog.of(generateNodeTypes(new Random(SEED), 100));
+        Pod pod = Pod.builder().memory(GiB).milliCores(250L).build();
+
+        assertSameResult(pod, 5000, catalog, 3, 97);
+    }
+
+    @Test
+    public void shouldDeliverTheScalarResultWhenValuesAreTooLargeForDoubles() {
+        ArrayList<_NodeDefinition> nodeTypes = new ArrayList<>(generateNodeTypes(new Random(SEED), 64));
+        nodeTypes.set(5, NodeDefinition.builder().from(nodeTypes.get(5)).memory(VectorScoringKernel.EXACT_LIMIT + 3).build());
+        nodeTypes.set(17, NodeDefinition.builder().from(nodeTypes.get(17)).millicores(Long.MAX_VALUE / 2).build());
+        NodeCatalog catalog = NodeCatalog.of(nodeTypes);
+
+        assertSameResult(Pod.builder().memory(GiB).milliCores(250L).build(), 5000, catalog, 0, catalog.size());
+        assertSameResult(Pod.builder().memory(VectorScoringKernel.EXACT_LIMIT).milliCores(250L).build(), 5000, catalog, 0, catalog.size());
+    }
+
+    private void assertSameResult(
+            final Pod pod,
+            final int totalNumberOfPods,
+            final NodeCatalog catalog,
+            final int from,
+            final int to
+    ) {
+        int size = catalog.size();
+        int[] expectedPods = new int[size];
+        int[] expectedNodes = new int[size];
+        long[] expectedScores = new long[size];
+        ScoringKernels.scalar().score(pod, totalNumberOfPods, catalog, from, to, expectedPods, expectedNodes, expectedScores);
+
+        int[] pods = new int[size];
+        int[] nodes = new int[size];
+        long[] scores = new long[size];
+        service.score(pod, totalNumberOfPods, catalog, from, to, pods, nodes, scores);
+
+        LOG.trace("Pod: {}, total: {}", pod, totalNumberOfPods);
+        assert Arrays.equals(expectedPods, pods) : "pods per node differ for " + pod;
+        assert Arrays.equals(expectedNodes, nodes) : "nodes differ for " + pod;
+        assert Arrays.equals(expectedScores, scores) : "scores differ for " + pod;
+    }
+
+    private List<_NodeDefinition> generateNodeTypes(final Random random, final int count) {
+        ArrayList<_NodeDefinition> result = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            int logical = 1 << random.nextInt(8);
+
+            result.add(NodeDefinition.builder()
+                               .cpu(CPU.builder()
+                                            .sockets(1)
+                                            .cores(Math.max(1, logical / 2))
+                                            .logical(logical)
+                                            .build()
+                               )
+                               .disk(2048 * GiB)
+                               .diskBandwidth(GiB)
+                               // exact multiples of the pod sizes hit the rounding corrections
+                               .memory(random.nextBoolean() ? random.nextInt(1024) * GiB : random.nextInt(64) * (GiB + 10 * MiB))
+                               .millicores(random.nextBoolean() ? logical * 1000L : random.nextInt(64) * 260L)
+                               .maxPods(random.nextInt(500))
+                               .loggingEventsPerSecondLimit(random.nextInt(10_000))
+                               .score(random.nextInt(100_000))
+                               .build()
+            );
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.catalog;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import de.kaiserpfalzedv.okdcalc.OkdCalcWrappedException;
+import de.kaiserpfalzedv.okdcalc.calculator.NodeCatalog;
+import de.kaiserpfalzedv.okdcalc.facts.NodeCatalogDefinition;
+import de.kaiserpfalzedv.okdcalc.facts._NodeCatalogDefinition;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The node catalogs known to the service. Requests reference a whole catalog
+ * or single node types by id instead of sending the node definitions with
+ * every call.
+ *
+ * The catalogs are read from the JSON or YAML file configured with
+ * {@value #CATALOG_FILE_PROPERTY}. The file contains a list of
+ * {@link NodeCatalogDefinition}s. It is reloaded on {@link #reload()} and,
+ * if {@value #POLL_INTERVAL_PROPERTY} is set, whenever the file changes.
+ *
+ * Every load creates a new {@link NodeCatalogSnapshot} and swaps it in
+ * atomically. Readers never lock and always work on a complete snapshot; a
+ * failed load keeps the current one.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@ApplicationScoped
+public class NodeCatalogRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(NodeCatalogRegistry.class);
+
+    /**
+     * The configuration property with the file of the node catalogs.
+     */
+    public static final String CATALOG_FILE_PROPERTY = "okdcalc.catalog.file";
+
+    /**
+     * The configuration property with the seconds between two checks of the
+     * catalog file for changes. 0 disables the checks.
+     */
+    public static final String POLL_INTERVAL_PROPERTY = "okdcalc.catalog.poll-interval";
+
+    private static final TypeReference<List<NodeCatalogDefinition>> CATALOG_LIST = new TypeReference<>() {};
+
+    @ConfigProperty(name = CATALOG_FILE_PROPERTY)
+    Optional<String> catalogFile = Optional.empty();
+
+    @ConfigProperty(name = POLL_INTERVAL_PROPERTY, defaultValue = "0")
+    long pollInterval;
+
+    private final AtomicReference<NodeCatalogSnapshot> snapshot = new AtomicReference<>(NodeCatalogSnapshot.EMPTY);
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong failedReloads = new AtomicLong();
+
+    private volatile FileTime lastModified;
+    private ScheduledExecutorService poller;
+
+    @PostConstruct
+    void init() {
+        catalogFile.ifPresent(file -> {
+            load(Paths.get(file));
+
+            if (pollInterval > 0) {
+                poller = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "node-catalog-poller");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                poller.scheduleWithFixedDelay(this::reloadIfModified, pollInterval, pollInterval, TimeUnit.SECONDS);
+            }
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    /**
+     * Reloads the configured catalog file.
+     *
+     * @return false if there is no catalog file configured.
+     */
+    public boolean reload() {
+        if (catalogFile.isEmpty()) {
+            return false;
+        }
+
+        load(Paths.get(catalogFile.get()));
+        return true;
+    }
+
+    void reloadIfModified() {
+        Path file = Paths.get(catalogFile.orElseThrow());
+
+        try {
+            if (!Files.getLastModifiedTime(file).equals(lastModified)) {
+                load(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            // the poller has to survive a broken catalog file, the error has been logged.
+            LOG.debug("Node catalog not reloaded: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the registered catalogs with the catalogs of the file.
+     *
+     * @param file the JSON or YAML (*.yaml, *.yml) file with the catalogs.
+     */
+    public void load(final Path file) {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+
+            List<NodeCatalogDefinition> definitions;
+            try (InputStream in = Files.newInputStream(file)) {
+                definitions = read(in, isYaml(file));
+            }
+
+            NodeCatalogSnapshot loaded = register(definitions);
+            lastModified = modified;
+
+            LOG.info("Loaded node catalogs: file={}, generation={}, catalogs={}",
+                     file, loaded.getGeneration(), definitions.size());
+        } catch (IOException e) {
+            failed(file, e);
+            throw new OkdCalcWrappedException(e);
+        } catch (RuntimeException e) {
+            failed(file, e);
+            throw e;
+        }
+    }
+
+    private void failed(final Path file, final Exception e) {
+        failedReloads.incrementAndGet();
+
+        LOG.error("Can not load node catalogs, keeping generation {}: file={}, error={}",
+                  snapshot.get().getGeneration(), file, e.getMessage());
+    }
+
+    static List<NodeCatalogDefinition> read(final InputStream in, final boolean yaml) throws IOException {
+        ObjectMapper mapper = yaml ? new ObjectMapper(new YAMLFactory()) : new ObjectMapper();
+        mapper.findAndRegisterModules();
+
+        return mapper.readValue(in, CATALOG_LIST);
+    }
+
+    private static boolean isYaml(final Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".yaml") || name.endsWith(".yml");
+    }
+
+    /**
+     * Replaces the registered catalogs.
+     *
+     * @param definitions the catalogs to register.
+     * @return the new snapshot.
+     */
+    public NodeCatalogSnapshot register(final Collection<? extends _NodeCatalogDefinition> definitions) {
+        NodeCatalogSnapshot result = snapshot.updateAndGet(
+                current -> new NodeCatalogSnapshot(current.getGeneration() + 1, definitions)
+        );
+
+        reloads.incrementAndGet();
+        return result;
+    }
+
+    /**
+     * @return the current catalogs. Work with one snapshot for a whole request.
+     */
+    public NodeCatalogSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * @return all registered catalogs.
+     */
+    public Collection<RegisteredNodeCatalog> getCatalogs() {
+        return snapshot.get().getCatalogs();
+    }
+
+    /**
+     * @param id the id of the catalog.
+     * @return the catalog with this id.
+     */
+    public Optional<RegisteredNodeCatalog> getCatalog(final String id) {
+        return snapshot.get().getCatalog(id);
+    }
+
+    /**
+     * @see NodeCatalogSnapshot#resolve(Optional, Set, Set)
+     */
+    public Set<_NodeDefinition> resolve(
+            final Optional<String> catalog,
+            final Set<String> nodeTypeIds,
+            final Set<_NodeDefinition> nodeDefinitions
+    ) {
+        return snapshot.get().resolve(catalog, nodeTypeIds, nodeDefinitions);
+    }
+
+    /**
+     * @see NodeCatalogSnapshot#resolveNodeCatalog(Optional, Set, Set)
+     */
+    public NodeCatalog resolveNodeCatalog(
+            final Optional<String> catalog,
+            final Set<String> nodeTypeIds,
+            final Set<_NodeDefinition> nodeDefinitions
+    ) {
+        return snapshot.get().resolveNodeCatalog(catalog, nodeTypeIds, nodeDefinitions);
+    }
+
+    @Gauge(name = "nodeCatalogReloads", description = "How often the node catalogs have been loaded.", unit = MetricUnits.NONE)
+    public long getReloads() {
+        return reloads.get();
+    }
+
+    @Gauge(name = "nodeCatalogFailedReloads", description = "How often loading the node catalogs failed.", unit = MetricUnits.NONE)
+    public long getFailedReloads() {
+        return failedReloads.get();
+    }
+
+    @Gauge(name = "nodeCatalogGeneration", description = "The generation of the current node catalogs.", unit = MetricUnits.NONE)
+    public long getGeneration() {
+        return snapshot.get().getGeneration();
+    }
+
+    @Gauge(name = "nodeCatalogNodeTypes", description = "The number of node types in all node catalogs.", unit = MetricUnits.NONE)
+    public long getNumberOfNodeTypes() {
+        return snapshot.get().getNumberOfNodeTypes();
+    }
+}
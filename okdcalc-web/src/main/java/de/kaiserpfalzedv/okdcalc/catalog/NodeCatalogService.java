@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.catalog;
+
+import de.kaiserpfalzedv.okdcalc.facts._NodeCatalogDefinition;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Counted;
+import org.eclipse.microprofile.metrics.annotation.Timed;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Lists the node catalogs registered with the service and reloads them.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@Path("/catalogs")
+@Produces(MediaType.APPLICATION_JSON)
+public class NodeCatalogService {
+    @Inject
+    NodeCatalogRegistry registry;
+
+    @GET
+    public List<_NodeCatalogDefinition> getCatalogs() {
+        return registry.getCatalogs().stream()
+                .map(RegisteredNodeCatalog::getDefinition)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reloads the node catalogs from the configured file.
+     *
+     * @return the reloaded catalogs.
+     */
+    @Counted(name = "nodeCatalogReloadRequests", description = "How often a reload of the node catalogs has been requested.")
+    @Timed(name = "nodeCatalogReloadTimer", description = "A measure of how long it takes to reload the node catalogs.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/reload")
+    public List<_NodeCatalogDefinition> reload() {
+        if (!registry.reload()) {
+            throw new NotFoundException("There is no node catalog file configured.");
+        }
+
+        return getCatalogs();
+    }
+
+    @GET
+    @Path("/{id}")
+    public _NodeCatalogDefinition getCatalog(@PathParam("id") final String id) {
+        return registry.getCatalog(id)
+                .orElseThrow(() -> new NotFoundException("Unknown node catalog: " + id))
+                .getDefinition();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.catalog;
+
+import de.kaiserpfalzedv.okdcalc.calculator.NodeCatalog;
+import de.kaiserpfalzedv.okdcalc.facts._NodeCatalogDefinition;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The registered node catalogs at one point in time. A snapshot is never
+ * changed; a reload of the catalogs creates a new snapshot. A request works
+ * on a single snapshot, so it never sees a partly reloaded catalog.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class NodeCatalogSnapshot {
+    private static final Logger LOG = LoggerFactory.getLogger(NodeCatalogSnapshot.class);
+
+    static final NodeCatalogSnapshot EMPTY = new NodeCatalogSnapshot(0, Collections.emptyList());
+
+    private final long generation;
+    private final Map<String, RegisteredNodeCatalog> catalogs;
+    private final Map<String, _NodeDefinition> nodeTypesById;
+
+    NodeCatalogSnapshot(final long generation, final Collection<? extends _NodeCatalogDefinition> definitions) {
+        this.generation = generation;
+
+        LinkedHashMap<String, RegisteredNodeCatalog> registered = new LinkedHashMap<>(definitions.size());
+        HashMap<String, _NodeDefinition> byId = new HashMap<>();
+
+        for (_NodeCatalogDefinition definition : definitions) {
+            RegisteredNodeCatalog catalog = new RegisteredNodeCatalog(definition);
+            registered.put(catalog.getId(), catalog);
+
+            catalog.getNodeTypesById().forEach((id, nodeType) -> {
+                if (byId.putIfAbsent(id, nodeType) != null) {
+                    LOG.warn("Node type id '{}' is used by more than one catalog. Reference it with its catalog.", id);
+                }
+            });
+        }
+
+        catalogs = Collections.unmodifiableMap(registered);
+        nodeTypesById = Collections.unmodifiableMap(byId);
+    }
+
+    /**
+     * @return the number of the snapshot, counting up with every reload.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return all catalogs of this snapshot.
+     */
+    public Collection<RegisteredNodeCatalog> getCatalogs() {
+        return catalogs.values();
+    }
+
+    /**
+     * @param id the id of the catalog.
+     * @return the catalog with this id.
+     */
+    public Optional<RegisteredNodeCatalog> getCatalog(final String id) {
+        return Optional.ofNullable(catalogs.get(id));
+    }
+
+    /**
+     * @return the number of node types of all catalogs.
+     */
+    public int getNumberOfNodeTypes() {
+        return catalogs.values().stream().mapToInt(c -> c.getNodeTypes().size()).sum();
+    }
+
+    /**
+     * Collects the node types of a request.
+     *
+     * @param catalog         the referenced catalog.
+     * @param nodeTypeIds     the referenced node types.
+     * @param nodeDefinitions the node types given with the request.
+     * @return the given node types and the referenced ones.
+     * @throws UnknownNodeTypeException if a referenced catalog or node type is not registered.
+     */
+    public Set<_NodeDefinition> resolve(
+            final Optional<String> catalog,
+            final Set<String> nodeTypeIds,
+            final Set<_NodeDefinition> nodeDefinitions
+    ) {
+        if (catalog.isEmpty() && nodeTypeIds.isEmpty()) {
+            return nodeDefinitions;
+        }
+
+        if (catalog.isPresent() && nodeTypeIds.isEmpty() && nodeDefinitions.isEmpty()) {
+            return requireCatalog(catalog.get()).getNodeTypes();
+        }
+
+        LinkedHashSet<_NodeDefinition> result = new LinkedHashSet<>(nodeDefinitions);
+
+        if (catalog.isPresent()) {
+            RegisteredNodeCatalog registered = requireCatalog(catalog.get());
+
+            if (nodeTypeIds.isEmpty()) {
+                result.addAll(registered.getNodeTypes());
+            }
+
+            for (String id : nodeTypeIds) {
+                result.add(
+                        registered.getNodeType(id).orElseThrow(
+                                () -> new UnknownNodeTypeException("Unknown node type in catalog '" + catalog.get() + "': " + id)
+                        )
+                );
+            }
+        } else {
+            for (String id : nodeTypeIds) {
+                _NodeDefinition nodeType = nodeTypesById.get(id);
+                if (nodeType == null) {
+                    throw new UnknownNodeTypeException("Unknown node type: " + id);
+                }
+
+                result.add(nodeType);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects the node types of a request in columnar layout. A reference to
+     * a whole catalog uses the columns prepared when loading the catalog.
+     *
+     * @param catalog         the referenced catalog.
+     * @param nodeTypeIds     the referenced node types.
+     * @param nodeDefinitions the node types given with the request.
+     * @return the given node types and the referenced ones.
+     * @throws UnknownNodeTypeException if a referenced catalog or node type is not registered.
+     */
+    public NodeCatalog resolveNodeCatalog(
+            final Optional<String> catalog,
+            final Set<String> nodeTypeIds,
+            final Set<_NodeDefinition> nodeDefinitions
+    ) {
+        if (catalog.isPresent() && nodeTypeIds.isEmpty() && nodeDefinitions.isEmpty()) {
+            return requireCatalog(catalog.get()).getNodeCatalog();
+        }
+
+        return NodeCatalog.of(resolve(catalog, nodeTypeIds, nodeDefinitions));
+    }
+
+    private RegisteredNodeCatalog requireCatalog(final String id) {
+        return getCatalog(id).orElseThrow(() -> new UnknownNodeTypeException("Unknown node catalog: " + id));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.catalog;
+
+import de.kaiserpfalzedv.okdcalc.calculator.NodeCatalog;
+import de.kaiserpfalzedv.okdcalc.facts._NodeCatalogDefinition;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A node catalog of the registry. Everything the calculators need is prepared
+ * once when the catalog is loaded: the node types as set, the index by id and
+ * the columnar {@link NodeCatalog}.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class RegisteredNodeCatalog {
+    private final _NodeCatalogDefinition definition;
+    private final Set<_NodeDefinition> nodeTypes;
+    private final Map<String, _NodeDefinition> nodeTypesById;
+    private final NodeCatalog nodeCatalog;
+
+    RegisteredNodeCatalog(final _NodeCatalogDefinition definition) {
+        this.definition = definition;
+
+        LinkedHashSet<_NodeDefinition> types = new LinkedHashSet<>(definition.getNodeTypes());
+        HashMap<String, _NodeDefinition> byId = new HashMap<>(types.size());
+        for (_NodeDefinition d : types) {
+            d.getId().ifPresent(id -> {
+                if (byId.put(id, d) != null) {
+                    throw new IllegalArgumentException(
+                            "Node type id '" + id + "' is not unique in catalog '" + definition.getId() + "'."
+                    );
+                }
+            });
+        }
+
+        nodeTypes = Collections.unmodifiableSet(types);
+        nodeTypesById = Collections.unmodifiableMap(byId);
+        nodeCatalog = NodeCatalog.of(types);
+    }
+
+    public String getId() {
+        return definition.getId();
+    }
+
+    public _NodeCatalogDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     * @return the node types of this catalog in catalog order.
+     */
+    public Set<_NodeDefinition> getNodeTypes() {
+        return nodeTypes;
+    }
+
+    /**
+     * @return the node types of this catalog with an id.
+     */
+    Map<String, _NodeDefinition> getNodeTypesById() {
+        return nodeTypesById;
+    }
+
+    /**
+     * @param id the id of the node type.
+     * @return the node type with this id.
+     */
+    public Optional<_NodeDefinition> getNodeType(final String id) {
+        return Optional.ofNullable(nodeTypesById.get(id));
+    }
+
+    /**
+     * @return the node types in columnar layout.
+     */
+    public NodeCatalog getNodeCatalog() {
+        return nodeCatalog;
+    }
+}
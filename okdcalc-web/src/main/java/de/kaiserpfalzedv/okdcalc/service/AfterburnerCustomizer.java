@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import io.quarkus.jackson.ObjectMapperCustomizer;
+
+import javax.inject.Singleton;
+
+/**
+ * Registers the {@link AfterburnerModule} with the mapper of the service. It
+ * generates the bytecode accessing the getters of the facts and the setters
+ * of their builders instead of calling them by reflection.
+ *
+ * The mappers created by {@link WireFormat#createMapper()} and the catalog
+ * reader find the module on their own.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@Singleton
+public class AfterburnerCustomizer implements ObjectMapperCustomizer {
+    @Override
+    public void customize(final ObjectMapper mapper) {
+        mapper.registerModule(new AfterburnerModule());
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Evaluates the requests of a batch in parallel on the {@link ComputePool},
+ * so a big batch can not starve the service. A batch must not contain more
+ * than {@value #MAX_SIZE_PROPERTY} requests.
+ *
+ * A failing request does not fail the batch; its error becomes the outcome
+ * of the request.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@ApplicationScoped
+public class BatchExecutor {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchExecutor.class);
+
+    /**
+     * The configuration property with the maximum number of requests of a batch.
+     */
+    public static final String MAX_SIZE_PROPERTY = "okdcalc.batch.max-size";
+
+    @ConfigProperty(name = MAX_SIZE_PROPERTY, defaultValue = "1000")
+    int maxSize;
+
+    @Inject
+    ComputePool pool;
+
+    /**
+     * @param requests   the requests of the batch.
+     * @param evaluation calculates the outcome of a single request.
+     * @param failure    creates the outcome of a failed request from the error message.
+     * @param <T>        the type of the requests.
+     * @param <R>        the type of the outcomes.
+     * @return the outcomes in the order of the requests.
+     * @throws BadRequestException if the batch contains more than {@value #MAX_SIZE_PROPERTY} requests.
+     * @throws RejectedExecutionException if the {@link ComputePool} is full.
+     */
+    public <T, R> List<R> evaluate(
+            final List<T> requests,
+            final Function<T, R> evaluation,
+            final Function<String, R> failure
+    ) {
+        ArrayList<R> result = new ArrayList<>(requests.size());
+
+        stream(requests, evaluation, failure, result::add);
+
+        return result;
+    }
+
+    /**
+     * Hands the outcomes to the consumer in the order of the requests as soon
+     * as they are available. If the consumer fails, the requests not started
+     * yet are cancelled. So are all requests of the batch if the
+     * {@link ComputePool} rejects one of them.
+     *
+     * Streaming responses have to {@link #checkSize(List)} before the
+     * response is started.
+     *
+     * @param requests   the requests of the batch.
+     * @param evaluation calculates the outcome of a single request.
+     * @param failure    creates the outcome of a failed request from the error message.
+     * @param consumer   receives the outcomes.
+     * @param <T>        the type of the requests.
+     * @param <R>        the type of the outcomes.
+     * @throws BadRequestException if the batch contains more than {@value #MAX_SIZE_PROPERTY} requests.
+     * @throws RejectedExecutionException if the {@link ComputePool} is full.
+     */
+    public <T, R> void stream(
+            final List<T> requests,
+            final Function<T, R> evaluation,
+            final Function<String, R> failure,
+            final Consumer<? super R> consumer
+    ) {
+        checkSize(requests);
+
+        ArrayList<CompletableFuture<R>> outcomes = new ArrayList<>(requests.size());
+        try {
+            for (T request : requests) {
+                outcomes.add(pool.supply(() -> evaluate(request, evaluation, failure)));
+            }
+
+            for (int i = 0; i < outcomes.size(); i++) {
+                consumer.accept(outcomes.get(i).join());
+
+                // the outcome has been handed over, it may be collected now.
+                outcomes.set(i, null);
+            }
+        } finally {
+            outcomes.stream()
+                    .filter(Objects::nonNull)
+                    .forEach(outcome -> outcome.cancel(false));
+        }
+    }
+
+    /**
+     * @param requests the requests of the batch.
+     * @throws BadRequestException if the batch contains more than {@value #MAX_SIZE_PROPERTY} requests.
+     */
+    public void checkSize(final List<?> requests) {
+        if (requests.size() > maxSize) {
+            throw new BadRequestException("The batch contains " + requests.size()
+                                                  + " requests, only " + maxSize + " are allowed.");
+        }
+    }
+
+    private static <T, R> R evaluate(
+            final T request,
+            final Function<T, R> evaluation,
+            final Function<String, R> failure
+    ) {
+        try {
+            return evaluation.apply(request);
+        } catch (RuntimeException e) {
+            LOG.debug("Batch request failed: request={}, error={}", request, e.toString());
+
+            return failure.apply(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+}
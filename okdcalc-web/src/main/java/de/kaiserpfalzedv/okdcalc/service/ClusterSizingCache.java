@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Gauge;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical cluster sizing requests and keeps their results for
+ * {@value #TTL_PROPERTY} milliseconds. Dashboards polling the service with
+ * the same request from many sessions cause a single calculation.
+ *
+ * The key contains everything the result depends on: the endpoint, the
+ * generation of the node catalogs, the request and the query parameters.
+ * The requests are immutable value objects, so equal requests are equal keys
+ * regardless of the order of their node types.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@ApplicationScoped
+public class ClusterSizingCache {
+    /**
+     * The configuration property with the milliseconds results are kept. 0
+     * only coalesces concurrent requests.
+     */
+    public static final String TTL_PROPERTY = "okdcalc.cache.sizing.ttl";
+
+    /**
+     * The configuration property with the maximum number of kept results.
+     */
+    public static final String MAX_ENTRIES_PROPERTY = "okdcalc.cache.sizing.max-entries";
+
+    @ConfigProperty(name = TTL_PROPERTY, defaultValue = "2000")
+    long timeToLive;
+
+    @ConfigProperty(name = MAX_ENTRIES_PROPERTY, defaultValue = "1000")
+    int maxEntries;
+
+    private CoalescingCache<List<Object>, Object> cache;
+
+    @PostConstruct
+    void init() {
+        cache = new CoalescingCache<>(timeToLive, TimeUnit.MILLISECONDS, maxEntries);
+    }
+
+    /**
+     * @param key         everything the result depends on.
+     * @param calculation calculates the result.
+     * @param <V>         the type of the result.
+     * @return the result of a concurrent or recent calculation with the same
+     * key or the result of the calculation.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(final List<Object> key, final Supplier<V> calculation) {
+        return (V) cache.get(key, calculation::get);
+    }
+
+    @Gauge(name = "clusterSizingCacheHits", description = "How many cluster sizings have been answered with a kept result.", unit = MetricUnits.NONE)
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    @Gauge(name = "clusterSizingCoalesced", description = "How many cluster sizings waited for an identical concurrent calculation.", unit = MetricUnits.NONE)
+    public long getCoalesced() {
+        return cache.getCoalesced();
+    }
+
+    @Gauge(name = "clusterSizingCacheMisses", description = "How many cluster sizings have been calculated.", unit = MetricUnits.NONE)
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    @Gauge(name = "clusterSizingCacheSize", description = "The number of kept and running cluster sizings.", unit = MetricUnits.NONE)
+    public long getSize() {
+        return cache.getSize();
+    }
+}
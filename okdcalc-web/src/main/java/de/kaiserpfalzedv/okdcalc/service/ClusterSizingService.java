@@ -17,20 +17,51 @@
 
 package de.kaiserpfalzedv.okdcalc.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kaiserpfalzedv.okdcalc.calculator.ClusterSizingFields;
+import de.kaiserpfalzedv.okdcalc.calculator.ClusterSizingNormalizer;
+import de.kaiserpfalzedv.okdcalc.calculator.ClusterSizingOrder;
+import de.kaiserpfalzedv.okdcalc.calculator.NodeCatalog;
 import de.kaiserpfalzedv.okdcalc.calculator.NodeTypeCalculator;
+import de.kaiserpfalzedv.okdcalc.calculator.ScoringKernel;
+import de.kaiserpfalzedv.okdcalc.catalog.NodeCatalogRegistry;
+import de.kaiserpfalzedv.okdcalc.catalog.NodeCatalogSnapshot;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingBatchResult;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingReport;
 import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingResult;
+import de.kaiserpfalzedv.okdcalc.facts.NodeCountCurve;
+import de.kaiserpfalzedv.okdcalc.facts.WorkloadSizingReport;
+import de.kaiserpfalzedv.okdcalc.facts._ClusterCapacityRequest;
 import de.kaiserpfalzedv.okdcalc.facts._ClusterSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts._ClusterSizingSweepRequest;
+import de.kaiserpfalzedv.okdcalc.facts._LargestPodRequest;
+import de.kaiserpfalzedv.okdcalc.facts._WorkloadSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
 import org.eclipse.microprofile.metrics.MetricUnits;
 import org.eclipse.microprofile.metrics.annotation.Counted;
 import org.eclipse.microprofile.metrics.annotation.Timed;
 
 import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * @author rlichti
@@ -38,20 +69,457 @@ import java.util.Set;
  * @since 1.0.0 2020-02-16
  */
 @Path("/cluster")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, WireFormat.APPLICATION_CBOR, WireFormat.APPLICATION_SMILE})
+@Consumes({MediaType.APPLICATION_JSON, WireFormat.APPLICATION_CBOR, WireFormat.APPLICATION_SMILE})
 public class ClusterSizingService {
     @Inject
     NodeTypeCalculator calculator;
 
+    @Inject
+    NodeCatalogRegistry registry;
+
+    @Inject
+    BatchExecutor batch;
+
+    @Inject
+    ComputePool pool;
+
+    @Inject
+    ClusterSizingCache cache;
+
+    @Inject
+    ResponseCache responses;
+
+    @Inject
+    ObjectMapper mapper;
+
+    /**
+     * Repeated requests are answered from the {@link ResponseCache}, identical
+     * concurrent requests share a single calculation, see
+     * {@link ClusterSizingCache}.
+     *
+     * @param request     the cluster sizing request.
+     * @param limit       the number of results. 0 returns all.
+     * @param sortBy      the order of the results.
+     * @param normalized  list node types and pods once, see {@link ClusterSizingNormalizer}.
+     * @param fields      the attributes of the results to return. All if not given.
+     * @param ifNoneMatch the entity tags the client already has.
+     * @param headers     the headers with the accepted formats.
+     * @return the results with their entity tag or 304 if the client has them already.
+     */
     @Counted(name = "performedClusterSizings", description = "How many cluster sizings were calculated.")
     @Timed(name = "clusterSizingTimer", description = "A measure of how long it takes to perform the cluster sizing.", unit = MetricUnits.MILLISECONDS)
     @POST
-    public Set<ClusterSizingResult> calculateSingleNodeType(_ClusterSizingRequest request) {
+    public Response calculateSingleNodeType(
+            _ClusterSizingRequest request,
+            @QueryParam("limit") @DefaultValue("0") int limit,
+            @QueryParam("sortBy") ClusterSizingOrder sortBy,
+            @QueryParam("normalized") @DefaultValue("false") boolean normalized,
+            @QueryParam("fields") ClusterSizingFields fields,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Context HttpHeaders headers
+    ) {
+        if (normalized && fields != null) {
+            throw new BadRequestException("Normalized results can not be restricted to fields.");
+        }
+
+        NodeCatalogSnapshot snapshot = registry.getSnapshot();
+        WireFormat format = WireFormat.negotiate(headers.getAcceptableMediaTypes());
+
+        return responses.respond(
+                responses.tag(request, "cluster", snapshot.getGeneration(), limit, sortBy, normalized, fields, format),
+                ifNoneMatch,
+                format,
+                () -> {
+                    Collection<ClusterSizingResult> results = calculate(snapshot, request, limit, sortBy);
+
+                    if (normalized) {
+                        return ClusterSizingNormalizer.normalize(results);
+                    }
+                    return project(results, fields);
+                }
+        );
+    }
+
+    private Collection<ClusterSizingResult> calculate(
+            final NodeCatalogSnapshot snapshot,
+            final _ClusterSizingRequest request,
+            final int limit,
+            final ClusterSizingOrder sortBy
+    ) {
+        return cache.get(
+                Arrays.asList("cluster", snapshot.getGeneration(), request, limit, sortBy),
+                () -> score(snapshot, request, limit, sortBy)
+        );
+    }
+
+    private static Collection<?> project(final Collection<ClusterSizingResult> results, final ClusterSizingFields fields) {
+        return fields != null ? fields.project(results) : results;
+    }
+
+    private Collection<ClusterSizingResult> score(
+            final NodeCatalogSnapshot snapshot,
+            final _ClusterSizingRequest request,
+            final int limit,
+            final ClusterSizingOrder sortBy
+    ) {
+        if (limit <= 0 && sortBy == null) {
+            return calculator.scoreNodetypes(
+                    request.getTotalNumberOfPods(),
+                    request.getDefaultPod(),
+                    snapshot.resolve(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions())
+            );
+        }
+
         return calculator.scoreNodetypes(
                 request.getTotalNumberOfPods(),
                 request.getDefaultPod(),
-                request.getNodeDefinitions()
+                snapshot.resolveNodeCatalog(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions()),
+                limit,
+                sortBy != null ? sortBy : ClusterSizingOrder.SCORE
+        );
+    }
+
+    /**
+     * Calculates the sizings on the {@link ComputePool}. The request thread is
+     * free while the calculation runs.
+     *
+     * @param request the cluster sizing request.
+     * @param limit   the number of results. 0 returns all.
+     * @param sortBy  the order of the results.
+     * @param fields  the attributes of the results to return. All if not given.
+     * @return the results, once they are calculated.
+     */
+    @Counted(name = "performedAsyncClusterSizings", description = "How many cluster sizings were calculated asynchronously.")
+    @POST
+    @Path("/async")
+    public CompletionStage<Collection<?>> calculateSingleNodeTypeAsync(
+            _ClusterSizingRequest request,
+            @QueryParam("limit") @DefaultValue("0") int limit,
+            @QueryParam("sortBy") ClusterSizingOrder sortBy,
+            @QueryParam("fields") ClusterSizingFields fields
+    ) {
+        return pool.supply(() -> project(calculate(registry.getSnapshot(), request, limit, sortBy), fields));
+    }
+
+    /**
+     * @param request     the cluster sizing request.
+     * @param limit       the number of results. 0 returns all.
+     * @param sortBy      the order of the results.
+     * @param normalized  list node types and pods once, see {@link ClusterSizingNormalizer}.
+     * @param ifNoneMatch the entity tags the client already has.
+     * @param headers     the headers with the accepted formats.
+     * @return the report with its entity tag or 304 if the client has it already.
+     */
+    @Counted(name = "performedClusterSizingReports", description = "How many cluster sizing reports were calculated.")
+    @Timed(name = "clusterSizingReportTimer", description = "A measure of how long it takes to perform the cluster sizing report.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/report")
+    public Response reportNodeTypes(
+            _ClusterSizingRequest request,
+            @QueryParam("limit") @DefaultValue("0") int limit,
+            @QueryParam("sortBy") @DefaultValue("score") ClusterSizingOrder sortBy,
+            @QueryParam("normalized") @DefaultValue("false") boolean normalized,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Context HttpHeaders headers
+    ) {
+        NodeCatalogSnapshot snapshot = registry.getSnapshot();
+        WireFormat format = WireFormat.negotiate(headers.getAcceptableMediaTypes());
+
+        return responses.respond(
+                responses.tag(request, "report", snapshot.getGeneration(), limit, sortBy, normalized, format),
+                ifNoneMatch,
+                format,
+                () -> {
+                    ClusterSizingReport report = cache.get(
+                            Arrays.asList("report", snapshot.getGeneration(), request, limit, sortBy),
+                            () -> calculator.reportNodetypes(
+                                    request.getTotalNumberOfPods(),
+                                    request.getDefaultPod(),
+                                    snapshot.resolveNodeCatalog(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions()),
+                                    limit,
+                                    sortBy
+                            )
+                    );
+                    return normalized ? ClusterSizingNormalizer.normalize(report) : report;
+                }
+        );
+    }
+
+    /**
+     * Streams the sizings as newline delimited JSON. Without limit and order
+     * every result is written as soon as its node type is scored.
+     *
+     * @param request the cluster sizing request.
+     * @param limit   the number of results. 0 returns all.
+     * @param sortBy  the order of the results.
+     * @param fields  the attributes of the results to return. All if not given.
+     * @return the results, one per line.
+     */
+    @Counted(name = "streamedClusterSizings", description = "How many cluster sizings were streamed.")
+    @Timed(name = "clusterSizingStreamTimer", description = "A measure of how long it takes to start streaming the cluster sizing.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Produces(NdjsonWriter.APPLICATION_NDJSON)
+    public StreamingOutput streamSingleNodeType(
+            _ClusterSizingRequest request,
+            @QueryParam("limit") @DefaultValue("0") int limit,
+            @QueryParam("sortBy") ClusterSizingOrder sortBy,
+            @QueryParam("fields") ClusterSizingFields fields
+    ) {
+        Function<ClusterSizingResult, Object> projection = fields != null ? fields::project : r -> r;
+
+        if (limit <= 0 && sortBy == null) {
+            Set<_NodeDefinition> nodeDefinitions = registry.resolve(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions());
+
+            return NdjsonWriter.streaming(mapper, writer -> calculator.scoreNodetypes(
+                    request.getTotalNumberOfPods(),
+                    request.getDefaultPod(),
+                    nodeDefinitions,
+                    result -> writer.write(projection.apply(result))
+            ));
+        }
+
+        NodeCatalog catalog = registry.resolveNodeCatalog(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions());
+
+        return NdjsonWriter.streaming(mapper, writer -> calculator.scoreNodetypes(
+                request.getTotalNumberOfPods(),
+                request.getDefaultPod(),
+                catalog,
+                limit,
+                sortBy != null ? sortBy : ClusterSizingOrder.SCORE
+        ).forEach(result -> writer.write(projection.apply(result))));
+    }
+
+    /**
+     * Calculates the number of nodes of every node type for a whole range of
+     * total numbers of pods in one call. Only the numbers of pods where the
+     * number of nodes changes are returned, see {@link NodeCountCurve}.
+     *
+     * @param request the range of pods, the pod and the node types.
+     * @return the curves of the node types with a solution.
+     */
+    @Counted(name = "performedClusterSizingSweeps", description = "How many cluster sizing sweeps were calculated.")
+    @Timed(name = "clusterSizingSweepTimer", description = "A measure of how long it takes to perform a cluster sizing sweep.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/sweep")
+    public List<NodeCountCurve> calculateSweep(_ClusterSizingSweepRequest request) {
+        checkRange(request);
+
+        return calculator.sweepNodetypes(
+                request.getMinNumberOfPods(),
+                request.getMaxNumberOfPods(),
+                request.getDefaultPod(),
+                registry.resolveNodeCatalog(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions())
+        );
+    }
+
+    /**
+     * Streams the curves of a sweep as newline delimited JSON, each as soon
+     * as its node type is calculated.
+     *
+     * @param request the range of pods, the pod and the node types.
+     * @return the curves of the node types with a solution, one per line.
+     */
+    @Counted(name = "streamedClusterSizingSweeps", description = "How many cluster sizing sweeps were streamed.")
+    @Timed(name = "clusterSizingSweepStreamTimer", description = "A measure of how long it takes to start streaming a cluster sizing sweep.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/sweep")
+    @Produces(NdjsonWriter.APPLICATION_NDJSON)
+    public StreamingOutput streamSweep(_ClusterSizingSweepRequest request) {
+        checkRange(request);
+        NodeCatalog catalog = registry.resolveNodeCatalog(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions());
+
+        return NdjsonWriter.streaming(mapper, writer -> calculator.sweepNodetypes(
+                request.getMinNumberOfPods(),
+                request.getMaxNumberOfPods(),
+                request.getDefaultPod(),
+                catalog,
+                writer::write
+        ));
+    }
+
+    private static void checkRange(final _ClusterSizingSweepRequest request) {
+        if (request.getMinNumberOfPods() < 1 || request.getMaxNumberOfPods() < request.getMinNumberOfPods()) {
+            throw new BadRequestException("Invalid range of pods: min=" + request.getMinNumberOfPods()
+                                                  + ", max=" + request.getMaxNumberOfPods());
+        }
+    }
+
+    /**
+     * The inverse of {@code /cluster/report}: the most pods a cluster of every
+     * node type runs with at most the given number of nodes and within the
+     * budget. The results are the fully packed clusters. Without a number of
+     * nodes the cluster may grow to {@link ScoringKernel#MAX_NODES_PER_CLUSTER}.
+     *
+     * @param request the pod, the limits of the cluster and the node types.
+     * @param limit   the number of results. 0 returns all.
+     * @param sortBy  the order of the results, the most pods first by default.
+     * @return the best clusters and the rejected node types.
+     */
+    @Counted(name = "performedClusterCapacities", description = "How many cluster capacities were calculated.")
+    @Timed(name = "clusterCapacityTimer", description = "A measure of how long it takes to calculate the cluster capacities.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/capacity")
+    public ClusterSizingReport calculateCapacity(
+            _ClusterCapacityRequest request,
+            @QueryParam("limit") @DefaultValue("0") int limit,
+            @QueryParam("sortBy") @DefaultValue("capacity") ClusterSizingOrder sortBy
+    ) {
+        if (request.getNumberOfNodes().isEmpty() && request.getBudget().isEmpty()) {
+            throw new BadRequestException("The number of nodes or the budget is needed.");
+        }
+        if (request.getNumberOfNodes().orElse(1) < 1 || request.getBudget().orElse(0L) < 0) {
+            throw new BadRequestException("Invalid cluster limits: numberOfNodes=" + request.getNumberOfNodes()
+                                                  + ", budget=" + request.getBudget());
+        }
+
+        return calculator.reportMaxNumberOfPods(
+                request.getNumberOfNodes().orElse(ScoringKernel.MAX_NODES_PER_CLUSTER),
+                request.getBudget().orElse(Long.MAX_VALUE),
+                request.getDefaultPod(),
+                registry.resolve(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions()),
+                limit,
+                sortBy
+        );
+    }
+
+    /**
+     * The largest pod of which the given number of pods run on the given
+     * number of nodes of every node type.
+     *
+     * @param request the pods, the nodes and the node types.
+     * @param limit   the number of results. 0 returns all.
+     * @param sortBy  the order of the results.
+     * @return the clusters with the largest pods and the rejected node types.
+     */
+    @Counted(name = "performedLargestPods", description = "How many largest pods were calculated.")
+    @Timed(name = "largestPodTimer", description = "A measure of how long it takes to calculate the largest pods.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/largest-pod")
+    public ClusterSizingReport calculateLargestPod(
+            _LargestPodRequest request,
+            @QueryParam("limit") @DefaultValue("0") int limit,
+            @QueryParam("sortBy") @DefaultValue("score") ClusterSizingOrder sortBy
+    ) {
+        if (request.getTotalNumberOfPods() < 1 || request.getNumberOfNodes() < 1) {
+            throw new BadRequestException("Invalid cluster: totalNumberOfPods=" + request.getTotalNumberOfPods()
+                                                  + ", numberOfNodes=" + request.getNumberOfNodes());
+        }
+
+        return calculator.reportLargestPods(
+                request.getTotalNumberOfPods(),
+                request.getNumberOfNodes(),
+                request.getNumberOfLoggingEventsPerSecond(),
+                registry.resolve(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions()),
+                limit,
+                sortBy
         );
     }
+
+    /**
+     * The nodes of every node type a workload of different pods needs. The
+     * pods are packed first-fit decreasing, see
+     * {@link NodeTypeCalculator#reportWorkload(List, Collection, int)}.
+     *
+     * @param request the pod profiles and the node types.
+     * @param limit   the number of results, the best first. 0 returns all.
+     * @return the best node types and the rejected ones.
+     */
+    @Counted(name = "performedWorkloadSizings", description = "How many workload sizings were calculated.")
+    @Timed(name = "workloadSizingTimer", description = "A measure of how long it takes to pack a workload.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/workload")
+    public WorkloadSizingReport calculateWorkload(
+            _WorkloadSizingRequest request,
+            @QueryParam("limit") @DefaultValue("0") int limit
+    ) {
+        if (request.getPodProfiles().isEmpty() || request.getPodProfiles().stream().anyMatch(p -> p.getCount() < 0)) {
+            throw new BadRequestException("Invalid workload: podProfiles=" + request.getPodProfiles());
+        }
+
+        return calculator.reportWorkload(
+                request.getPodProfiles(),
+                registry.resolve(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions()),
+                limit
+        );
+    }
+
+    /**
+     * Calculates many cluster sizings in one call. All requests are scored
+     * against the same catalogs, requests with the same node types share the
+     * node catalog.
+     *
+     * @param requests the cluster sizing requests.
+     * @param limit    the number of results per request. 0 returns all.
+     * @param sortBy   the order of the results.
+     * @return the results or the error of every request in the order of the requests.
+     */
+    @Counted(name = "performedClusterSizingBatches", description = "How many cluster sizing batches were calculated.")
+    @Timed(name = "clusterSizingBatchTimer", description = "A measure of how long it takes to perform a cluster sizing batch.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/batch")
+    public List<ClusterSizingBatchResult> calculateBatch(
+            List<_ClusterSizingRequest> requests,
+            @QueryParam("limit") @DefaultValue("0") int limit,
+            @QueryParam("sortBy") @DefaultValue("score") ClusterSizingOrder sortBy
+    ) {
+        return batch.evaluate(requests, batchEvaluation(limit, sortBy), ClusterSizingService::batchFailure);
+    }
+
+    /**
+     * Streams the outcomes of a batch as newline delimited JSON in the order
+     * of the requests, each as soon as it and its predecessors are calculated.
+     *
+     * @param requests the cluster sizing requests.
+     * @param limit    the number of results per request. 0 returns all.
+     * @param sortBy   the order of the results.
+     * @return the results or the error of every request, one request per line.
+     */
+    @Counted(name = "streamedClusterSizingBatches", description = "How many cluster sizing batches were streamed.")
+    @Timed(name = "clusterSizingBatchStreamTimer", description = "A measure of how long it takes to start streaming a cluster sizing batch.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/batch")
+    @Produces(NdjsonWriter.APPLICATION_NDJSON)
+    public StreamingOutput streamBatch(
+            List<_ClusterSizingRequest> requests,
+            @QueryParam("limit") @DefaultValue("0") int limit,
+            @QueryParam("sortBy") @DefaultValue("score") ClusterSizingOrder sortBy
+    ) {
+        batch.checkSize(requests);
+        Function<_ClusterSizingRequest, ClusterSizingBatchResult> evaluation = batchEvaluation(limit, sortBy);
+
+        return NdjsonWriter.streaming(
+                mapper,
+                writer -> batch.stream(requests, evaluation, ClusterSizingService::batchFailure, writer::write)
+        );
+    }
+
+    /**
+     * All requests of a batch are scored against the same catalogs, requests
+     * with the same node types share the node catalog.
+     */
+    private Function<_ClusterSizingRequest, ClusterSizingBatchResult> batchEvaluation(
+            final int limit,
+            final ClusterSizingOrder sortBy
+    ) {
+        NodeCatalogSnapshot snapshot = registry.getSnapshot();
+        ConcurrentHashMap<List<Object>, NodeCatalog> catalogs = new ConcurrentHashMap<>();
+
+        return request -> ClusterSizingBatchResult.builder()
+                .addAllResults(calculator.scoreNodetypes(
+                        request.getTotalNumberOfPods(),
+                        request.getDefaultPod(),
+                        catalogs.computeIfAbsent(
+                                List.of(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions()),
+                                key -> snapshot.resolveNodeCatalog(request.getCatalog(), request.getNodeTypeIds(), request.getNodeDefinitions())
+                        ),
+                        limit,
+                        sortBy
+                ))
+                .build();
+    }
+
+    private static ClusterSizingBatchResult batchFailure(final String error) {
+        return ClusterSizingBatchResult.builder().error(error).build();
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Calculates a value only once for concurrent calls with the same key: the
+ * first call calculates, the others wait for its result. The result is kept
+ * for the time to live, later calls within it get the result without
+ * calculating again. A time to live of 0 only coalesces concurrent calls.
+ *
+ * Failed calculations are not kept; the waiting calls fail with the same
+ * exception. The cache holds up to the maximum number of entries, expired
+ * entries are removed first when it is full.
+ *
+ * @param <K> the type of the keys. Equal keys have to mean equal results.
+ * @param <V> the type of the results.
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class CoalescingCache<K, V> {
+    private final ConcurrentHashMap<K, Entry> entries = new ConcurrentHashMap<>();
+
+    private final long timeToLive;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param timeToLive how long results are kept.
+     * @param unit       the unit of the time to live.
+     * @param maxEntries the maximum number of entries.
+     */
+    public CoalescingCache(final long timeToLive, final TimeUnit unit, final int maxEntries) {
+        this(timeToLive, unit, maxEntries, System::nanoTime);
+    }
+
+    CoalescingCache(final long timeToLive, final TimeUnit unit, final int maxEntries, final LongSupplier clock) {
+        if (timeToLive < 0 || maxEntries < 1) {
+            throw new IllegalArgumentException("Invalid cache: timeToLive=" + timeToLive + ", maxEntries=" + maxEntries);
+        }
+
+        this.timeToLive = unit.toNanos(timeToLive);
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * @param key         the key of the result.
+     * @param calculation calculates the result if there is none for the key.
+     * @return the result for the key.
+     */
+    public V get(final K key, final Supplier<V> calculation) {
+        long now = clock.getAsLong();
+        Entry created = new Entry();
+
+        Entry entry = entries.compute(key, (k, current) -> current != null && current.isValid(now) ? current : created);
+        if (entry != created) {
+            (entry.result.isDone() ? hits : coalesced).incrementAndGet();
+            return join(entry.result);
+        }
+
+        misses.incrementAndGet();
+        try {
+            V result = calculation.get();
+
+            entry.completedAt = clock.getAsLong();
+            entry.done = true;
+            entry.result.complete(result);
+
+            if (timeToLive == 0) {
+                entries.remove(key, entry);
+            } else if (entries.size() > maxEntries) {
+                evict();
+            }
+
+            return result;
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(e);
+
+            throw e;
+        }
+    }
+
+    private V join(final CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            // the calculating call failed with this unchecked exception.
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+    private void evict() {
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> !entry.isValid(now));
+
+        Iterator<Map.Entry<K, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            if (eldest.next().getValue().done) {
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * @return how often a kept result has been returned.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return how often a call waited for the calculation of a concurrent call.
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return how often a result has been calculated.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of kept and running calculations.
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+
+    private final class Entry {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private volatile boolean done;
+        private volatile long completedAt;
+
+        private boolean isValid(final long now) {
+            return !done || now - completedAt < timeToLive;
+        }
+    }
+}
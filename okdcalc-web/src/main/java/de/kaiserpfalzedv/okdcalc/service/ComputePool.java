@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The threads calculating the sizings of the asynchronous endpoints and the
+ * batches. The calculations are CPU bound, so there are no more than
+ * {@value #THREADS_PROPERTY} of them; the request threads of the server are
+ * free while the calculations wait for a thread.
+ *
+ * No more than {@value #QUEUE_CAPACITY_PROPERTY} calculations wait for a
+ * thread. Further calculations are rejected, so an overloaded service answers
+ * 503 instead of piling up work it will never catch up with.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@ApplicationScoped
+public class ComputePool {
+    private static final Logger LOG = LoggerFactory.getLogger(ComputePool.class);
+
+    /**
+     * The configuration property with the number of threads calculating
+     * sizings. 0 uses one thread per processor.
+     */
+    public static final String THREADS_PROPERTY = "okdcalc.compute.threads";
+
+    /**
+     * The configuration property with the number of calculations waiting for
+     * a thread. It should not be smaller than the maximum size of a batch.
+     */
+    public static final String QUEUE_CAPACITY_PROPERTY = "okdcalc.compute.queue-capacity";
+
+    @ConfigProperty(name = THREADS_PROPERTY, defaultValue = "0")
+    int threads;
+
+    @ConfigProperty(name = QUEUE_CAPACITY_PROPERTY, defaultValue = "10000")
+    int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(
+                size, size,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "compute-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        LOG.info("Compute pool started: threads={}, queue-capacity={}", size, queueCapacity);
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param calculation the calculation to run on the pool.
+     * @param <R>         the type of the result.
+     * @return the result of the calculation, once it is done.
+     * @throws RejectedExecutionException if {@value #QUEUE_CAPACITY_PROPERTY} calculations are waiting already.
+     */
+    public <R> CompletableFuture<R> supply(final Supplier<R> calculation) {
+        return CompletableFuture.supplyAsync(calculation, executor);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.kaiserpfalzedv.okdcalc.calculator.LoggingEventAggregate;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingEvent;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingRequest;
+
+import javax.ws.rs.BadRequestException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a logging sizing request token by token. The logging event types
+ * are folded into a {@link LoggingEventAggregate} one by one and dropped, so
+ * the memory needed does not grow with their number. Everything else is
+ * bound as usual.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class LoggingRequestReader {
+    /**
+     * The property with the logging event types.
+     */
+    static final String EVENTS = "loggingEventTypes";
+
+    private LoggingRequestReader() {}
+
+    /**
+     * @param mapper the mapper to bind the request with.
+     * @param body   the JSON of a logging sizing request.
+     * @param events the aggregate to fold the logging event types into.
+     * @return the request without its logging event types.
+     * @throws BadRequestException if the body is no valid logging sizing request.
+     * @throws IOException         if the body can not be read.
+     */
+    public static LoggingSizingRequest read(
+            final ObjectMapper mapper,
+            final InputStream body,
+            final LoggingEventAggregate events
+    ) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new BadRequestException("The logging sizing request has to be a JSON object.");
+            }
+
+            ObjectNode request = mapper.createObjectNode();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+
+                if (EVENTS.equals(field)) {
+                    readEvents(mapper, parser, events);
+                } else {
+                    JsonNode value = mapper.readTree(parser);
+                    request.set(field, value);
+                }
+            }
+
+            return mapper.treeToValue(request, LoggingSizingRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid logging sizing request: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static void readEvents(
+            final ObjectMapper mapper,
+            final JsonParser parser,
+            final LoggingEventAggregate events
+    ) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new BadRequestException("The logging event types have to be a JSON array.");
+        }
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            events.add(mapper.readValue(parser, LoggingEvent.class));
+        }
+    }
+}
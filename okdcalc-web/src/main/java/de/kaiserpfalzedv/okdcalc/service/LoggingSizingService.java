@@ -17,20 +17,41 @@
 
 package de.kaiserpfalzedv.okdcalc.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.kaiserpfalzedv.okdcalc.calculator.LoggingClusterSizeCalculator;
+import de.kaiserpfalzedv.okdcalc.calculator.LoggingEventAggregate;
+import de.kaiserpfalzedv.okdcalc.catalog.NodeCatalogRegistry;
+import de.kaiserpfalzedv.okdcalc.catalog.NodeCatalogSnapshot;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingBatchResult;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingRequest;
 import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingResult;
 import de.kaiserpfalzedv.okdcalc.facts._LoggingSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
 import org.eclipse.microprofile.metrics.MetricUnits;
 import org.eclipse.microprofile.metrics.annotation.Counted;
 import org.eclipse.microprofile.metrics.annotation.Timed;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Calculates the size of the logging cluster according to the
@@ -42,16 +63,185 @@ import java.util.Set;
  * @since 1.0.0 2020-02-16
  */
 @Path("/logging")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, WireFormat.APPLICATION_CBOR, WireFormat.APPLICATION_SMILE})
+@Consumes({MediaType.APPLICATION_JSON, WireFormat.APPLICATION_CBOR, WireFormat.APPLICATION_SMILE})
 public class LoggingSizingService {
     @Inject
     LoggingClusterSizeCalculator calculator;
 
+    @Inject
+    NodeCatalogRegistry registry;
+
+    @Inject
+    BatchExecutor batch;
+
+    @Inject
+    ComputePool pool;
+
+    @Inject
+    ObjectMapper mapper;
+
+    @Inject
+    ResponseCache responses;
+
+    /**
+     * Repeated requests are answered from the {@link ResponseCache}.
+     *
+     * @param request     the logging sizing request.
+     * @param limit       the number of results, the best first. 0 returns all.
+     * @param ifNoneMatch the entity tags the client already has.
+     * @param headers     the headers with the accepted formats.
+     * @return the results with their entity tag or 304 if the client has them already.
+     */
     @Counted(name = "performedLoggingSizings", description = "How many logging cluster sizings were calculated.")
     @Timed(name = "loggingSizingTimer", description = "A measure of how long it takes to perform the logging cluster sizing.", unit = MetricUnits.MILLISECONDS)
     @POST
-    public Set<LoggingSizingResult> calculateSingleNodeType(_LoggingSizingRequest request) {
-        return calculator.scoreNodetypes(request);
+    public Response calculateSingleNodeType(
+            _LoggingSizingRequest request,
+            @QueryParam("limit") @DefaultValue("0") int limit,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Context HttpHeaders headers
+    ) {
+        NodeCatalogSnapshot snapshot = registry.getSnapshot();
+        WireFormat format = WireFormat.negotiate(headers.getAcceptableMediaTypes());
+
+        return responses.respond(
+                responses.tag(request, "logging", snapshot.getGeneration(), limit, format),
+                ifNoneMatch,
+                format,
+                () -> calculate(snapshot, request, limit)
+        );
+    }
+
+    private Collection<LoggingSizingResult> calculate(
+            final NodeCatalogSnapshot snapshot,
+            final _LoggingSizingRequest request,
+            final int limit
+    ) {
+        if (limit <= 0) {
+            return calculator.scoreNodetypes(resolve(snapshot, request));
+        }
+
+        return calculator.scoreNodetypes(resolve(snapshot, request), limit);
+    }
+
+    private static _LoggingSizingRequest resolve(final NodeCatalogSnapshot snapshot, final _LoggingSizingRequest request) {
+        if (request.getCatalog().isEmpty() && request.getNodeTypeIds().isEmpty()) {
+            return request;
+        }
+
+        return LoggingSizingRequest.copyOf(request)
+                .withPossibleInfraNodeTypes(
+                        snapshot.resolve(request.getCatalog(), request.getNodeTypeIds(), request.getPossibleInfraNodeTypes())
+                );
+    }
+
+    /**
+     * Reads the request as a stream and folds the logging event types into
+     * running totals instead of keeping them, see {@link LoggingRequestReader}.
+     * Meant for requests with tens of thousands of logging event types.
+     * Every given event type counts, equal ones are not merged.
+     *
+     * @param body  the JSON of the logging sizing request.
+     * @param limit the number of results, the best first. 0 returns all.
+     * @return the results.
+     * @throws IOException if the request can not be read.
+     */
+    @Counted(name = "performedIngestedLoggingSizings", description = "How many streamed logging cluster sizing requests were calculated.")
+    @Timed(name = "loggingSizingIngestTimer", description = "A measure of how long it takes to read and perform a streamed logging cluster sizing.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/ingest")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Collection<LoggingSizingResult> calculateIngested(
+            InputStream body,
+            @QueryParam("limit") @DefaultValue("0") int limit
+    ) throws IOException {
+        LoggingEventAggregate events = new LoggingEventAggregate();
+        _LoggingSizingRequest request = resolve(registry.getSnapshot(), LoggingRequestReader.read(mapper, body, events));
+
+        if (limit <= 0) {
+            return calculator.scoreNodetypes(request, events);
+        }
+
+        return calculator.scoreNodetypes(request, events, limit);
+    }
+
+    /**
+     * Calculates the logging cluster sizings on the {@link ComputePool}. The
+     * request thread is free while the calculation runs.
+     *
+     * @param request the logging sizing request.
+     * @param limit   the number of results, the best first. 0 returns all.
+     * @return the results, once they are calculated.
+     */
+    @Counted(name = "performedAsyncLoggingSizings", description = "How many logging cluster sizings were calculated asynchronously.")
+    @POST
+    @Path("/async")
+    public CompletionStage<Collection<LoggingSizingResult>> calculateSingleNodeTypeAsync(
+            _LoggingSizingRequest request,
+            @QueryParam("limit") @DefaultValue("0") int limit
+    ) {
+        return pool.supply(() -> calculate(registry.getSnapshot(), request, limit));
+    }
+
+    /**
+     * Calculates many logging cluster sizings in one call. All requests are
+     * resolved against the same catalogs, requests referencing the same node
+     * types share them.
+     *
+     * @param requests the logging sizing requests.
+     * @return the results or the error of every request in the order of the requests.
+     */
+    @Counted(name = "performedLoggingSizingBatches", description = "How many logging cluster sizing batches were calculated.")
+    @Timed(name = "loggingSizingBatchTimer", description = "A measure of how long it takes to perform a logging cluster sizing batch.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/batch")
+    public List<LoggingSizingBatchResult> calculateBatch(List<_LoggingSizingRequest> requests) {
+        return batch.evaluate(requests, batchEvaluation(), LoggingSizingService::batchFailure);
+    }
+
+    /**
+     * Streams the outcomes of a batch as newline delimited JSON in the order
+     * of the requests, each as soon as it and its predecessors are calculated.
+     *
+     * @param requests the logging sizing requests.
+     * @return the results or the error of every request, one request per line.
+     */
+    @Counted(name = "streamedLoggingSizingBatches", description = "How many logging cluster sizing batches were streamed.")
+    @Timed(name = "loggingSizingBatchStreamTimer", description = "A measure of how long it takes to start streaming a logging cluster sizing batch.", unit = MetricUnits.MILLISECONDS)
+    @POST
+    @Path("/batch")
+    @Produces(NdjsonWriter.APPLICATION_NDJSON)
+    public StreamingOutput streamBatch(List<_LoggingSizingRequest> requests) {
+        batch.checkSize(requests);
+        Function<_LoggingSizingRequest, LoggingSizingBatchResult> evaluation = batchEvaluation();
+
+        return NdjsonWriter.streaming(
+                mapper,
+                writer -> batch.stream(requests, evaluation, LoggingSizingService::batchFailure, writer::write)
+        );
+    }
+
+    /**
+     * All requests of a batch are resolved against the same catalogs,
+     * requests referencing the same node types share them.
+     */
+    private Function<_LoggingSizingRequest, LoggingSizingBatchResult> batchEvaluation() {
+        NodeCatalogSnapshot snapshot = registry.getSnapshot();
+        ConcurrentHashMap<List<Object>, Set<_NodeDefinition>> nodeTypes = new ConcurrentHashMap<>();
+
+        return request -> LoggingSizingBatchResult.builder()
+                .addAllResults(calculator.scoreNodetypes(
+                        LoggingSizingRequest.copyOf(request)
+                                .withPossibleInfraNodeTypes(nodeTypes.computeIfAbsent(
+                                        List.of(request.getCatalog(), request.getNodeTypeIds(), request.getPossibleInfraNodeTypes()),
+                                        key -> snapshot.resolve(request.getCatalog(), request.getNodeTypeIds(), request.getPossibleInfraNodeTypes())
+                                ))
+                ))
+                .build();
+    }
+
+    private static LoggingSizingBatchResult batchFailure(final String error) {
+        return LoggingSizingBatchResult.builder().error(error).build();
     }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.kaiserpfalzedv.okdcalc.OkdCalcWrappedException;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Writes results as newline delimited JSON, one object per line, as they are
+ * calculated. The response starts with the first result and the service never
+ * holds more than a single result in its serialized form.
+ *
+ * The first line is flushed at once, then every {@value #FLUSH_INTERVAL}
+ * lines, so the client sees results early without a flush per line.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class NdjsonWriter implements Closeable {
+    /**
+     * The media type of newline delimited JSON.
+     */
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    /**
+     * The number of lines written between two flushes.
+     */
+    static final int FLUSH_INTERVAL = 64;
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+    private long lines;
+
+    /**
+     * @param mapper the object mapper to serialize the lines with.
+     * @param lines  writes the lines of the response.
+     * @return the response body.
+     */
+    public static StreamingOutput streaming(final ObjectMapper mapper, final Consumer<NdjsonWriter> lines) {
+        return out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(mapper, out)) {
+                lines.accept(writer);
+            }
+        };
+    }
+
+    public NdjsonWriter(final ObjectMapper mapper, final OutputStream out) throws IOException {
+        writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        generator = mapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * @param value the object to write as a line.
+     * @throws OkdCalcWrappedException if the line can not be written, e.g. the client went away.
+     */
+    public void write(final Object value) {
+        try {
+            writer.writeValue(generator, value);
+
+            if (lines++ % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new OkdCalcWrappedException(e);
+        }
+    }
+
+    /**
+     * @return the number of lines written.
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * Terminates the last line and flushes the output. The output stream
+     * belongs to the container and is not closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (lines > 0) {
+            generator.writeRaw('\n');
+        }
+
+        generator.close();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import de.kaiserpfalzedv.okdcalc.calculator.PodsPerNodeCache;
+import io.quarkus.runtime.StartupEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Gauge;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+/**
+ * Configures the shared {@link PodsPerNodeCache} of the calculators with
+ * {@value PodsPerNodeCache#CAPACITY_PROPERTY} and publishes its statistics.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@ApplicationScoped
+public class PodsPerNodeCacheMetrics {
+    @ConfigProperty(name = PodsPerNodeCache.CAPACITY_PROPERTY, defaultValue = "100000")
+    int capacity;
+
+    PodsPerNodeCache cache = PodsPerNodeCache.shared();
+
+    void onStart(@Observes final StartupEvent event) {
+        cache.setCapacity(capacity);
+    }
+
+    @Gauge(name = "podsPerNodeCacheHits", description = "How often the pods per node have been found in the cache.", unit = MetricUnits.NONE)
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    @Gauge(name = "podsPerNodeCacheMisses", description = "How often the pods per node had to be calculated.", unit = MetricUnits.NONE)
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    @Gauge(name = "podsPerNodeCacheEvictions", description = "How many entries have been evicted from the cache.", unit = MetricUnits.NONE)
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    @Gauge(name = "podsPerNodeCacheHitRate", description = "The share of the lookups answered by the cache.", unit = MetricUnits.NONE)
+    public double getHitRate() {
+        return cache.getHitRate();
+    }
+
+    @Gauge(name = "podsPerNodeCacheColumns", description = "The number of catalog columns in the cache.", unit = MetricUnits.NONE)
+    public long getColumns() {
+        return cache.getColumns();
+    }
+
+    @Gauge(name = "podsPerNodeCacheSize", description = "The number of entries in the cache.", unit = MetricUnits.NONE)
+    public long getSize() {
+        return cache.getSize();
+    }
+}
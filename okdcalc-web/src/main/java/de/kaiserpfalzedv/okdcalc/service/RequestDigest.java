@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.kaiserpfalzedv.okdcalc.OkdCalcWrappedException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A stable SHA-256 digest of a request and the parameters of the call. Equal
+ * requests have the same digest, in every process and after every restart.
+ *
+ * The request is serialized to a canonical JSON form first: the properties of
+ * all objects are sorted by name and the elements of all arrays by their
+ * canonical form, since all collections of the requests are sets. Defaulted
+ * attributes are always serialized with their value, so it does not matter
+ * whether a request states the default or omits it.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public final class RequestDigest {
+    private static final Comparator<JsonNode> CANONICAL_ORDER = Comparator.comparing(JsonNode::toString);
+
+    private final ObjectMapper mapper;
+
+    /**
+     * @param mapper the object mapper to serialize the requests with.
+     */
+    public RequestDigest(final ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * @param request    the request.
+     * @param parameters the other parameters the result depends on, e.g. the endpoint and query parameters.
+     * @return the URL safe Base64 encoded SHA-256 digest.
+     */
+    public String digest(final Object request, final Object... parameters) {
+        MessageDigest digest = sha256();
+
+        for (Object parameter : parameters) {
+            digest.update(String.valueOf(parameter).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        digest.update(canonical(request));
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+    }
+
+    /**
+     * @param request the request.
+     * @return the canonical JSON form of the request.
+     */
+    byte[] canonical(final Object request) {
+        try {
+            return mapper.writeValueAsBytes(canonical(mapper.valueToTree(request)));
+        } catch (JsonProcessingException e) {
+            throw new OkdCalcWrappedException(e);
+        }
+    }
+
+    private JsonNode canonical(final JsonNode node) {
+        if (node.isObject()) {
+            TreeMap<String, JsonNode> properties = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                properties.put(field.getKey(), canonical(field.getValue()));
+            }
+
+            ObjectNode result = mapper.createObjectNode();
+            properties.forEach(result::set);
+            return result;
+        }
+
+        if (node.isArray()) {
+            List<JsonNode> elements = new ArrayList<>(node.size());
+            node.forEach(element -> elements.add(canonical(element)));
+            elements.sort(CANONICAL_ORDER);
+
+            ArrayNode result = mapper.createArrayNode();
+            result.addAll(elements);
+            return result;
+        }
+
+        return node;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has to support SHA-256.
+            throw new OkdCalcWrappedException(e);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kaiserpfalzedv.okdcalc.OkdCalcWrappedException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Gauge;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Answers repeated requests with the serialized first answer.
+ * The sizings are deterministic, so the {@link RequestDigest} of the request
+ * is the entity tag of the response and the key of the cache:
+ *
+ * <ul>
+ *     <li>a request with a matching {@code If-None-Match} header gets a
+ *     {@code 304 Not Modified} without any calculation,</li>
+ *     <li>a request already answered gets the kept bytes without calculation
+ *     and serialization,</li>
+ *     <li>all others are calculated, serialized and kept.</li>
+ * </ul>
+ *
+ * The sizing endpoints are safe queries sent as POST, so a matching
+ * {@code If-None-Match} is answered with 304 instead of 412.
+ *
+ * The responses are serialized in the {@link WireFormat} of the request,
+ * which has to be part of the tag.
+ *
+ * The cache holds the least recently used responses up to
+ * {@value #MAX_BYTES_PROPERTY} bytes.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@ApplicationScoped
+public class ResponseCache {
+    /**
+     * The configuration property with the maximum number of bytes of the kept responses.
+     */
+    public static final String MAX_BYTES_PROPERTY = "okdcalc.cache.response.max-bytes";
+
+    @ConfigProperty(name = MAX_BYTES_PROPERTY, defaultValue = "67108864")
+    long maxBytes;
+
+    @Inject
+    ObjectMapper mapper;
+
+    private RequestDigest digest;
+    private final EnumMap<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+
+    private final LinkedHashMap<String, byte[]> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        digest = new RequestDigest(mapper);
+
+        for (WireFormat format : WireFormat.values()) {
+            mappers.put(format, format == WireFormat.JSON ? mapper : format.createMapper());
+        }
+    }
+
+    /**
+     * @param request    the request.
+     * @param parameters everything else the response depends on: the endpoint, the query parameters, ...
+     * @return the entity tag of the response.
+     */
+    public String tag(final Object request, final Object... parameters) {
+        return digest.digest(request, parameters);
+    }
+
+    /**
+     * @param tag         the entity tag of the response, see {@link #tag(Object, Object...)}.
+     * @param ifNoneMatch the {@code If-None-Match} header of the request.
+     * @param calculation calculates the response.
+     * @return the JSON response with its entity tag.
+     */
+    public Response respond(final String tag, final String ifNoneMatch, final Supplier<?> calculation) {
+        return respond(tag, ifNoneMatch, WireFormat.JSON, calculation);
+    }
+
+    /**
+     * @param tag         the entity tag of the response, see {@link #tag(Object, Object...)}.
+     * @param ifNoneMatch the {@code If-None-Match} header of the request.
+     * @param format      the format of the response.
+     * @param calculation calculates the response.
+     * @return the response in this format with its entity tag.
+     */
+    public Response respond(
+            final String tag,
+            final String ifNoneMatch,
+            final WireFormat format,
+            final Supplier<?> calculation
+    ) {
+        EntityTag entityTag = new EntityTag(tag);
+
+        if (matches(ifNoneMatch, tag)) {
+            notModified.incrementAndGet();
+            return Response.notModified(entityTag).build();
+        }
+
+        return Response.ok(get(tag, () -> serialize(mappers.get(format), calculation.get())), format.getMediaType())
+                .tag(entityTag)
+                .build();
+    }
+
+    /**
+     * @param ifNoneMatch the {@code If-None-Match} header.
+     * @param tag         the entity tag of the response.
+     * @return true if the header contains the tag (weak or strong). Only
+     *         explicit entity tags match, {@code *} does not.
+     */
+    static boolean matches(final String ifNoneMatch, final String tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+
+            if (('"' + tag + '"').equals(value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param tag         the entity tag of the response.
+     * @param calculation calculates the serialized response.
+     * @return the kept or calculated response.
+     */
+    byte[] get(final String tag, final Supplier<byte[]> calculation) {
+        synchronized (responses) {
+            byte[] result = responses.get(tag);
+            if (result != null) {
+                hits.incrementAndGet();
+                return result;
+            }
+        }
+
+        misses.incrementAndGet();
+        byte[] result = calculation.get();
+
+        if (result.length <= maxBytes) {
+            synchronized (responses) {
+                byte[] replaced = responses.put(tag, result);
+                bytes += result.length - (replaced != null ? replaced.length : 0);
+                evict();
+            }
+        }
+
+        return result;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, byte[]>> eldest = responses.entrySet().iterator();
+        while (bytes > maxBytes) {
+            bytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+
+    private static byte[] serialize(final ObjectMapper mapper, final Object response) {
+        try {
+            return mapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new OkdCalcWrappedException(e);
+        }
+    }
+
+    @Gauge(name = "responseCacheHits", description = "How many responses have been answered with kept bytes.", unit = MetricUnits.NONE)
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Gauge(name = "responseCacheMisses", description = "How many responses have been calculated and serialized.", unit = MetricUnits.NONE)
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Gauge(name = "responseCacheNotModified", description = "How many requests have been answered with 304 Not Modified.", unit = MetricUnits.NONE)
+    public long getNotModified() {
+        return notModified.get();
+    }
+
+    @Gauge(name = "responseCacheBytes", description = "The bytes of the kept responses.", unit = MetricUnits.BYTES)
+    public long getBytes() {
+        synchronized (responses) {
+            return bytes;
+        }
+    }
+}
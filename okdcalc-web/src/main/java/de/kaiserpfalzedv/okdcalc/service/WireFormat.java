@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The formats the sizing endpoints read and write. Automation clients
+ * sending big catalogs save parsing time and bandwidth with one of the
+ * binary formats; they carry the same data model as the JSON.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON, JsonFactory::new),
+    CBOR(WireFormat.APPLICATION_CBOR, CBORFactory::new),
+    SMILE(WireFormat.APPLICATION_SMILE, SmileFactory::new);
+
+    /**
+     * Concise Binary Object Representation (RFC 8949).
+     */
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    /**
+     * The binary JSON format of Jackson.
+     */
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    private final MediaType mediaType;
+    private final Supplier<JsonFactory> factory;
+
+    WireFormat(final String mediaType, final Supplier<JsonFactory> factory) {
+        this.mediaType = MediaType.valueOf(mediaType);
+        this.factory = factory;
+    }
+
+    /**
+     * @return the media type of the format.
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return a new mapper writing and reading this format.
+     */
+    public ObjectMapper createMapper() {
+        return new ObjectMapper(factory.get()).findAndRegisterModules();
+    }
+
+    /**
+     * @param acceptable the acceptable media types of the client, the preferred first.
+     * @return the first format the client accepts, JSON if it accepts none.
+     */
+    public static WireFormat negotiate(final List<MediaType> acceptable) {
+        for (MediaType type : acceptable) {
+            for (WireFormat format : values()) {
+                if (type.isCompatible(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+
+        return JSON;
+    }
+}
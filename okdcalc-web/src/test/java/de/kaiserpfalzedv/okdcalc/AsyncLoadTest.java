@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+
+/**
+ * Compares the latencies of the blocking and the asynchronous cluster sizing
+ * under concurrent load. The percentiles are logged; the test only fails if a
+ * request fails.
+ *
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@QuarkusTest
+@Tag("integration")
+@Tag("load")
+public class AsyncLoadTest {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncLoadTest.class);
+
+    private static final int CLIENTS = 64;
+    private static final int WARM_UP = 200;
+    private static final int REQUESTS = 2000;
+    private static final int NODE_TYPES = 2000;
+    private static final int TOTAL_NUMBER_OF_PODS = 2500;
+
+    @TestHTTPResource("/cluster")
+    URI blocking;
+
+    @TestHTTPResource("/cluster/async")
+    URI async;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private final ClusterSizingRequest request = request();
+
+    /**
+     * Every request sizes one pod more than the one before, so no request is
+     * answered from the sizing or the response cache.
+     */
+    private final AtomicInteger additionalPods = new AtomicInteger();
+
+
+    @Test
+    public void shouldAnswerAllRequestsWhenCalledConcurrently() throws InterruptedException {
+        load(blocking, WARM_UP);
+        load(async, WARM_UP);
+
+        long[] blockingLatencies = load(blocking, REQUESTS);
+        long[] asyncLatencies = load(async, REQUESTS);
+
+        LOG.info("Latencies (ms) of {} requests by {} clients:", REQUESTS, CLIENTS);
+        LOG.info("  blocking: {}", percentiles(blockingLatencies));
+        LOG.info("  async:    {}", percentiles(asyncLatencies));
+    }
+
+    private long[] load(final URI uri, final int requests) throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<CompletableFuture<Long>> latencies = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            latencies.add(CompletableFuture.supplyAsync(() -> send(uri), clients));
+        }
+
+        long[] result = latencies.stream().mapToLong(CompletableFuture::join).toArray();
+
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+        return result;
+    }
+
+    private long send(final URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body()))
+                .build();
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            assert response.statusCode() == 200 : "Request failed: status=" + response.statusCode();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private String body() {
+        try {
+            return mapper.writeValueAsString(
+                    request.withTotalNumberOfPods(TOTAL_NUMBER_OF_PODS + additionalPods.getAndIncrement())
+            );
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String percentiles(final long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+
+        return String.format("p50=%.1f, p90=%.1f, p99=%.1f, p99.9=%.1f, max=%.1f",
+                             percentile(sorted, 0.5), percentile(sorted, 0.9), percentile(sorted, 0.99),
+                             percentile(sorted, 0.999), sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(final long[] sorted, final double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+
+    private static ClusterSizingRequest request() {
+        ClusterSizingRequest.Builder result = ClusterSizingRequest.builder()
+                .totalNumberOfPods(TOTAL_NUMBER_OF_PODS)
+                .defaultPod(Pod.builder()
+                                    .memory(GiB)
+                                    .milliCores(100L)
+                                    .build()
+                );
+
+        for (int i = 1; i <= NODE_TYPES; i++) {
+            result.addNodeDefinitions(NodeDefinition.builder()
+                                              .cpu(CPU.builder()
+                                                           .sockets(1)
+                                                           .cores(1 + i % 64)
+                                                           .logical(2 + 2 * (i % 64))
+                                                           .build()
+                                              )
+                                              .memory(i * GiB)
+                                              .disk(4096 * GiB)
+                                              .diskBandwidth(3 * GiB)
+                                              .maxNumberOfLoggingDisks(8)
+                                              .score(i)
+                                              .build()
+            );
+        }
+
+        return result.build();
+    }
+}
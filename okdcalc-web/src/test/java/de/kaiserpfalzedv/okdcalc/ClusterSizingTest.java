@@ -17,10 +17,17 @@
 
 package de.kaiserpfalzedv.okdcalc;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterCapacityRequest;
 import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingSweepRequest;
+import de.kaiserpfalzedv.okdcalc.facts.LargestPodRequest;
 import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
 import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import de.kaiserpfalzedv.okdcalc.facts.PodProfile;
+import de.kaiserpfalzedv.okdcalc.facts.WorkloadSizingRequest;
+import de.kaiserpfalzedv.okdcalc.service.WireFormat;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.Tag;
@@ -28,8 +35,14 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 
 /**
  * @author rlichti
@@ -117,4 +130,539 @@ public class ClusterSizingTest {
                 .log().all(true)
                 .statusCode(200);
     }
+
+    @Test
+    public void shouldReturnOnlyTheBestSizingsWhenALimitIsGiven() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .queryParam("limit", 2)
+                .queryParam("sortBy", "wastedMemory")
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD)
+                              .addNodeDefinitions(
+                                      SMALL_NODES,
+                                      DEFAULT_NODE,
+                                      BIG_NODES
+                              )
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("size()", is(2));
+    }
+
+    @Test
+    public void shouldListTheRejectedNodeTypesWhenAReportIsRequested() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD.withMilliCores(3000L))
+                              .addNodeDefinitions(
+                                      SMALL_NODES,
+                                      DEFAULT_NODE,
+                                      BIG_NODES
+                              )
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster/report")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("results.size()", is(2))
+                .body("rejected[0].reason", is("CPU"));
+    }
+
+    @Test
+    public void shouldAnswerInCborWhenTheClientAcceptsIt() throws IOException {
+        byte[] response = given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(WireFormat.APPLICATION_CBOR)
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD)
+                              .addNodeDefinitions(DEFAULT_NODE, BIG_NODES)
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .contentType(WireFormat.APPLICATION_CBOR)
+                .extract().asByteArray();
+
+        JsonNode results = WireFormat.CBOR.createMapper().readTree(response);
+        LOG.debug("CBOR response: bytes={}, results={}", response.length, results);
+
+        assert results.size() == 2;
+        assert results.get(0).has("podsPerNode");
+    }
+
+    @Test
+    public void shouldReturnOnlyTheRequestedAttributesWhenFieldsAreGiven() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .queryParam("fields", "nodes,podsPerNode,score")
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD)
+                              .addNodeDefinitions(DEFAULT_NODE)
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("size()", is(1))
+                .body("[0].size()", is(3))
+                .body("[0].podsPerNode", notNullValue());
+    }
+
+    @Test
+    public void shouldListNodeTypesAndPodsOnceWhenANormalizedReportIsRequested() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .queryParam("normalized", true)
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD.withMilliCores(3000L))
+                              .addNodeDefinitions(
+                                      SMALL_NODES,
+                                      DEFAULT_NODE,
+                                      BIG_NODES
+                              )
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster/report")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("nodeTypes.size()", is(3))
+                .body("pods.size()", is(1))
+                .body("results.size()", is(2))
+                .body("results[0].pod", is("#1"))
+                .body("rejected[0].reason", is("CPU"));
+    }
+
+    @Test
+    public void shouldScoreTheRegisteredCatalogWhenACatalogIsReferenced() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .queryParam("limit", 2)
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD)
+                              .catalog("test")
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("size()", is(2));
+    }
+
+    @Test
+    public void shouldScoreOnlyTheReferencedNodeTypesWhenNodeTypeIdsAreGiven() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD)
+                              .addNodeTypeIds("big")
+                              .addNodeDefinitions(SMALL_NODES)
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("size()", is(2));
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenTheCatalogIsUnknown() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD)
+                              .catalog("unknown")
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster/report")
+                .then()
+                .log().all(true)
+                .statusCode(400);
+    }
+
+    @Test
+    public void shouldReturnTheResultsOrErrorsInOrderWhenABatchIsGiven() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .queryParam("limit", 2)
+                .body(List.of(
+                        ClusterSizingRequest.builder()
+                                .totalNumberOfPods(250)
+                                .defaultPod(NORMAL_POD)
+                                .catalog("test")
+                                .build(),
+                        ClusterSizingRequest.builder()
+                                .totalNumberOfPods(250)
+                                .defaultPod(NORMAL_POD)
+                                .catalog("unknown")
+                                .build(),
+                        ClusterSizingRequest.builder()
+                                .totalNumberOfPods(500)
+                                .defaultPod(NORMAL_POD)
+                                .catalog("test")
+                                .build()
+                ))
+                .log().all(true)
+                .post("/cluster/batch")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("size()", is(3))
+                .body("[0].results.size()", is(2))
+                .body("[1].results.size()", is(0))
+                .body("[1].error", notNullValue())
+                .body("[2].results.size()", is(2));
+    }
+
+    @Test
+    public void shouldStreamOneResultPerLineWhenNdjsonIsAccepted() {
+        String result = given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept("application/x-ndjson")
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD)
+                              .catalog("test")
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+
+        assert result.lines().count() == 3;
+        assert result.lines().allMatch(line -> line.startsWith("{") && line.contains("\"podsPerNode\""));
+    }
+
+    @Test
+    public void shouldStreamOneLinePerRequestWhenABatchIsStreamed() {
+        String result = given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept("application/x-ndjson")
+                .queryParam("limit", 1)
+                .body(List.of(
+                        ClusterSizingRequest.builder()
+                                .totalNumberOfPods(250)
+                                .defaultPod(NORMAL_POD)
+                                .catalog("unknown")
+                                .build(),
+                        ClusterSizingRequest.builder()
+                                .totalNumberOfPods(250)
+                                .defaultPod(NORMAL_POD)
+                                .catalog("test")
+                                .build()
+                ))
+                .log().all(true)
+                .post("/cluster/batch")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .extract().asString();
+
+        List<String> lines = result.lines().collect(Collectors.toList());
+        assert lines.size() == 2;
+        assert lines.get(0).contains("\"error\"");
+        assert lines.get(1).contains("\"results\"");
+    }
+
+    @Test
+    public void shouldReturnBadRequestBeforeStreamingWhenTheCatalogIsUnknown() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept("application/x-ndjson")
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD)
+                              .catalog("unknown")
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster")
+                .then()
+                .log().all(true)
+                .statusCode(400);
+    }
+
+    @Test
+    public void shouldReturnOneCurvePerNodeTypeWhenARangeOfPodsIsSwept() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(ClusterSizingSweepRequest.builder()
+                              .minNumberOfPods(100)
+                              .maxNumberOfPods(50000)
+                              .defaultPod(NORMAL_POD)
+                              .catalog("test")
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster/sweep")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("size()", is(3))
+                .body("[0].nodes", notNullValue())
+                .body("[0].podsPerNode", notNullValue());
+    }
+
+    @Test
+    public void shouldStreamOneCurvePerLineWhenASweepIsStreamed() {
+        String result = given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept("application/x-ndjson")
+                .body(ClusterSizingSweepRequest.builder()
+                              .minNumberOfPods(100)
+                              .maxNumberOfPods(50000)
+                              .defaultPod(NORMAL_POD)
+                              .catalog("test")
+                              .build()
+                )
+                .post("/cluster/sweep")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+
+        assert result.lines().count() == 3;
+        assert result.lines().allMatch(line -> line.contains("\"breakpoints\""));
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenTheRangeOfPodsIsEmpty() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(ClusterSizingSweepRequest.builder()
+                              .minNumberOfPods(500)
+                              .maxNumberOfPods(100)
+                              .defaultPod(NORMAL_POD)
+                              .catalog("test")
+                              .build()
+                )
+                .post("/cluster/sweep")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    public void shouldReturnFullyPackedClustersWhenTheCapacityIsRequested() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(ClusterCapacityRequest.builder()
+                              .numberOfNodes(10)
+                              .defaultPod(NORMAL_POD)
+                              .catalog("test")
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster/capacity?limit=1")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("results.size()", is(1))
+                .body("results[0].nodes", is(10))
+                .body("results[0].podsPerNode", notNullValue());
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenTheCapacityHasNoLimit() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(ClusterCapacityRequest.builder()
+                              .defaultPod(NORMAL_POD)
+                              .catalog("test")
+                              .build()
+                )
+                .post("/cluster/capacity")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    public void shouldReturnTheLargestPodsWhenThePodsAndNodesAreGiven() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(LargestPodRequest.builder()
+                              .totalNumberOfPods(100)
+                              .numberOfNodes(10)
+                              .catalog("test")
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster/largest-pod")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("results[0].nodes", is(10))
+                .body("results[0].podsPerNode", is(10))
+                .body("results[0].defaultPod.memory", notNullValue());
+    }
+
+    @Test
+    public void shouldReturnTheBestNodeTypeWhenAMixedWorkloadIsPacked() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(WorkloadSizingRequest.builder()
+                              .addPodProfiles(PodProfile.builder().pod(NORMAL_POD).count(1000).build())
+                              .addPodProfiles(PodProfile.builder().pod(NORMAL_POD.withMilliCores(2000L).withMemory(8 * GiB)).count(50).build())
+                              .catalog("test")
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster/workload?limit=1")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("results.size()", is(1))
+                .body("results[0].nodes", notNullValue())
+                .body("results[0].score", notNullValue());
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenTheWorkloadIsEmpty() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(WorkloadSizingRequest.builder()
+                              .catalog("test")
+                              .build()
+                )
+                .post("/cluster/workload")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    public void shouldReturnTheSameSizingsWhenCalledAsynchronously() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .queryParam("limit", 2)
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD)
+                              .catalog("test")
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster/async")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("size()", is(2));
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenTheCatalogIsUnknownAndCalledAsynchronously() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(ClusterSizingRequest.builder()
+                              .totalNumberOfPods(250)
+                              .defaultPod(NORMAL_POD)
+                              .catalog("unknown")
+                              .build()
+                )
+                .log().all(true)
+                .post("/cluster/async")
+                .then()
+                .log().all(true)
+                .statusCode(400);
+    }
+
+    @Test
+    public void shouldReturnNotModifiedWhenTheClientHasTheResultsAlready() {
+        ClusterSizingRequest request = ClusterSizingRequest.builder()
+                .totalNumberOfPods(250)
+                .defaultPod(NORMAL_POD)
+                .addNodeDefinitions(SMALL_NODES, DEFAULT_NODE, BIG_NODES)
+                .build();
+
+        String etag = given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(request)
+                .post("/cluster")
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .extract().header("ETag");
+
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .header("If-None-Match", etag)
+                .body(ClusterSizingRequest.copyOf(request).withNodeDefinitions(BIG_NODES, DEFAULT_NODE, SMALL_NODES))
+                .log().all(true)
+                .post("/cluster")
+                .then()
+                .log().all(true)
+                .statusCode(304)
+                .header("ETag", is(etag));
+    }
 }
@@ -29,8 +29,12 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 
 /**
  * @author rlichti
@@ -113,4 +117,188 @@ public class LoggingClusterSizingTest {
                 .log().all(true)
                 .statusCode(200);
     }
+
+    @Test
+    public void shouldReturnOnlyTheBestSizingWhenTheLimitIsOne() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .queryParam("limit", 1)
+                .body(LoggingSizingRequest.builder()
+                              .addPossibleInfraNodeTypes(SMALL_INFRA_NODE, MEDIUM_INFRA_NODE, BIG_INFRA_NODE)
+                              .addLoggingEventTypes(LoggingEvent.builder()
+                                                            .defaultNumberOfEventsPerHour(5 * 3600)
+                                                            .eventSize(256)
+                                                            .numberOfContainers(4000)
+                                                            .numberOfNamespaces(400)
+                                                            .retentionDays(28)
+                                                            .build()
+                              )
+                              .numberOfAvailabilityZones(3)
+                              .numberOfComputeNodes(30)
+                              .parallelKibanaUsers(50)
+                              .numberOfReplica(1)
+                              .build()
+                )
+                .post("/logging")
+                .then()
+                .statusCode(200)
+                .body("size()", is(1))
+                .body("[0].score", is(12000));
+    }
+
+    @Test
+    public void shouldReturnTheSameSizingWhenTheRequestIsIngested() {
+        LoggingSizingRequest request = LoggingSizingRequest.builder()
+                .addPossibleInfraNodeTypes(SMALL_INFRA_NODE, MEDIUM_INFRA_NODE, BIG_INFRA_NODE)
+                .addLoggingEventTypes(
+                        LoggingEvent.builder()
+                                .defaultNumberOfEventsPerHour(5 * 3600)
+                                .eventSize(256)
+                                .numberOfContainers(4000)
+                                .numberOfNamespaces(400)
+                                .retentionDays(28)
+                                .build(),
+                        LoggingEvent.builder()
+                                .numberOfContainers(200)
+                                .numberOfNamespaces(20)
+                                .build()
+                )
+                .numberOfAvailabilityZones(3)
+                .numberOfComputeNodes(30)
+                .parallelKibanaUsers(50)
+                .numberOfReplica(1)
+                .build();
+
+        List<Integer> bound = given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(request)
+                .post("/logging/async")
+                .then()
+                .statusCode(200)
+                .extract().path("numberOfLoggingPods.sort()");
+
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(request)
+                .log().all(true)
+                .post("/logging/ingest")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("size()", is(3))
+                .body("numberOfLoggingPods.sort()", is(bound));
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenTheIngestedEventsAreNoArray() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body("{\"loggingEventTypes\": 1, \"numberOfComputeNodes\": 3, \"parallelKibanaUsers\": 5}")
+                .log().all(true)
+                .post("/logging/ingest")
+                .then()
+                .log().all(true)
+                .statusCode(400);
+    }
+
+    @Test
+    public void shouldReturnAValidSizingWhenACatalogIsReferenced() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(LoggingSizingRequest.builder()
+                              .catalog("test")
+                              .addLoggingEventTypes(LoggingEvent.builder()
+                                                            .defaultNumberOfEventsPerHour(5 * 3600)
+                                                            .eventSize(256)
+                                                            .numberOfContainers(4000)
+                                                            .numberOfNamespaces(400)
+                                                            .retentionDays(28)
+                                                            .build()
+                              )
+                              .numberOfAvailabilityZones(3)
+                              .numberOfComputeNodes(30)
+                              .parallelKibanaUsers(50)
+                              .numberOfReplica(1)
+                              .build()
+                )
+                .log().all(true)
+                .post("/logging")
+                .then()
+                .log().all(true)
+                .statusCode(200);
+    }
+
+    @Test
+    public void shouldReturnTheResultsOrErrorsInOrderWhenABatchIsGiven() {
+        LoggingSizingRequest request = LoggingSizingRequest.builder()
+                .catalog("test")
+                .addLoggingEventTypes(LoggingEvent.builder()
+                                              .defaultNumberOfEventsPerHour(5 * 3600)
+                                              .eventSize(256)
+                                              .numberOfContainers(4000)
+                                              .numberOfNamespaces(400)
+                                              .retentionDays(28)
+                                              .build()
+                )
+                .numberOfAvailabilityZones(3)
+                .numberOfComputeNodes(30)
+                .parallelKibanaUsers(50)
+                .numberOfReplica(1)
+                .build();
+
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(List.of(request, request.withCatalog("unknown"), request))
+                .log().all(true)
+                .post("/logging/batch")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("size()", is(3))
+                .body("[0].results.size()", is(3))
+                .body("[1].error", notNullValue())
+                .body("[2].results.size()", is(3));
+    }
+
+    @Test
+    public void shouldReturnAValidSizingWhenCalledAsynchronously() {
+        given()
+                .when()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(LoggingSizingRequest.builder()
+                              .catalog("test")
+                              .addLoggingEventTypes(LoggingEvent.builder()
+                                                            .defaultNumberOfEventsPerHour(5 * 3600)
+                                                            .eventSize(256)
+                                                            .numberOfContainers(4000)
+                                                            .numberOfNamespaces(400)
+                                                            .retentionDays(28)
+                                                            .build()
+                              )
+                              .numberOfAvailabilityZones(3)
+                              .numberOfComputeNodes(30)
+                              .parallelKibanaUsers(50)
+                              .numberOfReplica(1)
+                              .build()
+                )
+                .log().all(true)
+                .post("/logging/async")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("size()", is(3));
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+@QuarkusTest
+@Tag("integration")
+public class NodeCatalogTest {
+    private static final Logger LOG = LoggerFactory.getLogger(NodeCatalogTest.class);
+
+
+    @Test
+    public void shouldListTheRegisteredCatalogs() {
+        given()
+                .when()
+                .accept(ContentType.JSON)
+                .get("/catalogs")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("size()", is(1))
+                .body("[0].id", is("test"));
+    }
+
+    @Test
+    public void shouldReturnTheCatalogWhenTheIdIsKnown() {
+        given()
+                .when()
+                .accept(ContentType.JSON)
+                .get("/catalogs/test")
+                .then()
+                .log().all(true)
+                .statusCode(200)
+                .body("nodeTypes.size()", is(3))
+                .body("nodeTypes[2].id", is("big"));
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenTheCatalogIsUnknown() {
+        given()
+                .when()
+                .accept(ContentType.JSON)
+                .get("/catalogs/unknown")
+                .then()
+                .log().all(true)
+                .statusCode(404);
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.catalog;
+
+import de.kaiserpfalzedv.okdcalc.OkdCalcWrappedException;
+import de.kaiserpfalzedv.okdcalc.calculator.NodeCatalog;
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.NodeCatalogDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts._NodeDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class NodeCatalogRegistryTest {
+    private static final Logger LOG = LoggerFactory.getLogger(NodeCatalogRegistryTest.class);
+
+    private static final NodeDefinition SMALL = createNodeType("small", 2, 8 * GiB);
+    private static final NodeDefinition BIG = createNodeType("big", 64, 256 * GiB);
+    private static final NodeDefinition OTHER_BIG = createNodeType("big", 32, 128 * GiB);
+    private static final NodeDefinition INLINE = createNodeType(null, 16, 64 * GiB);
+
+    private NodeCatalogRegistry service;
+
+
+    @Test
+    public void shouldReturnTheGivenNodeTypesWhenNothingIsReferenced() {
+        Set<_NodeDefinition> inline = Set.of(INLINE);
+
+        assert service.resolve(Optional.empty(), Collections.emptySet(), inline) == inline;
+    }
+
+    @Test
+    public void shouldReturnTheWholeCatalogWhenOnlyTheCatalogIsReferenced() {
+        Set<_NodeDefinition> result = service.resolve(Optional.of("aws"), Collections.emptySet(), Set.of(INLINE));
+
+        assert result.size() == 3;
+        assert result.containsAll(List.of(SMALL, BIG, INLINE));
+    }
+
+    @Test
+    public void shouldReturnTheCatalogNodeTypesWhenNothingElseIsRequested() {
+        Set<_NodeDefinition> result = service.resolve(Optional.of("aws"), Collections.emptySet(), Collections.emptySet());
+
+        assert result == service.getCatalog("aws").orElseThrow().getNodeTypes();
+    }
+
+    @Test
+    public void shouldSelectNodeTypesOfTheCatalogWhenIdsAreGiven() {
+        Set<_NodeDefinition> result = service.resolve(Optional.of("azure"), Set.of("big"), Collections.emptySet());
+
+        assert result.equals(Set.of(OTHER_BIG));
+    }
+
+    @Test
+    public void shouldUseTheFirstCatalogWhenIdsAreGivenWithoutCatalog() {
+        Set<_NodeDefinition> result = service.resolve(Optional.empty(), Set.of("big", "small"), Collections.emptySet());
+
+        assert result.equals(Set.of(SMALL, BIG));
+    }
+
+    @Test
+    public void shouldUsePreparedColumnsWhenTheWholeCatalogIsReferenced() {
+        NodeCatalog result = service.resolveNodeCatalog(Optional.of("aws"), Collections.emptySet(), Collections.emptySet());
+
+        assert result == service.getCatalog("aws").orElseThrow().getNodeCatalog();
+        assert result.size() == 2;
+
+        NodeCatalog mixed = service.resolveNodeCatalog(Optional.of("aws"), Collections.emptySet(), Set.of(INLINE));
+
+        assert mixed.size() == 3;
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheCatalogIsUnknown() {
+        try {
+            service.resolve(Optional.of("unknown"), Collections.emptySet(), Collections.emptySet());
+
+            Assertions.fail("An unknown catalog should throw an UnknownNodeTypeException.");
+        } catch (UnknownNodeTypeException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheNodeTypeIsUnknownInTheCatalog() {
+        try {
+            service.resolveNodeCatalog(Optional.of("aws"), Set.of("medium"), Collections.emptySet());
+
+            Assertions.fail("An unknown node type should throw an UnknownNodeTypeException.");
+        } catch (UnknownNodeTypeException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheNodeTypeIsUnknown() {
+        try {
+            service.resolve(Optional.empty(), Set.of("medium"), Collections.emptySet());
+
+            Assertions.fail("An unknown node type should throw an UnknownNodeTypeException.");
+        } catch (UnknownNodeTypeException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenNodeTypeIdsAreNotUnique() {
+        try {
+            service.register(List.of(NodeCatalogDefinition.builder().id("twice").addNodeTypes(BIG, OTHER_BIG).build()));
+
+            Assertions.fail("Duplicate node type ids should throw an IllegalArgumentException.");
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+
+        assert service.getGeneration() == 1;
+        assert service.getCatalog("aws").isPresent();
+    }
+
+    @Test
+    public void shouldLoadTheCatalogsWhenAFileIsConfigured() {
+        service.catalogFile = Optional.of("src/test/resources/catalogs.yaml");
+        service.init();
+
+        RegisteredNodeCatalog result = service.getCatalog("test").orElseThrow();
+
+        assert service.getCatalogs().size() == 1;
+        assert result.getNodeTypes().size() == 3;
+        assert result.getNodeType("big").orElseThrow().getMaxPods() == 250;
+        assert result.getNodeCatalog().getScoreColumn()[2] == 5000L;
+    }
+
+    @Test
+    public void shouldReadJsonCatalogs() throws IOException {
+        String json = "[{\"id\":\"json\",\"nodeTypes\":[{\"id\":\"tiny\",\"memory\":1073741824,"
+                + "\"cpu\":{\"sockets\":1,\"cores\":1,\"logical\":1},\"disk\":0,\"diskBandwidth\":0}]}]";
+
+        List<NodeCatalogDefinition> result = NodeCatalogRegistry.read(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), false
+        );
+
+        assert result.size() == 1;
+        assert result.get(0).getNodeTypes().get(0).getId().equals(Optional.of("tiny"));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheFileCanNotBeRead() {
+        try {
+            service.load(Paths.get("src/test/resources/missing.json"));
+
+            Assertions.fail("A missing file should throw an OkdCalcWrappedException.");
+        } catch (OkdCalcWrappedException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldNotReloadWhenNoFileIsConfigured() {
+        assert !service.reload();
+        assert service.getReloads() == 1;
+    }
+
+    @Test
+    public void shouldKeepTheCatalogsWhenTheFileIsBroken() throws IOException {
+        Path file = Files.createTempFile("catalogs", ".json");
+        Files.writeString(file, "[{\"id\": ");
+
+        try {
+            service.load(file);
+
+            Assertions.fail("A broken file should throw an OkdCalcWrappedException.");
+        } catch (OkdCalcWrappedException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+
+        assert service.getFailedReloads() == 1;
+        assert service.getGeneration() == 1;
+        assert service.getNumberOfNodeTypes() == 3;
+    }
+
+    @Test
+    public void shouldReloadTheCatalogsWhenTheFileHasBeenModified() throws IOException {
+        Path file = Files.createTempFile("catalogs", ".json");
+        Files.writeString(file, catalogJson("first"));
+
+        service.catalogFile = Optional.of(file.toString());
+        service.init();
+        assert service.getGeneration() == 2;
+
+        service.reloadIfModified();
+        assert service.getGeneration() == 2;
+
+        Files.writeString(file, catalogJson("second"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000L));
+        service.reloadIfModified();
+
+        assert service.getGeneration() == 3;
+        assert service.getCatalog("second").isPresent();
+
+        Files.writeString(file, "broken");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 20_000L));
+        service.reloadIfModified();
+
+        assert service.getGeneration() == 3;
+        assert service.getFailedReloads() == 1;
+    }
+
+    @Test
+    public void shouldStopPollingWhenClosed() throws IOException {
+        Path file = Files.createTempFile("catalogs", ".json");
+        Files.writeString(file, catalogJson("polled"));
+
+        service.catalogFile = Optional.of(file.toString());
+        service.pollInterval = 1;
+        service.init();
+        service.close();
+
+        assert service.getCatalog("polled").isPresent();
+    }
+
+    @Test
+    public void shouldSeeOnlyCompleteSnapshotsWhenReloadingConcurrently() throws InterruptedException {
+        int readers = 8;
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong reads = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+        service.register(List.of(generatedCatalog(0)));
+
+        try {
+            for (int r = 0; r < readers; r++) {
+                executor.execute(() -> {
+                    int lastSize = 0;
+                    try {
+                        while (running.get()) {
+                            NodeCatalogSnapshot snapshot = service.getSnapshot();
+                            Set<_NodeDefinition> nodeTypes = snapshot.resolve(
+                                    Optional.of("generated"), Collections.emptySet(), Collections.emptySet()
+                            );
+                            NodeCatalog columns = snapshot.resolveNodeCatalog(
+                                    Optional.of("generated"), Collections.emptySet(), Collections.emptySet()
+                            );
+
+                            // catalog n has n node types, all named after n.
+                            int size = nodeTypes.size();
+                            assert size >= lastSize : "older snapshot after a newer one";
+                            assert columns.size() == size : "columns of another snapshot";
+                            for (_NodeDefinition nodeType : nodeTypes) {
+                                assert nodeType.getId().orElseThrow().startsWith(size + "-") : "mixed snapshot";
+                            }
+
+                            lastSize = size;
+                            reads.incrementAndGet();
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                });
+            }
+
+            executor.execute(() -> {
+                try {
+                    for (int generation = 1; generation <= 200; generation++) {
+                        service.register(List.of(generatedCatalog(generation)));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } finally {
+            executor.shutdown();
+            assert executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        LOG.debug("Reads: {}, generation: {}", reads.get(), service.getGeneration());
+        assert failure.get() == null : failure.get();
+        assert reads.get() > 0;
+        assert service.getReloads() == 202;
+        assert service.getNumberOfNodeTypes() == 200;
+    }
+
+    @BeforeEach
+    public void setUpService() {
+        service = new NodeCatalogRegistry();
+        service.register(List.of(
+                NodeCatalogDefinition.builder().id("aws").addNodeTypes(SMALL, BIG).build(),
+                NodeCatalogDefinition.builder().id("azure").addNodeTypes(OTHER_BIG).build()
+        ));
+    }
+
+    private static NodeCatalogDefinition generatedCatalog(final int generation) {
+        NodeCatalogDefinition.Builder result = NodeCatalogDefinition.builder().id("generated");
+
+        for (int i = 0; i < generation; i++) {
+            result.addNodeTypes(createNodeType(generation + "-" + i, 2 + 2 * (i % 32), (1 + i) * GiB));
+        }
+
+        return result.build();
+    }
+
+    private static String catalogJson(final String id) {
+        return "[{\"id\":\"" + id + "\",\"nodeTypes\":[{\"id\":\"tiny\",\"memory\":1073741824,"
+                + "\"cpu\":{\"sockets\":1,\"cores\":1,\"logical\":1},\"disk\":0,\"diskBandwidth\":0}]}]";
+    }
+
+    private static NodeDefinition createNodeType(final String id, final int logical, final long memory) {
+        return NodeDefinition.builder()
+                .id(Optional.ofNullable(id))
+                .cpu(CPU.builder()
+                             .sockets(1)
+                             .cores(logical / 2)
+                             .logical(logical)
+                             .build()
+                )
+                .disk(2048 * GiB)
+                .diskBandwidth(GiB)
+                .memory(memory)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class AfterburnerCustomizerTest {
+    private static final Logger LOG = LoggerFactory.getLogger(AfterburnerCustomizerTest.class);
+
+    @Test
+    public void shouldRegisterAfterburnerWhenCustomizingTheMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+
+        new AfterburnerCustomizer().customize(mapper);
+        LOG.debug("Registered modules: {}", mapper.getRegisteredModuleIds());
+
+        assert mapper.getRegisteredModuleIds().contains(AfterburnerModule.class.getName());
+    }
+}
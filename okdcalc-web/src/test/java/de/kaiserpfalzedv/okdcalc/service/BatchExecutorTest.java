@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.BadRequestException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class BatchExecutorTest {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchExecutorTest.class);
+
+    private ComputePool pool;
+    private BatchExecutor service;
+
+
+    @Test
+    public void shouldReturnTheOutcomesInTheOrderOfTheRequests() {
+        List<Integer> requests = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+        Collections.shuffle(requests);
+
+        List<String> result = service.evaluate(requests, String::valueOf, error -> error);
+        LOG.debug("Result: {}", result);
+
+        assert result.size() == requests.size();
+        for (int i = 0; i < requests.size(); i++) {
+            assert result.get(i).equals(String.valueOf(requests.get(i)));
+        }
+    }
+
+    @Test
+    public void shouldUseTheErrorAsOutcomeWhenARequestFails() {
+        List<String> result = service.evaluate(
+                Arrays.asList(1, 0, -1, 4),
+                request -> {
+                    if (request < 0) {
+                        throw new IllegalStateException();
+                    }
+                    return String.valueOf(4 / request);
+                },
+                error -> "error: " + error
+        );
+        LOG.debug("Result: {}", result);
+
+        assert result.get(0).equals("4");
+        assert result.get(1).equals("error: / by zero");
+        assert result.get(2).equals("error: IllegalStateException");
+        assert result.get(3).equals("1");
+    }
+
+    @Test
+    public void shouldEvaluateTheRequestsOnTheComputePool() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        service.evaluate(
+                IntStream.range(0, 100).boxed().collect(Collectors.toList()),
+                request -> threads.add(Thread.currentThread().getName()),
+                error -> false
+        );
+        LOG.debug("Threads: {}", threads);
+
+        assert threads.size() <= 2;
+        assert threads.stream().allMatch(name -> name.startsWith("compute-"));
+    }
+
+    @Test
+    public void shouldThrowBadRequestExceptionWhenTheBatchIsTooBig() {
+        List<Integer> requests = IntStream.range(0, 201).boxed().collect(Collectors.toList());
+
+        try {
+            List<Integer> result = service.evaluate(requests, request -> request, error -> -1);
+            Assertions.fail("A BadRequestException should have been thrown, got: " + result);
+        } catch (BadRequestException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldStreamTheOutcomesInTheOrderOfTheRequests() {
+        List<Integer> requests = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+        List<Integer> result = new ArrayList<>();
+
+        service.stream(requests, request -> request, error -> -1, result::add);
+
+        assert result.equals(requests);
+    }
+
+    @Test
+    public void shouldCancelTheRemainingRequestsWhenTheConsumerFails() {
+        List<Integer> requests = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+        AtomicInteger evaluated = new AtomicInteger();
+
+        try {
+            service.stream(
+                    requests,
+                    request -> {
+                        sleep();
+                        return evaluated.incrementAndGet();
+                    },
+                    error -> -1,
+                    outcome -> {
+                        throw new IllegalStateException("client is gone");
+                    }
+            );
+            Assertions.fail("An IllegalStateException should have been thrown!");
+        } catch (IllegalStateException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+
+        sleep();
+        sleep();
+        LOG.debug("Evaluated: {}", evaluated.get());
+        assert evaluated.get() < requests.size();
+    }
+
+    @Test
+    public void shouldCancelTheBatchWhenTheComputePoolIsFull() {
+        ComputePool small = new ComputePool();
+        small.threads = 1;
+        small.queueCapacity = 10;
+        small.init();
+        service.pool = small;
+
+        List<Integer> requests = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        AtomicInteger evaluated = new AtomicInteger();
+        try {
+            service.evaluate(
+                    requests,
+                    request -> {
+                        sleep();
+                        return evaluated.incrementAndGet();
+                    },
+                    error -> -1
+            );
+            Assertions.fail("A RejectedExecutionException should have been thrown!");
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        } finally {
+            small.close();
+        }
+
+        LOG.debug("Evaluated: {}", evaluated.get());
+        assert evaluated.get() < requests.size();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @BeforeEach
+    public void setUpService() {
+        pool = new ComputePool();
+        pool.threads = 2;
+        pool.queueCapacity = 200;
+        pool.init();
+
+        service = new BatchExecutor();
+        service.pool = pool;
+        service.maxSize = 200;
+    }
+
+    @AfterEach
+    public void tearDownService() {
+        pool.close();
+    }
+}
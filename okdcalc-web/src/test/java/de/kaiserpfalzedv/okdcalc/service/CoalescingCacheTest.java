@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class CoalescingCacheTest {
+    private static final Logger LOG = LoggerFactory.getLogger(CoalescingCacheTest.class);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger calculations = new AtomicInteger();
+
+
+    @Test
+    public void shouldReturnTheKeptResultWhenCalledWithinTheTimeToLive() {
+        CoalescingCache<String, Integer> cache = new CoalescingCache<>(10, TimeUnit.NANOSECONDS, 10, clock::get);
+
+        assert cache.get("a", calculations::incrementAndGet) == 1;
+        clock.set(9);
+        assert cache.get("a", calculations::incrementAndGet) == 1;
+
+        assert cache.getHits() == 1;
+        assert cache.getMisses() == 1;
+    }
+
+    @Test
+    public void shouldCalculateAgainWhenTheResultIsExpired() {
+        CoalescingCache<String, Integer> cache = new CoalescingCache<>(10, TimeUnit.NANOSECONDS, 10, clock::get);
+
+        assert cache.get("a", calculations::incrementAndGet) == 1;
+        clock.set(10);
+        assert cache.get("a", calculations::incrementAndGet) == 2;
+
+        assert cache.getMisses() == 2;
+    }
+
+    @Test
+    public void shouldCalculateOnceWhenCalledConcurrentlyWithTheSameKey() throws InterruptedException {
+        CoalescingCache<String, Integer> cache = new CoalescingCache<>(0, TimeUnit.SECONDS, 10);
+        CountDownLatch calculating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> cache.get("a", () -> {
+                calculating.countDown();
+                await(release);
+                return calculations.incrementAndGet();
+            }), callers);
+            calculating.await();
+
+            List<CompletableFuture<Integer>> others = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                others.add(CompletableFuture.supplyAsync(() -> cache.get("a", calculations::incrementAndGet), callers));
+            }
+            while (cache.getCoalesced() < 7) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assert first.join() == 1;
+            others.forEach(other -> {
+                assert other.join() == 1;
+            });
+        } finally {
+            callers.shutdownNow();
+        }
+        LOG.debug("Coalesced: {}", cache.getCoalesced());
+
+        assert calculations.get() == 1;
+        assert cache.getMisses() == 1;
+        assert cache.getSize() == 0;
+    }
+
+    @Test
+    public void shouldFailTheWaitingCallsAndForgetTheFailureWhenTheCalculationFails() throws InterruptedException {
+        CoalescingCache<String, Integer> cache = new CoalescingCache<>(1, TimeUnit.MINUTES, 10);
+        CountDownLatch calculating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> cache.get("a", () -> {
+                calculating.countDown();
+                await(release);
+                throw new IllegalStateException("failed");
+            }), callers);
+            calculating.await();
+
+            CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> cache.get("a", calculations::incrementAndGet), callers);
+            while (cache.getCoalesced() < 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertFailed(first);
+            assertFailed(second);
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assert cache.getSize() == 0;
+        assert cache.get("a", calculations::incrementAndGet) == 1;
+    }
+
+    @Test
+    public void shouldRethrowErrorsWhenTheCalculationFailsWithAnError() throws InterruptedException {
+        CoalescingCache<String, Integer> cache = new CoalescingCache<>(1, TimeUnit.MINUTES, 10);
+        CountDownLatch calculating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture.runAsync(() -> cache.get("a", () -> {
+                calculating.countDown();
+                await(release);
+                throw new AssertionError("failed");
+            }), callers);
+            calculating.await();
+
+            CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> cache.get("a", calculations::incrementAndGet), callers);
+            while (cache.getCoalesced() < 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            try {
+                second.join();
+                Assertions.fail("The calculation should have failed!");
+            } catch (RuntimeException e) {
+                LOG.debug("Caught expected exception: {}", e.getMessage());
+
+                assert e.getCause() instanceof AssertionError;
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldRemoveTheExpiredEntriesFirstWhenTheCacheIsFull() {
+        CoalescingCache<String, Integer> cache = new CoalescingCache<>(10, TimeUnit.NANOSECONDS, 2, clock::get);
+
+        cache.get("a", calculations::incrementAndGet);
+        clock.set(5);
+        cache.get("b", calculations::incrementAndGet);
+        clock.set(12);
+        cache.get("c", calculations::incrementAndGet);
+
+        assert cache.getSize() == 2;
+        assert cache.get("b", calculations::incrementAndGet) == 2;
+        assert cache.get("c", calculations::incrementAndGet) == 3;
+    }
+
+    @Test
+    public void shouldNotHoldMoreThanTheMaximumNumberOfEntries() {
+        CoalescingCache<Integer, Integer> cache = new CoalescingCache<>(1, TimeUnit.MINUTES, 2, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            cache.get(i, calculations::incrementAndGet);
+        }
+
+        assert cache.getSize() == 2;
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenTheCacheIsInvalid() {
+        try {
+            CoalescingCache<String, String> result = new CoalescingCache<>(-1, TimeUnit.SECONDS, 10);
+            Assertions.fail("An IllegalArgumentException should have been thrown, got: " + result);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+
+        try {
+            CoalescingCache<String, String> result = new CoalescingCache<>(1, TimeUnit.SECONDS, 0);
+            Assertions.fail("An IllegalArgumentException should have been thrown, got: " + result);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+
+    private static void assertFailed(final CompletableFuture<Integer> call) {
+        try {
+            call.join();
+            Assertions.fail("The calculation should have failed!");
+        } catch (RuntimeException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+
+            assert e.getCause() instanceof IllegalStateException;
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class ComputePoolTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ComputePoolTest.class);
+
+
+    @Test
+    public void shouldCalculateOnAComputeThread() {
+        ComputePool pool = new ComputePool();
+        pool.threads = 1;
+        pool.queueCapacity = 10;
+        pool.init();
+        try {
+            String result = pool.supply(() -> Thread.currentThread().getName()).join();
+            LOG.debug("Thread: {}", result);
+
+            assert result.equals("compute-1");
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldUseOneThreadPerProcessorWhenNoThreadsAreConfigured() {
+        ComputePool pool = new ComputePool();
+        pool.queueCapacity = 10;
+        pool.init();
+        try {
+            assert pool.supply(() -> 42).join() == 42;
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyWhenTheCalculationFails() {
+        ComputePool pool = new ComputePool();
+        pool.threads = 1;
+        pool.queueCapacity = 10;
+        pool.init();
+        try {
+            pool.supply(() -> {
+                throw new IllegalStateException("failed");
+            }).join();
+            Assertions.fail("A CompletionException should have been thrown!");
+        } catch (CompletionException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+
+            assert e.getCause() instanceof IllegalStateException;
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldRejectTheCalculationWhenTheQueueIsFull() {
+        ComputePool pool = new ComputePool();
+        pool.threads = 1;
+        pool.queueCapacity = 1;
+        pool.init();
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Boolean> blocked = pool.supply(() -> {
+                running.countDown();
+                return await(release);
+            });
+            await(running);
+            CompletableFuture<Boolean> queued = pool.supply(() -> true);
+
+            try {
+                pool.supply(() -> true);
+                Assertions.fail("A RejectedExecutionException should have been thrown!");
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Caught expected exception: {}", e.getMessage());
+            }
+
+            release.countDown();
+            assert blocked.join();
+            assert queued.join();
+        } finally {
+            release.countDown();
+            pool.close();
+        }
+    }
+
+    private static boolean await(final CountDownLatch latch) {
+        try {
+            latch.await();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
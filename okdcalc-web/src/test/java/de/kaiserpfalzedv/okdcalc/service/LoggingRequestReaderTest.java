@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kaiserpfalzedv.okdcalc.calculator.LoggingEventAggregate;
+import de.kaiserpfalzedv.okdcalc.facts.LoggingSizingRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.BadRequestException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class LoggingRequestReaderTest {
+    private static final Logger LOG = LoggerFactory.getLogger(LoggingRequestReaderTest.class);
+
+    private static final String EVENT = "{\"numberOfNamespaces\": 2, \"numberOfContainers\": 10, \"retentionDays\": 7}";
+
+    private ObjectMapper mapper;
+    private LoggingEventAggregate events;
+
+
+    @Test
+    public void shouldFoldTheEventsAndBindTheRestWhenTheRequestIsRead() throws IOException {
+        StringBuilder body = new StringBuilder("{\"numberOfComputeNodes\": 30, \"loggingEventTypes\": [");
+        for (int i = 0; i < 20000; i++) {
+            body.append(i > 0 ? "," : "").append(EVENT);
+        }
+        body.append("], \"parallelKibanaUsers\": 50, \"numberOfReplica\": 2}");
+
+        LoggingSizingRequest result = LoggingRequestReader.read(mapper, json(body.toString()), events);
+        LOG.debug("Request: {}", result);
+
+        assert result.getLoggingEventTypes().isEmpty();
+        assert result.getNumberOfComputeNodes() == 30;
+        assert result.getParallelKibanaUsers() == 50;
+        assert result.getNumberOfReplica() == 2;
+        assert events.getNumberOfEventTypes() == 20000;
+        assert events.getActivePrimaryShards() == 20000 * 2 * 7;
+    }
+
+    @Test
+    public void shouldFailWhenTheRequestIsNoObject() throws IOException {
+        try {
+            LoggingRequestReader.read(mapper, json("[" + EVENT + "]"), events);
+
+            Assertions.fail("A request not being an object should throw a BadRequestException!");
+        } catch (BadRequestException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldFailWhenTheEventsAreNoArray() throws IOException {
+        try {
+            LoggingRequestReader.read(mapper, json("{\"loggingEventTypes\": " + EVENT + "}"), events);
+
+            Assertions.fail("Events not being an array should throw a BadRequestException!");
+        } catch (BadRequestException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldFailWhenTheRequestIsTruncated() throws IOException {
+        try {
+            LoggingRequestReader.read(mapper, json("{\"numberOfComputeNodes\": 30, \"loggingEventTypes\": [" + EVENT), events);
+
+            Assertions.fail("A truncated request should throw a BadRequestException!");
+        } catch (BadRequestException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+
+    private static InputStream json(final String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @BeforeEach
+    public void setUpService() {
+        mapper = new ObjectMapper().findAndRegisterModules();
+        events = new LoggingEventAggregate();
+    }
+}
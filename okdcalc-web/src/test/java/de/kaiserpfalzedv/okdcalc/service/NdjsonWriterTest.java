@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kaiserpfalzedv.okdcalc.OkdCalcWrappedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class NdjsonWriterTest {
+    private static final Logger LOG = LoggerFactory.getLogger(NdjsonWriterTest.class);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+
+    @Test
+    public void shouldWriteOneLinePerObject() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        NdjsonWriter.streaming(mapper, writer -> {
+            writer.write(Map.of("id", 1));
+            writer.write(Map.of("id", 2));
+            writer.write(Map.of("id", 3));
+        }).write(out);
+
+        String result = out.toString(StandardCharsets.UTF_8);
+        LOG.debug("Result: {}", result);
+
+        assert result.equals("{\"id\":1}\n{\"id\":2}\n{\"id\":3}\n");
+    }
+
+    @Test
+    public void shouldWriteNothingWhenThereAreNoObjects() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        NdjsonWriter.streaming(mapper, writer -> {}).write(out);
+
+        assert out.size() == 0;
+    }
+
+    @Test
+    public void shouldFlushTheFirstLineAtOnceAndThenEveryInterval() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+
+        try (NdjsonWriter writer = new NdjsonWriter(mapper, out)) {
+            writer.write(Map.of("id", 0));
+            assert out.flushes == 1;
+
+            for (int i = 1; i <= NdjsonWriter.FLUSH_INTERVAL; i++) {
+                writer.write(Map.of("id", i));
+            }
+            assert out.flushes == 2;
+            assert writer.getLines() == NdjsonWriter.FLUSH_INTERVAL + 1;
+        }
+
+        assert !out.closed;
+    }
+
+    @Test
+    public void shouldThrowOkdCalcWrappedExceptionWhenTheClientIsGone() throws IOException {
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        NdjsonWriter writer = new NdjsonWriter(mapper, out);
+        try {
+            writer.write(Map.of("id", 1));
+            Assertions.fail("An OkdCalcWrappedException should have been thrown!");
+        } catch (OkdCalcWrappedException e) {
+            LOG.debug("Caught expected exception: {}", e.getMessage());
+        }
+    }
+
+
+    private static class CountingOutputStream extends ByteArrayOutputStream {
+        private int flushes;
+        private boolean closed;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kaiserpfalzedv.okdcalc.facts.CPU;
+import de.kaiserpfalzedv.okdcalc.facts.ClusterSizingRequest;
+import de.kaiserpfalzedv.okdcalc.facts.NodeDefinition;
+import de.kaiserpfalzedv.okdcalc.facts.Pod;
+import de.kaiserpfalzedv.okdcalc.facts._Pod;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static de.kaiserpfalzedv.okdcalc.facts._ClusterSizingResult.GiB;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class RequestDigestTest {
+    private static final Logger LOG = LoggerFactory.getLogger(RequestDigestTest.class);
+
+    private static final Pod NORMAL_POD = Pod.builder()
+            .memory(1024L)
+            .milliCores(100L)
+            .build();
+
+    private static final NodeDefinition SMALL_NODES = NodeDefinition.builder()
+            .cpu(CPU.builder()
+                         .sockets(1)
+                         .cores(1)
+                         .logical(2)
+                         .build()
+            )
+            .disk(4096 * GiB)
+            .diskBandwidth(3 * GiB)
+            .maxNumberOfLoggingDisks(8)
+            .memory(2 * GiB)
+            .build();
+
+    private static final NodeDefinition BIG_NODES = SMALL_NODES.withMemory(256 * GiB);
+
+    private final RequestDigest service = new RequestDigest(new ObjectMapper().findAndRegisterModules());
+
+
+    @Test
+    public void shouldReturnTheSameDigestWhenTheNodeTypesAreInADifferentOrder() {
+        String first = service.digest(request().addNodeDefinitions(SMALL_NODES, BIG_NODES).build());
+        String second = service.digest(request().addNodeDefinitions(BIG_NODES, SMALL_NODES).build());
+        LOG.debug("Digests: first={}, second={}", first, second);
+
+        assert first.equals(second);
+    }
+
+    @Test
+    public void shouldReturnTheSameDigestWhenADefaultIsGivenExplicitly() {
+        String omitted = service.digest(request().build());
+        String explicit = service.digest(
+                request()
+                        .defaultPod(NORMAL_POD.withNumberOfLoggingEventsPerSecond(_Pod.DEFAULT_LOGGING_EVENTS_PER_POD_AND_SECOND))
+                        .build()
+        );
+
+        assert omitted.equals(explicit);
+    }
+
+    @Test
+    public void shouldReturnDifferentDigestsWhenTheRequestsDiffer() {
+        String first = service.digest(request().addNodeDefinitions(SMALL_NODES).build());
+        String second = service.digest(request().addNodeDefinitions(BIG_NODES).build());
+
+        assert !first.equals(second);
+    }
+
+    @Test
+    public void shouldReturnDifferentDigestsWhenTheParametersDiffer() {
+        ClusterSizingRequest request = request().addNodeDefinitions(SMALL_NODES).build();
+
+        assert !service.digest(request, "cluster", 1).equals(service.digest(request, "cluster", 2));
+        assert !service.digest(request, "cluster", 12).equals(service.digest(request, "cluster1", 2));
+        assert service.digest(request, "cluster", 1).equals(service.digest(request, "cluster", 1));
+    }
+
+    @Test
+    public void shouldSortThePropertiesWhenTheRequestIsMadeCanonical() {
+        String result = new String(service.canonical(NORMAL_POD), StandardCharsets.UTF_8);
+        LOG.debug("Canonical: {}", result);
+
+        assert result.equals("{\"memory\":1024,\"milliCores\":100,\"numberOfLoggingEventsPerSecond\":5}");
+    }
+
+    @Test
+    public void shouldReturnAUrlSafeDigestWithoutPadding() {
+        String result = service.digest(request().build());
+
+        assert result.length() == 43;
+        assert result.matches("[A-Za-z0-9_-]+");
+    }
+
+
+    private static ClusterSizingRequest.Builder request() {
+        return ClusterSizingRequest.builder()
+                .totalNumberOfPods(250)
+                .defaultPod(NORMAL_POD);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class ResponseCacheTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ResponseCacheTest.class);
+
+    private final AtomicInteger calculations = new AtomicInteger();
+
+    private ResponseCache service;
+
+
+    @Test
+    public void shouldMatchWhenTheHeaderContainsTheTag() {
+        assert ResponseCache.matches("\"abc\"", "abc");
+        assert ResponseCache.matches("\"xyz\", W/\"abc\"", "abc");
+    }
+
+    @Test
+    public void shouldNotMatchWhenTheHeaderDoesNotContainTheTag() {
+        assert !ResponseCache.matches(null, "abc");
+        assert !ResponseCache.matches("\"xyz\"", "abc");
+        assert !ResponseCache.matches("abc", "abc");
+        assert !ResponseCache.matches("*", "abc");
+    }
+
+    @Test
+    public void shouldReturnTheKeptBytesWhenTheResponseIsKnown() {
+        byte[] first = service.get("a", this::response);
+        byte[] second = service.get("a", this::response);
+
+        assert first == second;
+        assert calculations.get() == 1;
+        assert service.getHits() == 1;
+        assert service.getMisses() == 1;
+        assert service.getBytes() == 4;
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedResponsesWhenTheBytesAreExceeded() {
+        service.get("a", this::response);
+        service.get("b", this::response);
+        service.get("a", this::response);
+        service.get("c", this::response);
+        LOG.debug("Bytes: {}", service.getBytes());
+
+        assert service.getBytes() == 8;
+
+        service.get("a", this::response);
+        service.get("b", this::response);
+        assert calculations.get() == 4;
+    }
+
+    @Test
+    public void shouldNotKeepTheResponseWhenItIsBiggerThanTheCache() {
+        service.get("big", () -> new byte[9]);
+
+        assert service.getBytes() == 0;
+    }
+
+    @Test
+    public void shouldUseTheDigestOfTheRequestAsTag() {
+        assert service.tag("request", "cluster", 1).equals(new RequestDigest(service.mapper).digest("request", "cluster", 1));
+    }
+
+
+    private byte[] response() {
+        calculations.incrementAndGet();
+        return new byte[4];
+    }
+
+    @BeforeEach
+    public void setUpService() {
+        service = new ResponseCache();
+        service.maxBytes = 8;
+        service.mapper = new ObjectMapper();
+        service.init();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020  Kaiserpfalz EDV-Service, Roland T. Lichti.
+ *
+ * This is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Foobar.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.kaiserpfalzedv.okdcalc.service;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+
+/**
+ * @author rlichti
+ * @version 1.1.0 2026-10-18
+ * @since 1.1.0 2026-10-18
+ */
+public class WireFormatTest {
+    private static final Logger LOG = LoggerFactory.getLogger(WireFormatTest.class);
+
+    @Test
+    public void shouldChooseTheFirstAcceptedFormatWhenSeveralAreAccepted() {
+        WireFormat result = WireFormat.negotiate(List.of(
+                MediaType.valueOf("text/plain"),
+                MediaType.valueOf(WireFormat.APPLICATION_SMILE),
+                MediaType.APPLICATION_JSON_TYPE
+        ));
+        LOG.debug("Negotiated: {}", result);
+
+        assert result == WireFormat.SMILE;
+    }
+
+    @Test
+    public void shouldChooseJsonWhenEverythingIsAccepted() {
+        assert WireFormat.negotiate(List.of(MediaType.valueOf("*/*"))) == WireFormat.JSON;
+    }
+
+    @Test
+    public void shouldChooseJsonWhenNoFormatIsAccepted() {
+        assert WireFormat.negotiate(List.of(MediaType.valueOf("text/plain"))) == WireFormat.JSON;
+        assert WireFormat.negotiate(List.of()) == WireFormat.JSON;
+    }
+
+    @Test
+    public void shouldCreateAMapperForTheFormat() {
+        assert WireFormat.CBOR.getMediaType().equals(MediaType.valueOf(WireFormat.APPLICATION_CBOR));
+        assert WireFormat.CBOR.createMapper().getFactory() instanceof CBORFactory;
+    }
+}